@@ -6,9 +6,9 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * This annotation can be used to override the {@link nl.jiankai.mapper.strategies.FieldNamingStrategy}.
+ * This annotation can be used to override the {@link nl.jiankai.mapper.strategies.FieldNamingStrategy}. It can be put on a field, or on a getter of a projection interface.
  */
-@Target(value = {ElementType.FIELD})
+@Target(value = {ElementType.FIELD, ElementType.METHOD})
 @Retention(value = RetentionPolicy.RUNTIME)
 public @interface Column {
     String name();
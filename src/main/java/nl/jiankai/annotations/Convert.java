@@ -6,12 +6,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * This annotation is used on a class field to specify which {@link nl.jiankai.mapper.converters.AttributeConverter} has to be used on it. It will override default converters if autoApply = true.
+ * This annotation is used on a class field, or a getter of a projection interface, to specify which {@link nl.jiankai.mapper.converters.AttributeConverter} has to be used on it. It will override default converters if autoApply = true.
  *
  * @author Jiankai Zheng (jk.zheng@hotmail.com)
  * @since 1.5.0
  */
-@Target(value = {ElementType.FIELD})
+@Target(value = {ElementType.FIELD, ElementType.METHOD})
 @Retention(value = RetentionPolicy.RUNTIME)
 public @interface Convert {
     /**
@@ -0,0 +1,32 @@
+package nl.jiankai.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be used on a base class to map the rows of a single table inheritance query to its subclasses.
+ * The value of the discriminator column is matched against the {@link SubType} values of the listed subclasses, and the row is mapped to the matching subclass.
+ * Rows with an unknown value are mapped to the base class itself, unless it is abstract.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Target(value = {ElementType.TYPE})
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface Discriminator {
+    /**
+     * Defines the column that tells which subclass a row has to be mapped to.
+     *
+     * @return the name of the discriminator column
+     */
+    String column();
+
+    /**
+     * Defines the subclasses the rows can be mapped to. Every subclass has to be annotated with {@link SubType}.
+     *
+     * @return the subclasses
+     */
+    Class<?>[] subTypes();
+}
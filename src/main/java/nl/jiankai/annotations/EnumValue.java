@@ -0,0 +1,24 @@
+package nl.jiankai.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be used on an enum constant to define the numeric code that represents the constant in the database.
+ * When at least one constant of an enum is annotated, numeric column values are matched against these codes instead of the ordinals.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Target(value = {ElementType.FIELD})
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface EnumValue {
+    /**
+     * Defines the code of the enum constant.
+     *
+     * @return the code
+     */
+    int value();
+}
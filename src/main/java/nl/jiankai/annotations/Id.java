@@ -0,0 +1,18 @@
+package nl.jiankai.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be used on a field to mark it as the identifier of the object. Rows with the same identifier value represent the same object,
+ * which is used by {@link nl.jiankai.mapper.ResultSetMapper#refresh(nl.jiankai.mapper.RefreshableMap, java.sql.ResultSet, Class)} to find the rows that have changed.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Target(value = {ElementType.FIELD})
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface Id {
+}
@@ -0,0 +1,23 @@
+package nl.jiankai.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be used on a subclass listed by a {@link Discriminator} to define the discriminator value of the rows that are mapped to it.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Target(value = {ElementType.TYPE})
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface SubType {
+    /**
+     * Defines the discriminator value. Numeric discriminator columns are matched by their string representation.
+     *
+     * @return the discriminator value
+     */
+    String value();
+}
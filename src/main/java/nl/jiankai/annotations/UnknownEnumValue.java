@@ -0,0 +1,18 @@
+package nl.jiankai.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be used on an enum constant to let the {@link nl.jiankai.mapper.ResultSetMapper} know it has to be used when a column value does not match any constant.
+ * Without it, unknown values are mapped to null.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Target(value = {ElementType.FIELD})
+@Retention(value = RetentionPolicy.RUNTIME)
+public @interface UnknownEnumValue {
+}
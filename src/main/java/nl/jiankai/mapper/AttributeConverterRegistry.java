@@ -0,0 +1,274 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.annotations.Converter;
+import nl.jiankai.mapper.converters.AttributeConverter;
+import nl.jiankai.mapper.converters.ReversibleAttributeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps track of the registered {@link AttributeConverter}s and resolves which conversion has to be applied to get from a source class to a target class.
+ * <p>
+ * A registered converter for the exact source and target class is used when it is auto applicable. When there is none, the auto applicable converters
+ * form a conversion graph in which the shortest chain from the source class to the target class is searched, for instance
+ * {@code Timestamp -> LocalDateTime -> Instant}. The chain is fused into a single {@link Conversion}. Resolved conversions are cached,
+ * so the graph is searched at most once per source and target class.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class AttributeConverterRegistry {
+    private static final int MAXIMUM_CHAIN_LENGTH = 4;
+    private final Logger logger = LoggerFactory.getLogger(AttributeConverterRegistry.class);
+    private final Map<SourceAndTarget, AttributeConverter<?, ?>> attributeConvertersBySourceAndTarget = new ConcurrentHashMap<>();
+    private final Map<SourceAndTarget, Conversion> resolvedConversions = new ConcurrentHashMap<>();
+    private final Set<AttributeConverter<?, ?>> builtInConverters = ConcurrentHashMap.newKeySet();
+    private volatile Map<Class<?>, AttributeConverter<?, ?>> attributeConvertersByClass = Map.of();
+    private volatile Map<Class<?>, List<AttributeConverter<?, ?>>> conversionGraph = Map.of();
+
+    /**
+     * Registers the attribute converter and rebuilds the conversion graph. The converters are kept in the order they have been registered,
+     * so a converter registered earlier wins when two chains of the same length lead to the target class.
+     *
+     * @param attributeConverter the converter to register
+     */
+    synchronized void register(AttributeConverter<?, ?> attributeConverter) {
+        logger.trace("Registering attribute converter {}", attributeConverter.getClass());
+        attributeConvertersBySourceAndTarget.put(new SourceAndTarget(attributeConverter.source(), attributeConverter.target()), attributeConverter);
+        final Map<Class<?>, AttributeConverter<?, ?>> convertersByClass = new LinkedHashMap<>(attributeConvertersByClass);
+        convertersByClass.put(attributeConverter.getClass(), attributeConverter);
+        attributeConvertersByClass = Collections.unmodifiableMap(convertersByClass);
+        conversionGraph = buildConversionGraph();
+        resolvedConversions.clear();
+    }
+
+    /**
+     * Registers an out of the box attribute converter, which is not considered a custom converter by {@link #hasCustomConverterTo(Class)}.
+     *
+     * @param attributeConverter the converter to register
+     */
+    synchronized void registerBuiltIn(AttributeConverter<?, ?> attributeConverter) {
+        builtInConverters.add(attributeConverter);
+        register(attributeConverter);
+    }
+
+    /**
+     * Tells whether an auto applicable converter that has been registered by the user converts to the target class, in which case values of that class
+     * have to be converted by the converter rather than be retrieved directly from the driver.
+     *
+     * @param target the type of the field
+     * @return whether there is such a converter
+     */
+    boolean hasCustomConverterTo(Class<?> target) {
+        for (AttributeConverter<?, ?> attributeConverter : attributeConvertersByClass.values()) {
+            if (attributeConverter.target() == target && isAutoApplicable(attributeConverter) && !builtInConverters.contains(attributeConverter)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the registered attribute converter of the provided class.
+     *
+     * @param converterClass the class of the converter
+     * @return the converter or null when it has not been registered
+     */
+    AttributeConverter<?, ?> getByClass(Class<?> converterClass) {
+        return attributeConvertersByClass.get(converterClass);
+    }
+
+    /**
+     * Finds an auto applicable converter that can convert a value of the target class back to the class it is read as, for instance a
+     * {@code LocalDateTime} back to a {@code Timestamp}.
+     *
+     * @param target the type of the field
+     * @return the converter or null when there is none
+     */
+    ReversibleAttributeConverter<?, ?> getReversibleByTarget(Class<?> target) {
+        for (AttributeConverter<?, ?> attributeConverter : attributeConvertersByClass.values()) {
+            if (attributeConverter instanceof ReversibleAttributeConverter && attributeConverter.target() == target && isAutoApplicable(attributeConverter)) {
+                return (ReversibleAttributeConverter<?, ?>) attributeConverter;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Resolves the conversion that has to be applied on a value of the source class to assign it to a field of the target class.
+     *
+     * @param source the class of the value
+     * @param target the type of the field
+     * @return the conversion, {@link Conversion#NONE} when the value has to be left untouched
+     */
+    Conversion resolve(Class<?> source, Class<?> target) {
+        final SourceAndTarget sourceAndTarget = new SourceAndTarget(source, target);
+        Conversion conversion = resolvedConversions.get(sourceAndTarget);
+
+        if (conversion == null) {
+            conversion = findConversion(source, target);
+            resolvedConversions.put(sourceAndTarget, conversion);
+        }
+
+        return conversion;
+    }
+
+    private Conversion findConversion(Class<?> source, Class<?> target) {
+        final AttributeConverter<?, ?> attributeConverter = attributeConvertersBySourceAndTarget.get(new SourceAndTarget(source, target));
+
+        if (attributeConverter != null) {
+            logger.trace("Attribute converter {} found for {} to {}", attributeConverter.getClass(), source, target);
+
+            if (isAutoApplicable(attributeConverter)) {
+                return Conversion.of(attributeConverter);
+            }
+
+            logger.trace("An attribute converter has been found but it is not auto applicable. Therefore converting will not be done.");
+            return Conversion.NONE;
+        }
+
+        if (isAssignable(source, target)) {
+            return Conversion.NONE;
+        }
+
+        return findShortestChain(source, target);
+    }
+
+    /**
+     * Searches the conversion graph breadth first, so the first chain that reaches the target class is the shortest one.
+     */
+    private Conversion findShortestChain(Class<?> source, Class<?> target) {
+        final Map<Class<?>, List<AttributeConverter<?, ?>>> graph = conversionGraph;
+        final Map<Class<?>, List<AttributeConverter<?, ?>>> chains = new LinkedHashMap<>();
+        final Deque<Class<?>> queue = new ArrayDeque<>();
+        chains.put(source, List.of());
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            final Class<?> current = queue.poll();
+            final List<AttributeConverter<?, ?>> chain = chains.get(current);
+
+            if (chain.size() == MAXIMUM_CHAIN_LENGTH) {
+                continue;
+            }
+
+            for (Map.Entry<Class<?>, List<AttributeConverter<?, ?>>> edges : graph.entrySet()) {
+                if (!edges.getKey().isAssignableFrom(current)) {
+                    continue;
+                }
+
+                for (AttributeConverter<?, ?> attributeConverter : edges.getValue()) {
+                    final Class<?> next = attributeConverter.target();
+
+                    if (chains.containsKey(next)) {
+                        continue;
+                    }
+
+                    final List<AttributeConverter<?, ?>> nextChain = new ArrayList<>(chain);
+                    nextChain.add(attributeConverter);
+
+                    if (isAssignable(next, target)) {
+                        logger.debug("Converting {} to {} through a chain of {} attribute converters.", source, target, nextChain.size());
+                        return fuse(nextChain);
+                    }
+
+                    chains.put(next, nextChain);
+                    queue.add(next);
+                }
+            }
+        }
+
+        return Conversion.NONE;
+    }
+
+    private Map<Class<?>, List<AttributeConverter<?, ?>>> buildConversionGraph() {
+        final Map<Class<?>, List<AttributeConverter<?, ?>>> graph = new LinkedHashMap<>();
+
+        for (AttributeConverter<?, ?> attributeConverter : attributeConvertersByClass.values()) {
+            if (isAutoApplicable(attributeConverter)) {
+                graph.computeIfAbsent(attributeConverter.source(), source -> new ArrayList<>()).add(attributeConverter);
+            }
+        }
+
+        return graph;
+    }
+
+    private static Conversion fuse(List<AttributeConverter<?, ?>> chain) {
+        Conversion conversion = Conversion.of(chain.get(0));
+
+        for (int i = 1; i < chain.size(); i++) {
+            conversion = conversion.andThen(Conversion.of(chain.get(i)));
+        }
+
+        return conversion;
+    }
+
+    private static boolean isAutoApplicable(AttributeConverter<?, ?> attributeConverter) {
+        final Converter converterAnnotation = attributeConverter.getClass().getAnnotation(Converter.class);
+        return converterAnnotation != null && converterAnnotation.autoApply();
+    }
+
+    private static boolean isAssignable(Class<?> source, Class<?> target) {
+        return wrap(target).isAssignableFrom(source);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == Integer.TYPE) {
+            return Integer.class;
+        } else if (type == Long.TYPE) {
+            return Long.class;
+        } else if (type == Double.TYPE) {
+            return Double.class;
+        } else if (type == Boolean.TYPE) {
+            return Boolean.class;
+        } else if (type == Float.TYPE) {
+            return Float.class;
+        } else if (type == Short.TYPE) {
+            return Short.class;
+        } else if (type == Byte.TYPE) {
+            return Byte.class;
+        } else if (type == Character.TYPE) {
+            return Character.class;
+        }
+
+        return Void.class;
+    }
+
+    private static class SourceAndTarget {
+        private final Class<?> source;
+        private final Class<?> target;
+
+        public SourceAndTarget(Class<?> source, Class<?> target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SourceAndTarget that = (SourceAndTarget) o;
+            return Objects.equals(source, that.source) && Objects.equals(target, that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, target);
+        }
+    }
+}
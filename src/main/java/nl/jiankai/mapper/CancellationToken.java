@@ -0,0 +1,29 @@
+package nl.jiankai.mapper;
+
+/**
+ * Cancels the mappings it has been passed to through {@link MappingOptions#withCancellationToken(CancellationToken)}, for instance from another thread
+ * when the client of a request has gone away. A mapping notices the cancellation within a few rows and cancels its statement.
+ * A token can not be reset, once cancelled every mapping it is passed to stops.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Cancels the mappings of this token
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Get whether the token has been cancelled
+     *
+     * @return true when the token has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,97 @@
+package nl.jiankai.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * A column that is read by a plan. Once the {@link ColumnResolver} has found the column among the labels of the ResultSet it is read by its index,
+ * so the driver does not have to look the label up again for every value. A column that could not be resolved, for instance because the ResultSet
+ * provides no metadata, is read by its name. A resolved column also knows its SQL type.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+final class ColumnReference {
+    /**
+     * The SQL type of a column that has not been resolved, which is not one of the {@link Types}.
+     */
+    static final int UNKNOWN_TYPE = Integer.MIN_VALUE;
+    private final String name;
+    private final int index;
+    private final int sqlType;
+
+    ColumnReference(String name) {
+        this(name, 0, UNKNOWN_TYPE);
+    }
+
+    private ColumnReference(String name, int index, int sqlType) {
+        this.name = name;
+        this.index = index;
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * Resolves the column against the labels of a ResultSet
+     *
+     * @param columnResolver the resolver of the ResultSet
+     * @return the column that is read by its index, or a column that is read by its name when it does not match a single label
+     */
+    ColumnReference resolve(ColumnResolver columnResolver) throws SQLException {
+        final int resolvedIndex = columnResolver.indexOf(name);
+        final int resolvedType = resolvedIndex > 0 ? columnResolver.getColumnTypes()[resolvedIndex - 1] : UNKNOWN_TYPE;
+        return resolvedIndex == index && resolvedType == sqlType ? this : new ColumnReference(name, resolvedIndex, resolvedType);
+    }
+
+    /**
+     * Get the name of the column in the plan, which is also used when the column is not resolved
+     *
+     * @return the name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Get the index of the column in the ResultSet
+     *
+     * @return the index starting at 1, or 0 when the column is read by its name
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the SQL type of the column in the ResultSet
+     *
+     * @return the type from {@link Types}, or {@link #UNKNOWN_TYPE} when the column is read by its name
+     */
+    int getSqlType() {
+        return sqlType;
+    }
+
+    Object getObject(ResultSet resultSet) throws SQLException {
+        return index > 0 ? resultSet.getObject(index) : resultSet.getObject(name);
+    }
+
+    <T> T getObject(ResultSet resultSet, Class<T> type) throws SQLException {
+        return index > 0 ? resultSet.getObject(index, type) : resultSet.getObject(name, type);
+    }
+
+    int getInt(ResultSet resultSet) throws SQLException {
+        return index > 0 ? resultSet.getInt(index) : resultSet.getInt(name);
+    }
+
+    long getLong(ResultSet resultSet) throws SQLException {
+        return index > 0 ? resultSet.getLong(index) : resultSet.getLong(name);
+    }
+
+    double getDouble(ResultSet resultSet) throws SQLException {
+        return index > 0 ? resultSet.getDouble(index) : resultSet.getDouble(name);
+    }
+
+    @Override
+    public String toString() {
+        return index > 0 ? name + "#" + index : name;
+    }
+}
@@ -0,0 +1,188 @@
+package nl.jiankai.mapper;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the column names of a plan to the indexes of the columns of a ResultSet, so that a column is found regardless of how the driver cases its label
+ * and every value is read by index. A name that is not a label itself is matched on its normalised form, which ignores case, underscores, dashes and spaces:
+ * {@code first_name}, {@code FIRST_NAME} and {@code firstName} all resolve to the same column. Names that match no label, or more than one, are not resolved.
+ * <p>
+ * A resolver is created for a single mapping. The labels are read from the {@link ResultSetMetaData} on first use and the hash tables from the labels
+ * and normalised names to the indexes are only built when a plan has not been resolved against the same labels before.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class ColumnResolver {
+    private final ResultSetMetaData metaData;
+    private String[] labels;
+    private int[] columnTypes;
+    private Map<String, Integer> indexesByLabel;
+    private Map<String, Integer> indexesByNormalisedName;
+
+    private ColumnResolver(ResultSetMetaData metaData) {
+        this.metaData = metaData;
+    }
+
+    /**
+     * Creates the resolver of a ResultSet
+     *
+     * @param metaData the metadata of the ResultSet
+     * @return the resolver, or null when the ResultSet does not provide its metadata
+     */
+    static ColumnResolver of(ResultSetMetaData metaData) {
+        return metaData == null ? null : new ColumnResolver(metaData);
+    }
+
+    /**
+     * Get the column labels of the ResultSet
+     *
+     * @return the labels, shared and not to be modified
+     */
+    String[] getLabels() throws SQLException {
+        if (labels == null) {
+            final String[] columnLabels = new String[metaData.getColumnCount()];
+
+            for (int i = 0; i < columnLabels.length; i++) {
+                columnLabels[i] = metaData.getColumnLabel(i + 1);
+            }
+
+            labels = columnLabels;
+        }
+
+        return labels;
+    }
+
+    /**
+     * Get the SQL types of the columns of the ResultSet
+     *
+     * @return the types from {@link java.sql.Types} by the index of the column minus one, shared and not to be modified
+     */
+    int[] getColumnTypes() throws SQLException {
+        if (columnTypes == null) {
+            final int[] types = new int[getLabels().length];
+
+            for (int i = 0; i < types.length; i++) {
+                types[i] = metaData.getColumnType(i + 1);
+            }
+
+            columnTypes = types;
+        }
+
+        return columnTypes;
+    }
+
+    /**
+     * Resolves the column name to the index of its column in the ResultSet
+     *
+     * @param columnName the column name of the plan
+     * @return the index starting at 1, or 0 when the name does not match a single label
+     */
+    int indexOf(String columnName) throws SQLException {
+        if (indexesByLabel == null) {
+            buildLookupTables();
+        }
+
+        Integer index = indexesByLabel.get(columnName);
+
+        if (index == null) {
+            index = indexesByNormalisedName.get(normalise(columnName));
+        }
+
+        return index != null ? index : 0;
+    }
+
+    private void buildLookupTables() throws SQLException {
+        final String[] columnLabels = getLabels();
+        final Set<String> ambiguousNames = new HashSet<>();
+        indexesByLabel = new HashMap<>();
+        indexesByNormalisedName = new HashMap<>();
+
+        for (int i = 0; i < columnLabels.length; i++) {
+            final String label = columnLabels[i];
+
+            if (label == null) {
+                continue;
+            }
+
+            indexesByLabel.putIfAbsent(label, i + 1);
+            final String normalisedName = normalise(label);
+            final Integer previousIndex = indexesByNormalisedName.putIfAbsent(normalisedName, i + 1);
+
+            if (previousIndex != null && !columnLabels[previousIndex - 1].equals(label)) {
+                ambiguousNames.add(normalisedName);
+            }
+        }
+
+        indexesByNormalisedName.keySet().removeAll(ambiguousNames);
+    }
+
+    /**
+     * Normalises a column label or name in a single pass: it is lower cased and underscores, dashes and spaces are left out.
+     * A name that is already normalised is returned as is.
+     *
+     * @param name the label or name
+     * @return the normalised name
+     */
+    static String normalise(String name) {
+        int i = 0;
+
+        while (i < name.length() && isNormalised(name.charAt(i))) {
+            i++;
+        }
+
+        if (i == name.length()) {
+            return name;
+        }
+
+        final StringBuilder normalisedName = new StringBuilder(name.length()).append(name, 0, i);
+
+        for (; i < name.length(); i++) {
+            final char c = name.charAt(i);
+
+            if (c != '_' && c != '-' && c != ' ') {
+                normalisedName.append(Character.toLowerCase(c));
+            }
+        }
+
+        return normalisedName.toString();
+    }
+
+    private static boolean isNormalised(char c) {
+        return c != '_' && c != '-' && c != ' ' && Character.toLowerCase(c) == c;
+    }
+
+    /**
+     * A plan resolved against the labels and column types of a ResultSet, remembered by the plan so that mapping ResultSets of the same query resolves
+     * the columns only once.
+     *
+     * @param <P> the class of the plan
+     */
+    static final class Resolved<P> {
+        private final String[] labels;
+        private final int[] columnTypes;
+        private final P plan;
+
+        Resolved(ColumnResolver columnResolver, P plan) throws SQLException {
+            this.labels = columnResolver.getLabels();
+            this.columnTypes = columnResolver.getColumnTypes();
+            this.plan = plan;
+        }
+
+        /**
+         * Get the resolved plan when it has been resolved against the same labels and column types
+         *
+         * @param columnResolver the resolver of the ResultSet
+         * @return the plan, or null when it was resolved against other columns
+         */
+        P getPlan(ColumnResolver columnResolver) throws SQLException {
+            return Arrays.equals(labels, columnResolver.getLabels()) && Arrays.equals(columnTypes, columnResolver.getColumnTypes()) ? plan : null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.mapper.converters.AttributeConverter;
+
+/**
+ * A resolved conversion from one class to another. It is either a single {@link AttributeConverter}
+ * or a chain of them fused into a single function.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@FunctionalInterface
+interface Conversion {
+    /**
+     * The conversion that leaves the value untouched.
+     */
+    Conversion NONE = value -> value;
+
+    Object convert(Object value);
+
+    /**
+     * Creates the conversion that applies the attribute converter.
+     *
+     * @param attributeConverter the converter to apply
+     * @return the conversion, described by the class name of the converter
+     */
+    static Conversion of(AttributeConverter<?, ?> attributeConverter) {
+        @SuppressWarnings("unchecked") final AttributeConverter<Object, ?> objectConverter = (AttributeConverter<Object, ?>) attributeConverter;
+
+        return new Conversion() {
+            @Override
+            public Object convert(Object value) {
+                return objectConverter.convert(value);
+            }
+
+            @Override
+            public String toString() {
+                return attributeConverter.getClass().getName();
+            }
+        };
+    }
+
+    /**
+     * Fuses this conversion with the next one.
+     *
+     * @param next the conversion to apply on the result of this conversion
+     * @return the fused conversion
+     */
+    default Conversion andThen(Conversion next) {
+        final Conversion first = this;
+        final String description = first + " -> " + next;
+
+        return new Conversion() {
+            @Override
+            public Object convert(Object value) {
+                return next.convert(first.convert(value));
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
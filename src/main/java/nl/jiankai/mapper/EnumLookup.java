@@ -0,0 +1,204 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.annotations.EnumValue;
+import nl.jiankai.annotations.UnknownEnumValue;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * A lookup table that converts column values to the constants of an enum without throwing exceptions or allocating.
+ * <p>
+ * Strings are matched case-insensitively against the constant names in an open addressing hash table.
+ * Numbers are matched against the {@link EnumValue} codes, or the ordinals when no constant is annotated. Codes are kept in a dense array indexed by code
+ * when they are compact, otherwise they are binary searched. A code may only be used by a single constant. Values that do not match any constant are mapped to the constant annotated with {@link UnknownEnumValue}, or null.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class EnumLookup implements Conversion {
+    private static final int MAXIMUM_SPARSENESS = 4;
+    private final String description;
+    private final Enum<?> unknown;
+    private final Enum<?>[] nameTable;
+    private final int nameMask;
+    private final int minimumCode;
+    private final Enum<?>[] denseCodes;
+    private final int[] sortedCodes;
+    private final Enum<?>[] constantsBySortedCode;
+    private final Integer[] codesByOrdinal;
+
+    EnumLookup(Class<?> enumType) {
+        final Enum<?>[] constants = (Enum<?>[]) enumType.getEnumConstants();
+        final int[] codes = new int[constants.length];
+        Enum<?> unknownConstant = null;
+        boolean annotatedCodes = false;
+
+        for (Enum<?> constant : constants) {
+            final Field field = getConstantField(enumType, constant);
+            annotatedCodes |= field.isAnnotationPresent(EnumValue.class);
+
+            if (field.isAnnotationPresent(UnknownEnumValue.class)) {
+                unknownConstant = constant;
+            }
+        }
+
+        int codeCount = 0;
+        final Enum<?>[] coded = new Enum<?>[constants.length];
+
+        for (Enum<?> constant : constants) {
+            final EnumValue enumValue = getConstantField(enumType, constant).getAnnotation(EnumValue.class);
+
+            if (!annotatedCodes || enumValue != null) {
+                codes[codeCount] = annotatedCodes ? enumValue.value() : constant.ordinal();
+                coded[codeCount++] = constant;
+            }
+        }
+
+        this.codesByOrdinal = annotatedCodes ? new Integer[constants.length] : null;
+        for (int i = 0; annotatedCodes && i < codeCount; i++) {
+            codesByOrdinal[coded[i].ordinal()] = codes[i];
+        }
+
+        this.description = "enum lookup of " + enumType.getName();
+        this.unknown = unknownConstant;
+        this.nameTable = new Enum<?>[Integer.highestOneBit(Math.max(1, constants.length) * 4 - 1) * 2];
+        this.nameMask = nameTable.length - 1;
+
+        for (Enum<?> constant : constants) {
+            int index = hashIgnoreCase(constant.name()) & nameMask;
+
+            while (nameTable[index] != null) {
+                index = (index + 1) & nameMask;
+            }
+
+            nameTable[index] = constant;
+        }
+
+        final Integer[] order = new Integer[codeCount];
+        for (int i = 0; i < codeCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(codes[a], codes[b]));
+
+        this.sortedCodes = new int[codeCount];
+        this.constantsBySortedCode = new Enum<?>[codeCount];
+        for (int i = 0; i < codeCount; i++) {
+            sortedCodes[i] = codes[order[i]];
+            constantsBySortedCode[i] = coded[order[i]];
+
+            if (i > 0 && sortedCodes[i] == sortedCodes[i - 1]) {
+                throw new IllegalArgumentException(String.format("The constants %s and %s of %s have the same @EnumValue code %d.",
+                        constantsBySortedCode[i - 1].name(), constantsBySortedCode[i].name(), enumType.getName(), sortedCodes[i]));
+            }
+        }
+
+        final long range = codeCount == 0 ? 0 : (long) sortedCodes[codeCount - 1] - sortedCodes[0] + 1;
+
+        if (codeCount > 0 && range <= (long) codeCount * MAXIMUM_SPARSENESS + 16) {
+            this.minimumCode = sortedCodes[0];
+            this.denseCodes = new Enum<?>[(int) range];
+
+            for (int i = 0; i < codeCount; i++) {
+                denseCodes[sortedCodes[i] - minimumCode] = constantsBySortedCode[i];
+            }
+        } else {
+            this.minimumCode = 0;
+            this.denseCodes = null;
+        }
+    }
+
+    @Override
+    public Object convert(Object value) {
+        if (value instanceof String) {
+            return byName((String) value);
+        } else if (value instanceof Number) {
+            final long code = ((Number) value).longValue();
+            return code == (int) code ? byCode((int) code) : unknown;
+        } else if (value instanceof Character) {
+            return byName(String.valueOf(value));
+        }
+
+        return unknown;
+    }
+
+    /**
+     * Looks up the constant with the name, ignoring case.
+     *
+     * @param name the name of the constant
+     * @return the constant, or the unknown constant when there is none
+     */
+    Enum<?> byName(String name) {
+        int index = hashIgnoreCase(name) & nameMask;
+        Enum<?> candidate;
+
+        while ((candidate = nameTable[index]) != null) {
+            if (candidate.name().equalsIgnoreCase(name)) {
+                return candidate;
+            }
+
+            index = (index + 1) & nameMask;
+        }
+
+        return unknown;
+    }
+
+    /**
+     * Looks up the constant with the code.
+     *
+     * @param code the {@link EnumValue} code, or ordinal
+     * @return the constant, or the unknown constant when there is none
+     */
+    Enum<?> byCode(int code) {
+        if (denseCodes != null) {
+            final long index = (long) code - minimumCode;
+            final Enum<?> constant = index >= 0 && index < denseCodes.length ? denseCodes[(int) index] : null;
+            return constant == null ? unknown : constant;
+        }
+
+        final int index = Arrays.binarySearch(sortedCodes, code);
+        return index >= 0 ? constantsBySortedCode[index] : unknown;
+    }
+
+    /**
+     * Tells whether the constants are stored by their {@link EnumValue} code instead of their name.
+     *
+     * @return whether at least one constant is annotated with {@link EnumValue}
+     */
+    boolean hasCodes() {
+        return codesByOrdinal != null;
+    }
+
+    /**
+     * Get the {@link EnumValue} code of a constant.
+     *
+     * @param constant the constant
+     * @return the code, or null when the constant is not annotated
+     */
+    Integer codeOf(Enum<?> constant) {
+        return codesByOrdinal[constant.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static int hashIgnoreCase(String s) {
+        int hash = 0;
+
+        for (int i = 0; i < s.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    private static Field getConstantField(Class<?> enumType, Enum<?> constant) {
+        try {
+            return enumType.getField(constant.name());
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException(String.format("Enum constant '%s' has no field", constant.name()), ex);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.mapper.export.ExportWriter;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The plan to export the mapped columns of a class. It holds the same {@link FieldMapping}s as the {@link MappingPlan} of the class, in the order the fields are declared,
+ * so the columns are resolved and their values are retrieved and converted by exactly the same binders as when the class is mapped.
+ * <p>
+ * The binders return the converted values instead of setting them to a field, the values are written to the {@link ExportWriter} straight away.
+ * The class itself is never instantiated, so it does not need a no-arg constructor.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class ExportPlan {
+    private final FieldMapping[] fieldMappings;
+    private final String[] columnNames;
+
+    ExportPlan(FieldMapping[] fieldMappings) {
+        this.fieldMappings = fieldMappings;
+        this.columnNames = new String[fieldMappings.length];
+
+        for (int i = 0; i < fieldMappings.length; i++) {
+            columnNames[i] = fieldMappings[i].getColumnName();
+        }
+    }
+
+    private ExportPlan(FieldMapping[] fieldMappings, String[] columnNames) {
+        this.fieldMappings = fieldMappings;
+        this.columnNames = columnNames;
+    }
+
+    /**
+     * Writes the header and every remaining row of the ResultSet. Columns that could not be read are written as null.
+     *
+     * @param resultSet     the ResultSet returned by JDBC API
+     * @param writer        the writer to write the rows to
+     * @param fieldFailures collects the columns that could not be read
+     * @return the amount of exported rows
+     */
+    long export(ResultSet resultSet, ExportWriter writer, FieldFailures fieldFailures) throws SQLException, IOException {
+        long rowCount = 0;
+        writer.writeHeader(columnNames);
+
+        while (resultSet.next()) {
+            for (int i = 0; i < fieldMappings.length; i++) {
+                final FieldMapping fieldMapping = fieldMappings[i];
+                Object value = null;
+
+                try {
+                    value = fieldMapping.retrieve(resultSet);
+                } catch (SQLException ex) {
+                    if (!fieldMapping.isWarningsSuppressed()) {
+                        fieldFailures.record(i, ex);
+                    }
+                }
+
+                writer.writeValue(value);
+            }
+
+            writer.endRow();
+            rowCount++;
+        }
+
+        writer.flush();
+        return rowCount;
+    }
+
+    /**
+     * Get the plan that reads the columns by their index in the ResultSet, see {@link FieldMapping#resolveColumn(ColumnResolver)}.
+     * The header keeps the column names of the class.
+     *
+     * @param columnResolver the resolver of the ResultSet to be exported
+     * @return the plan to export the ResultSet with
+     */
+    ExportPlan resolveColumns(ColumnResolver columnResolver) throws SQLException {
+        final FieldMapping[] resolvedFieldMappings = new FieldMapping[fieldMappings.length];
+        boolean changed = false;
+
+        for (int i = 0; i < fieldMappings.length; i++) {
+            resolvedFieldMappings[i] = fieldMappings[i].resolveColumn(columnResolver);
+            changed |= resolvedFieldMappings[i] != fieldMappings[i];
+        }
+
+        return changed ? new ExportPlan(resolvedFieldMappings, columnNames) : this;
+    }
+
+    FieldFailures createFieldFailures() {
+        return new FieldFailures(fieldMappings);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(fieldMappings)
+                .map(fieldMapping -> "'" + fieldMapping.getColumnName() + "' <- " + fieldMapping.getField().getName())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,78 @@
+package nl.jiankai.mapper;
+
+import org.slf4j.Logger;
+
+import java.sql.SQLException;
+
+/**
+ * Collects the fields whose value could not be retrieved while mapping a ResultSet, so that they can be logged once after all rows have been mapped
+ * instead of once for every row.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class FieldFailures {
+    private final String[] columnNames;
+    private final String[] targetNames;
+    private SQLException[] firstFailures;
+    private long[] failureCounts;
+
+    FieldFailures(FieldMapping[] fieldMappings) {
+        this.columnNames = new String[fieldMappings.length];
+        this.targetNames = new String[fieldMappings.length];
+
+        for (int i = 0; i < fieldMappings.length; i++) {
+            columnNames[i] = fieldMappings[i].getColumnName();
+            targetNames[i] = fieldMappings[i].getField().getName();
+        }
+    }
+
+    /**
+     * Builds the failures of a mapping that does not map to fields, like a projection
+     *
+     * @param columnNames the names of the columns that are read
+     * @param targetNames the names of what the columns are mapped to, in the same order
+     */
+    FieldFailures(String[] columnNames, String[] targetNames) {
+        this.columnNames = columnNames;
+        this.targetNames = targetNames;
+    }
+
+    /**
+     * Records that retrieving the value of a field failed.
+     *
+     * @param index     the index of the field mapping in the plan
+     * @param exception the reason of the failure
+     */
+    void record(int index, SQLException exception) {
+        if (firstFailures == null) {
+            firstFailures = new SQLException[columnNames.length];
+            failureCounts = new long[columnNames.length];
+        }
+
+        if (firstFailures[index] == null) {
+            firstFailures[index] = exception;
+        }
+
+        failureCounts[index]++;
+    }
+
+    /**
+     * Logs a single warning per failed field, including the first exception.
+     *
+     * @param logger   the logger to log to
+     * @param rowCount the amount of mapped rows
+     */
+    void log(Logger logger, long rowCount) {
+        if (firstFailures == null) {
+            return;
+        }
+
+        for (int i = 0; i < columnNames.length; i++) {
+            if (firstFailures[i] != null) {
+                logger.warn("Something went wrong while trying to retrieve '{}' for '{}' in {} of {} rows.",
+                        columnNames[i], targetNames[i], failureCounts[i], rowCount, firstFailures[i]);
+            }
+        }
+    }
+}
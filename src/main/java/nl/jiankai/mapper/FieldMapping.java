@@ -0,0 +1,120 @@
+package nl.jiankai.mapper;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The resolved mapping of a single column to a field of the destination class. It is created once when the {@link MappingPlan} is built.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class FieldMapping {
+    private final ColumnReference column;
+    private final Field field;
+    private final boolean warningsSuppressed;
+    private final Binder binder;
+
+    FieldMapping(String columnName, Field field, boolean warningsSuppressed, Binder binder) {
+        this(new ColumnReference(columnName), field, warningsSuppressed, binder);
+    }
+
+    private FieldMapping(ColumnReference column, Field field, boolean warningsSuppressed, Binder binder) {
+        this.column = column;
+        this.field = field;
+        this.warningsSuppressed = warningsSuppressed;
+        this.binder = binder;
+    }
+
+    /**
+     * Retrieves the value of the column from the current row and sets it to the field of the object.
+     *
+     * @param resultSet the ResultSet positioned on the row to be mapped
+     * @param object    the object the value has to be set on
+     */
+    void bind(ResultSet resultSet, Object object) throws SQLException, IllegalAccessException {
+        binder.bind(resultSet, column, object);
+    }
+
+    /**
+     * Retrieves the value of the column from the current row and converts it to the type of the field, without setting it to a field.
+     *
+     * @param resultSet the ResultSet positioned on the row to be read
+     * @return the converted value, or null when the column is null
+     */
+    Object retrieve(ResultSet resultSet) throws SQLException {
+        return binder.retrieve(resultSet, column);
+    }
+
+    /**
+     * Creates the same mapping that reads its column by the index the column has in a ResultSet.
+     *
+     * @param columnResolver the resolver of the ResultSet
+     * @return the mapping, itself when the column resolves to the same index
+     */
+    FieldMapping resolveColumn(ColumnResolver columnResolver) throws SQLException {
+        final ColumnReference resolvedColumn = column.resolve(columnResolver);
+        return resolvedColumn == column ? this : new FieldMapping(resolvedColumn, field, warningsSuppressed, binder);
+    }
+
+    ColumnReference getColumn() {
+        return column;
+    }
+
+    String getColumnName() {
+        return column.getName();
+    }
+
+    Field getField() {
+        return field;
+    }
+
+    boolean isWarningsSuppressed() {
+        return warningsSuppressed;
+    }
+
+    /**
+     * Retrieves a column value and sets it to a field. The implementation is chosen when the plan is built, based on the field type and the bound converter.
+     */
+    interface Binder {
+        void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException;
+
+        /**
+         * Retrieves and converts the value exactly like {@link #bind} does, but returns it instead of setting it to the field.
+         * A null column is returned as null, also for fields of a primitive type.
+         */
+        Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException;
+
+        /**
+         * Creates a binder from the retrieval of the converted value, which sets the value to the field or the null value when the column is null
+         *
+         * @param field     the field to set the value to
+         * @param nullValue the value to set when the column is null
+         * @param retrieval retrieves the converted value, or null when the column is null
+         * @return the binder
+         */
+        static Binder of(Field field, Object nullValue, Retrieval retrieval) {
+            return new Binder() {
+                @Override
+                public void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException {
+                    final Object value = retrieval.retrieve(resultSet, column);
+                    field.set(object, value == null ? nullValue : value);
+                }
+
+                @Override
+                public Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException {
+                    return retrieval.retrieve(resultSet, column);
+                }
+            };
+        }
+    }
+
+    /**
+     * Retrieves a column value and converts it to the type of a field
+     */
+    @FunctionalInterface
+    interface Retrieval {
+        Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException;
+    }
+}
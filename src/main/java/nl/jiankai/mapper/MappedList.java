@@ -0,0 +1,52 @@
+package nl.jiankai.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The list returned by a mapping whose {@link MappingOptions} allow a partial result. When the mapping stopped early, because its deadline passed,
+ * the ResultSet had more than the maximum amount of rows or it was cancelled, the list holds the rows mapped until then and tells why it stopped.
+ *
+ * @param <T> the mapped class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class MappedList<T> extends ArrayList<T> {
+    private static final long serialVersionUID = 1L;
+    private StopReason stopReason;
+
+    MappedList() {
+    }
+
+    /**
+     * Get whether a list returned by a mapping is a partial result
+     *
+     * @param list the list returned by the mapping
+     * @return true when the mapping stopped before the ResultSet was exhausted
+     */
+    public static boolean isPartial(final List<?> list) {
+        return list instanceof MappedList && ((MappedList<?>) list).isPartial();
+    }
+
+    /**
+     * Get whether the mapping stopped before the ResultSet was exhausted
+     *
+     * @return true when the list is a partial result
+     */
+    public boolean isPartial() {
+        return stopReason != null;
+    }
+
+    /**
+     * Get why the mapping stopped before the ResultSet was exhausted
+     *
+     * @return the reason, or null when every row has been mapped
+     */
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    void setStopReason(StopReason stopReason) {
+        this.stopReason = stopReason;
+    }
+}
@@ -0,0 +1,78 @@
+package nl.jiankai.mapper;
+
+/**
+ * A snapshot of how often {@link ResultSetMapper}s and their plans are reused in this process, see {@link ResultSetMapperFactory#getStatistics()}.
+ * A low reuse rate, or an amount of constructed mappers or built plans that keeps growing, points at code that builds a mapper per call
+ * and therefore reflects on the mapped classes over and over again.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class MapperReuseStatistics {
+    private final long sharedMapperRequests;
+    private final long sharedMappersCreated;
+    private final long mappersConstructed;
+    private final long plansBuilt;
+
+    MapperReuseStatistics(long sharedMapperRequests, long sharedMappersCreated, long mappersConstructed, long plansBuilt) {
+        this.sharedMapperRequests = sharedMapperRequests;
+        this.sharedMappersCreated = sharedMappersCreated;
+        this.mappersConstructed = mappersConstructed;
+        this.plansBuilt = plansBuilt;
+    }
+
+    /**
+     * Get the amount of mappers that have been requested from the {@link ResultSetMapperFactory}
+     *
+     * @return the amount of requests
+     */
+    public long getSharedMapperRequests() {
+        return sharedMapperRequests;
+    }
+
+    /**
+     * Get the amount of shared mappers the {@link ResultSetMapperFactory} has created, one per field naming strategy and set of converters
+     *
+     * @return the amount of shared mappers
+     */
+    public long getSharedMappersCreated() {
+        return sharedMappersCreated;
+    }
+
+    /**
+     * Get the amount of mappers that have been constructed in this process, including the shared mappers and the mappers constructed directly
+     *
+     * @return the amount of constructed mappers
+     */
+    public long getMappersConstructed() {
+        return mappersConstructed;
+    }
+
+    /**
+     * Get the amount of mapping and projection plans that have been built in this process
+     *
+     * @return the amount of built plans
+     */
+    public long getPlansBuilt() {
+        return plansBuilt;
+    }
+
+    /**
+     * Get the share of the requests to the {@link ResultSetMapperFactory} that returned an existing mapper
+     *
+     * @return the reuse rate between 0 and 1, or 0 when no mapper has been requested
+     */
+    public double getReuseRate() {
+        return sharedMapperRequests == 0 ? 0 : (double) (sharedMapperRequests - sharedMappersCreated) / sharedMapperRequests;
+    }
+
+    @Override
+    public String toString() {
+        return "MapperReuseStatistics{" +
+                "sharedMapperRequests=" + sharedMapperRequests +
+                ", sharedMappersCreated=" + sharedMappersCreated +
+                ", mappersConstructed=" + mappersConstructed +
+                ", plansBuilt=" + plansBuilt +
+                '}';
+    }
+}
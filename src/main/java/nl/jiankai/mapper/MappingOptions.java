@@ -0,0 +1,219 @@
+package nl.jiankai.mapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Options that select which rows of a ResultSet are mapped. Rows are first tested by the {@link RowPredicate}, of the accepted rows the first
+ * {@code skip} rows are passed over and at most {@code limit} rows are mapped. Reading the cursor stops as soon as the limit has been reached.
+ * <p>
+ * A mapping can also be bounded by a deadline, a timeout, a maximum amount of rows and a {@link CancellationToken}. Unlike the limit, these stop a mapping
+ * that has gone wrong: the deadline and the token are checked every 64 rows that are read, the maximum amount of rows on every row.
+ * When one of them is exceeded the statement of the ResultSet is cancelled and a {@link nl.jiankai.mapper.exceptions.MappingTimeoutException} is thrown,
+ * or, when partial results are allowed, the rows mapped until then are returned as a {@link MappedList} that tells why the mapping stopped.
+ * <p>
+ * Options are immutable, every {@code with} method returns a copy.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class MappingOptions {
+    private static final MappingOptions DEFAULTS = new MappingOptions(null, 0, Long.MAX_VALUE, null, null, Long.MAX_VALUE, null, false);
+    private final RowPredicate rowPredicate;
+    private final long skip;
+    private final long limit;
+    private final Instant deadline;
+    private final Duration timeout;
+    private final long maxRows;
+    private final CancellationToken cancellationToken;
+    private final boolean partialResultAllowed;
+
+    private MappingOptions(RowPredicate rowPredicate, long skip, long limit, Instant deadline, Duration timeout, long maxRows,
+                           CancellationToken cancellationToken, boolean partialResultAllowed) {
+        this.rowPredicate = rowPredicate;
+        this.skip = skip;
+        this.limit = limit;
+        this.deadline = deadline;
+        this.timeout = timeout;
+        this.maxRows = maxRows;
+        this.cancellationToken = cancellationToken;
+        this.partialResultAllowed = partialResultAllowed;
+    }
+
+    /**
+     * Get the options that map every row
+     *
+     * @return the default options
+     */
+    public static MappingOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Only maps the rows that match the predicate
+     *
+     * @param rowPredicate the condition on the raw column values
+     * @return the new options
+     */
+    public MappingOptions withFilter(final RowPredicate rowPredicate) {
+        return new MappingOptions(Objects.requireNonNull(rowPredicate), skip, limit, deadline, timeout, maxRows, cancellationToken, partialResultAllowed);
+    }
+
+    /**
+     * Passes over the first accepted rows
+     *
+     * @param skip the amount of accepted rows to pass over
+     * @return the new options
+     */
+    public MappingOptions withSkip(final long skip) {
+        if (skip < 0) {
+            throw new IllegalArgumentException("The amount of rows to skip can not be negative.");
+        }
+
+        return new MappingOptions(rowPredicate, skip, limit, deadline, timeout, maxRows, cancellationToken, partialResultAllowed);
+    }
+
+    /**
+     * Maps at most the provided amount of rows
+     *
+     * @param limit the maximum amount of rows to map
+     * @return the new options
+     */
+    public MappingOptions withLimit(final long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("The limit can not be negative.");
+        }
+
+        return new MappingOptions(rowPredicate, skip, limit, deadline, timeout, maxRows, cancellationToken, partialResultAllowed);
+    }
+
+    /**
+     * Stops the mapping when it has not completed at the deadline
+     *
+     * @param deadline the moment the mapping has to be completed
+     * @return the new options
+     */
+    public MappingOptions withDeadline(final Instant deadline) {
+        return new MappingOptions(rowPredicate, skip, limit, Objects.requireNonNull(deadline), timeout, maxRows, cancellationToken, partialResultAllowed);
+    }
+
+    /**
+     * Stops the mapping when it has not completed within the timeout, measured from the start of every mapping
+     *
+     * @param timeout the time the mapping may take
+     * @return the new options
+     */
+    public MappingOptions withTimeout(final Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("The timeout can not be negative.");
+        }
+
+        return new MappingOptions(rowPredicate, skip, limit, deadline, timeout, maxRows, cancellationToken, partialResultAllowed);
+    }
+
+    /**
+     * Stops the mapping when the ResultSet has more than the provided amount of selected rows
+     *
+     * @param maxRows the maximum amount of rows the ResultSet is expected to have
+     * @return the new options
+     */
+    public MappingOptions withMaxRows(final long maxRows) {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("The maximum amount of rows can not be negative.");
+        }
+
+        return new MappingOptions(rowPredicate, skip, limit, deadline, timeout, maxRows, cancellationToken, partialResultAllowed);
+    }
+
+    /**
+     * Stops the mapping when the token is cancelled
+     *
+     * @param cancellationToken the token to cancel the mapping with
+     * @return the new options
+     */
+    public MappingOptions withCancellationToken(final CancellationToken cancellationToken) {
+        return new MappingOptions(rowPredicate, skip, limit, deadline, timeout, maxRows, Objects.requireNonNull(cancellationToken), partialResultAllowed);
+    }
+
+    /**
+     * Returns the rows mapped until the mapping is stopped as a partial {@link MappedList}, instead of throwing a {@link nl.jiankai.mapper.exceptions.MappingTimeoutException}
+     *
+     * @return the new options
+     */
+    public MappingOptions withPartialResults() {
+        return new MappingOptions(rowPredicate, skip, limit, deadline, timeout, maxRows, cancellationToken, true);
+    }
+
+    /**
+     * Get the condition rows have to match
+     *
+     * @return the predicate, or null when every row is mapped
+     */
+    public RowPredicate getRowPredicate() {
+        return rowPredicate;
+    }
+
+    /**
+     * Get the amount of accepted rows that is passed over
+     *
+     * @return the amount of rows to skip
+     */
+    public long getSkip() {
+        return skip;
+    }
+
+    /**
+     * Get the maximum amount of rows to map
+     *
+     * @return the limit
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get the moment the mapping has to be completed
+     *
+     * @return the deadline, or null when there is none
+     */
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Get the time a mapping may take
+     *
+     * @return the timeout, or null when there is none
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Get the maximum amount of rows the ResultSet is expected to have
+     *
+     * @return the maximum amount of rows
+     */
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Get the token that cancels the mapping
+     *
+     * @return the token, or null when there is none
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Get whether a stopped mapping returns the rows mapped until then
+     *
+     * @return true when partial results are allowed
+     */
+    public boolean isPartialResultAllowed() {
+        return partialResultAllowed;
+    }
+}
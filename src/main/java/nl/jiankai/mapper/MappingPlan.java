@@ -0,0 +1,206 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.mapper.cache.EntityCache;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the {@link ResultSetMapper} needs to know to create instances of a destination class: its constructor and the resolved {@link FieldMapping}s.
+ * A plan is built once per destination class and reused for every row that is mapped to that class.
+ *
+ * @param <T> the destination class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class MappingPlan<T> implements RowMapper<T> {
+    private final Class<T> destinationClass;
+    private final Constructor<T> constructor;
+    private final FieldMapping[] fieldMappings;
+    private final EntityCache entityCache;
+    private final int idIndex;
+    private volatile ColumnResolver.Resolved<MappingPlan<T>> lastResolved;
+
+    MappingPlan(Class<T> destinationClass, Constructor<T> constructor, List<FieldMapping> fieldMappings) {
+        this(destinationClass, constructor, fieldMappings, null, -1);
+    }
+
+    /**
+     * Builds a plan whose objects are resolved through the entity cache by the value of their identifier column
+     *
+     * @param destinationClass the class to map to
+     * @param constructor      the no-arg constructor of the class
+     * @param fieldMappings    the resolved field mappings
+     * @param entityCache      the entity cache, or null when the objects are not cached
+     * @param idIndex          the index of the field mapping of the identifier, or -1 when the objects are not cached
+     */
+    MappingPlan(Class<T> destinationClass, Constructor<T> constructor, List<FieldMapping> fieldMappings, EntityCache entityCache, int idIndex) {
+        this.destinationClass = destinationClass;
+        this.constructor = constructor;
+        this.fieldMappings = fieldMappings.toArray(new FieldMapping[0]);
+        this.entityCache = idIndex >= 0 ? entityCache : null;
+        this.idIndex = idIndex;
+    }
+
+    /**
+     * Creates a new, empty instance of the destination class.
+     *
+     * @return a new instance
+     */
+    T newInstance() throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        return constructor.newInstance();
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet, FieldFailures fieldFailures) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        return mapRow(resultSet, fieldFailures, 0);
+    }
+
+    /**
+     * Maps the current row, recording failures at an offset so that several plans can share the failures of a single mapping.
+     * When the objects are cached and the identifier of the row is cached, the cached object is returned without reading the other columns.
+     *
+     * @param resultSet     the ResultSet positioned on the row to be mapped
+     * @param fieldFailures collects the fields whose value could not be retrieved
+     * @param failureOffset the index at which the failures of this plan are recorded
+     * @return an instance of the destination class
+     */
+    T mapRow(ResultSet resultSet, FieldFailures fieldFailures, int failureOffset) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (entityCache == null) {
+            return mapFields(resultSet, fieldFailures, failureOffset);
+        }
+
+        final Object id;
+
+        try {
+            id = fieldMappings[idIndex].getColumn().getObject(resultSet);
+        } catch (SQLException ex) {
+            fieldFailures.record(failureOffset + idIndex, ex);
+            return mapFields(resultSet, fieldFailures, failureOffset);
+        }
+
+        if (id == null) {
+            return mapFields(resultSet, fieldFailures, failureOffset);
+        }
+
+        final T cached = entityCache.get(destinationClass, id);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final T dto = mapFields(resultSet, fieldFailures, failureOffset);
+        entityCache.put(destinationClass, id, dto);
+        return dto;
+    }
+
+    /**
+     * Maps the current row to a new object, also when its identifier is cached. The new object replaces the cached object.
+     *
+     * @param resultSet     the ResultSet positioned on the row to be mapped
+     * @param fieldFailures collects the fields whose value could not be retrieved
+     * @param id            the value of the identifier column of the row
+     * @return an instance of the destination class
+     */
+    T mapChangedRow(ResultSet resultSet, FieldFailures fieldFailures, Object id) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        final T dto = mapFields(resultSet, fieldFailures, 0);
+
+        if (entityCache != null && id != null) {
+            entityCache.put(destinationClass, id, dto);
+        }
+
+        return dto;
+    }
+
+    private T mapFields(ResultSet resultSet, FieldFailures fieldFailures, int failureOffset) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        final T dto = newInstance();
+
+        for (int i = 0; i < fieldMappings.length; i++) {
+            final FieldMapping fieldMapping = fieldMappings[i];
+
+            try {
+                fieldMapping.bind(resultSet, dto);
+            } catch (SQLException ex) {
+                if (!fieldMapping.isWarningsSuppressed()) {
+                    fieldFailures.record(failureOffset + i, ex);
+                }
+            }
+        }
+
+        return dto;
+    }
+
+    /**
+     * Get the plan that reads the columns by their index in the ResultSet. The plan itself is returned when none of its columns resolve to another index,
+     * the last resolved plan when the labels are the same as the last time.
+     *
+     * @param columnResolver the resolver of the ResultSet to be mapped
+     * @return the plan to map the ResultSet with
+     */
+    @Override
+    public MappingPlan<T> resolveColumns(ColumnResolver columnResolver) throws SQLException {
+        final ColumnResolver.Resolved<MappingPlan<T>> resolved = lastResolved;
+        MappingPlan<T> resolvedPlan = resolved == null ? null : resolved.getPlan(columnResolver);
+
+        if (resolvedPlan == null) {
+            final FieldMapping[] resolvedFieldMappings = new FieldMapping[fieldMappings.length];
+            boolean changed = false;
+
+            for (int i = 0; i < fieldMappings.length; i++) {
+                resolvedFieldMappings[i] = fieldMappings[i].resolveColumn(columnResolver);
+                changed |= resolvedFieldMappings[i] != fieldMappings[i];
+            }
+
+            resolvedPlan = changed ? new MappingPlan<>(destinationClass, constructor, Arrays.asList(resolvedFieldMappings), entityCache, idIndex) : this;
+            lastResolved = new ColumnResolver.Resolved<>(columnResolver, resolvedPlan);
+        }
+
+        return resolvedPlan;
+    }
+
+    @Override
+    public FieldFailures createFieldFailures() {
+        return new FieldFailures(fieldMappings);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return fieldMappings.length;
+    }
+
+    @Override
+    public String describeRow(T row) throws IllegalAccessException {
+        final StringBuilder values = new StringBuilder(destinationClass.getSimpleName()).append('{');
+
+        for (int i = 0; i < fieldMappings.length; i++) {
+            values.append(i == 0 ? "" : ", ").append(fieldMappings[i].getColumnName()).append('=').append(fieldMappings[i].getField().get(row));
+        }
+
+        return values.append('}').toString();
+    }
+
+    Class<T> getDestinationClass() {
+        return destinationClass;
+    }
+
+    /**
+     * Get the field mappings. The array is shared and must not be modified, it is exposed as an array so that mapping a row does not allocate an iterator.
+     *
+     * @return the field mappings
+     */
+    FieldMapping[] getFieldMappings() {
+        return fieldMappings;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(fieldMappings)
+                .map(fieldMapping -> "'" + fieldMapping.getColumnName() + "' -> " + fieldMapping.getField().getName())
+                .collect(Collectors.joining(", ", destinationClass.getSimpleName() + "[", "]"));
+    }
+}
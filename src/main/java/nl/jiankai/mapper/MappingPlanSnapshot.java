@@ -0,0 +1,161 @@
+package nl.jiankai.mapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The resolved metadata of mapping plans: for every destination class the column each field is mapped to and how its value is bound.
+ * A snapshot is created with {@link ResultSetMapper#createPlanSnapshot()}, can be written to a file and loaded by a later start with
+ * {@link ResultSetMapper#loadPlanSnapshot(MappingPlanSnapshot)}, which validates it against the classes instead of resolving the metadata again.
+ * <p>
+ * The file is a plain text file with one line per class and one tab separated line per field.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class MappingPlanSnapshot {
+    private static final String HEADER = "# resultset-mapper plan snapshot v1";
+    private static final String STRATEGY = "strategy";
+    private static final String CLASS = "class";
+    private static final String FIELD = "field";
+
+    private final String fieldNamingStrategy;
+    private final Map<String, List<FieldEntry>> classes;
+
+    MappingPlanSnapshot(String fieldNamingStrategy, Map<String, List<FieldEntry>> classes) {
+        this.fieldNamingStrategy = Objects.requireNonNull(fieldNamingStrategy);
+        this.classes = Collections.unmodifiableMap(new LinkedHashMap<>(classes));
+    }
+
+    /**
+     * Reads a snapshot that has been written with {@link #writeTo(Path)}
+     *
+     * @param path the file to read from
+     * @return the snapshot
+     * @throws IOException when the file can not be read or is not a plan snapshot
+     */
+    public static MappingPlanSnapshot readFrom(Path path) throws IOException {
+        String fieldNamingStrategy = null;
+        final Map<String, List<FieldEntry>> classes = new LinkedHashMap<>();
+        List<FieldEntry> currentClass = null;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException(String.format("'%s' is not a plan snapshot.", path));
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] parts = line.split("\t", -1);
+
+                if (parts.length == 2 && STRATEGY.equals(parts[0])) {
+                    fieldNamingStrategy = parts[1];
+                } else if (parts.length == 2 && CLASS.equals(parts[0])) {
+                    currentClass = new ArrayList<>();
+                    classes.put(parts[1], currentClass);
+                } else if (parts.length == 6 && FIELD.equals(parts[0]) && currentClass != null) {
+                    currentClass.add(new FieldEntry(parts[1], parts[2], parts[3], parts[4], parts[5]));
+                } else if (!line.isEmpty()) {
+                    throw new IOException(String.format("Malformed line in plan snapshot '%s': %s", path, line));
+                }
+            }
+        }
+
+        if (fieldNamingStrategy == null) {
+            throw new IOException(String.format("The plan snapshot '%s' does not contain a field naming strategy.", path));
+        }
+
+        return new MappingPlanSnapshot(fieldNamingStrategy, classes);
+    }
+
+    /**
+     * Writes the snapshot to a file, replacing the file when it exists
+     *
+     * @param path the file to write to
+     * @throws IOException when the file can not be written
+     */
+    public void writeTo(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write(STRATEGY + "\t" + fieldNamingStrategy);
+            writer.newLine();
+
+            for (Map.Entry<String, List<FieldEntry>> entry : classes.entrySet()) {
+                writer.write(CLASS + "\t" + entry.getKey());
+                writer.newLine();
+
+                for (FieldEntry field : entry.getValue()) {
+                    writer.write(String.join("\t", FIELD, field.declaringClass, field.fieldName, field.fieldType, field.columnName, field.binding));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the names of the destination classes in the snapshot
+     *
+     * @return the class names
+     */
+    public List<String> getClassNames() {
+        return List.copyOf(classes.keySet());
+    }
+
+    String getFieldNamingStrategy() {
+        return fieldNamingStrategy;
+    }
+
+    Map<String, List<FieldEntry>> getClasses() {
+        return classes;
+    }
+
+    /**
+     * A field of a destination class together with the column it is mapped to and a description of how its value is bound.
+     */
+    static final class FieldEntry {
+        private final String declaringClass;
+        private final String fieldName;
+        private final String fieldType;
+        private final String columnName;
+        private final String binding;
+
+        FieldEntry(String declaringClass, String fieldName, String fieldType, String columnName, String binding) {
+            this.declaringClass = declaringClass;
+            this.fieldName = fieldName;
+            this.fieldType = fieldType;
+            this.columnName = columnName;
+            this.binding = binding;
+        }
+
+        String getDeclaringClass() {
+            return declaringClass;
+        }
+
+        String getFieldName() {
+            return fieldName;
+        }
+
+        String getFieldType() {
+            return fieldType;
+        }
+
+        String getColumnName() {
+            return columnName;
+        }
+
+        String getBinding() {
+            return binding;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.slf4j.Logger;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Merges the rows of several ResultSets that are each ordered by the same sort order into a single ordered sequence (k-way merge).
+ * <p>
+ * Every ResultSet is read and mapped by its own thread, which stays a fixed amount of rows ahead of the merge. The merge keeps the head row of every
+ * ResultSet in a heap and emits the smallest one, so the memory used is proportional to the amount of ResultSets instead of the amount of rows,
+ * and the first row is available as soon as every ResultSet has returned its first row.
+ *
+ * @param <T> the class the rows are mapped to
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class OrderedMerge<T> extends Spliterators.AbstractSpliterator<T> {
+    static final int READ_AHEAD = 64;
+    private static final MergedRow<?> END = new MergedRow<>(null, null);
+
+    private final Logger logger;
+    private final List<Shard> shards = new ArrayList<>();
+    private final PriorityQueue<Head> heads;
+    private final Comparator<MergedRow<T>> rowComparator;
+    private boolean started;
+    private volatile boolean closed;
+
+    /**
+     * Builds a merge that compares the mapped objects
+     *
+     * @param resultSets the ResultSets, each ordered by the comparator
+     * @param rowMapper  maps a row
+     * @param comparator the order of the ResultSets
+     * @param logger     logs the fields that could not be retrieved
+     */
+    static <T> OrderedMerge<T> byComparator(List<ResultSet> resultSets, RowMapper<T> rowMapper, Comparator<? super T> comparator, Logger logger) {
+        return new OrderedMerge<>(resultSets, rowMapper, null, (first, second) -> comparator.compare(first.object, second.object), logger);
+    }
+
+    /**
+     * Builds a merge that compares the value of a sort key column, nulls are ordered first
+     *
+     * @param resultSets    the ResultSets, each ordered ascending by the sort key column
+     * @param rowMapper     maps a row
+     * @param sortKeyColumn the column the ResultSets are ordered by, its values must be {@link Comparable}
+     * @param logger        logs the fields that could not be retrieved
+     */
+    @SuppressWarnings("unchecked")
+    static <T> OrderedMerge<T> bySortKey(List<ResultSet> resultSets, RowMapper<T> rowMapper, String sortKeyColumn, Logger logger) {
+        final Comparator<Comparable<Object>> keyOrder = Comparator.nullsFirst(Comparator.naturalOrder());
+        return new OrderedMerge<>(resultSets, rowMapper, sortKeyColumn, (first, second) -> keyOrder.compare((Comparable<Object>) first.sortKey, (Comparable<Object>) second.sortKey), logger);
+    }
+
+    private OrderedMerge(List<ResultSet> resultSets, RowMapper<T> rowMapper, String sortKeyColumn, Comparator<MergedRow<T>> rowComparator, Logger logger) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.logger = logger;
+        this.rowComparator = rowComparator;
+        this.heads = new PriorityQueue<>(Math.max(1, resultSets.size()), this::compare);
+
+        for (int i = 0; i < resultSets.size(); i++) {
+            shards.add(new Shard(i, resultSets.get(i), rowMapper, sortKeyColumn));
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!started) {
+            start();
+        }
+
+        final Head head = heads.poll();
+
+        if (head == null) {
+            return false;
+        }
+
+        final MergedRow<T> next = head.shard.take();
+
+        if (next != END) {
+            heads.add(new Head(head.shard, next));
+        }
+
+        action.accept(head.row.object);
+        return true;
+    }
+
+    /**
+     * Stops the threads reading the ResultSets. The ResultSets themselves are left open.
+     */
+    void close() {
+        closed = true;
+
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private void start() {
+        started = true;
+
+        for (Shard shard : shards) {
+            final Thread thread = new Thread(shard, "ordered-merge-shard-" + shard.index);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        for (Shard shard : shards) {
+            final MergedRow<T> first = shard.take();
+
+            if (first != END) {
+                heads.add(new Head(shard, first));
+            }
+        }
+    }
+
+    private int compare(Head first, Head second) {
+        final int comparison = rowComparator.compare(first.row, second.row);
+        return comparison != 0 ? comparison : Integer.compare(first.shard.index, second.shard.index);
+    }
+
+    /**
+     * Reads and maps the rows of a single ResultSet ahead of the merge.
+     */
+    private class Shard implements Runnable {
+        private final int index;
+        private final ResultSet resultSet;
+        private final RowMapper<T> rowMapper;
+        private final String sortKeyColumn;
+        private final BlockingQueue<MergedRow<T>> rows = new ArrayBlockingQueue<>(READ_AHEAD);
+        private final AtomicReference<Thread> thread = new AtomicReference<>();
+        private volatile Throwable failure;
+        private long rowCount;
+
+        Shard(int index, ResultSet resultSet, RowMapper<T> rowMapper, String sortKeyColumn) {
+            this.index = index;
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+            this.sortKeyColumn = sortKeyColumn;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            thread.set(Thread.currentThread());
+            final FieldFailures fieldFailures = rowMapper.createFieldFailures();
+
+            try {
+                try {
+                    read(fieldFailures);
+                } catch (InterruptedException ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    // every failure, including an Error thrown while mapping, has to end the shard, otherwise the merge waits forever
+                    failure = ex;
+                }
+
+                rows.put((MergedRow<T>) END);
+            } catch (InterruptedException ex) {
+                logger.trace("Stopped reading shard {} because the merge has been closed.", index);
+            } finally {
+                thread.set(null);
+                Thread.interrupted();
+                fieldFailures.log(logger, rowCount);
+            }
+        }
+
+        /**
+         * Reads the rows with the mapper resolved against the labels of this ResultSet, every shard can label its columns differently.
+         */
+        private void read(FieldFailures fieldFailures) throws SQLException, ReflectiveOperationException, InterruptedException {
+            final ColumnResolver columnResolver = ColumnResolver.of(resultSet.getMetaData());
+            final RowMapper<T> shardRowMapper = columnResolver == null ? rowMapper : rowMapper.resolveColumns(columnResolver);
+            final int sortKeyIndex = sortKeyColumn == null ? 0 : findColumn(columnResolver);
+
+            while (!closed && resultSet.next()) {
+                final Object sortKey = sortKeyColumn == null ? null : sortKeyIndex > 0 ? resultSet.getObject(sortKeyIndex) : resultSet.getObject(sortKeyColumn);
+                rows.put(new MergedRow<>(sortKey, shardRowMapper.mapRow(resultSet, fieldFailures)));
+                rowCount++;
+            }
+        }
+
+        MergedRow<T> take() {
+            final MergedRow<T> row;
+
+            try {
+                row = rows.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MappingFailedException("Interrupted while waiting for the next row of shard " + index + "!", ex);
+            }
+
+            if (row == END && failure != null) {
+                throw new MappingFailedException("Shard " + index + " could not be read!", failure);
+            }
+
+            return row;
+        }
+
+        void stop() {
+            final Thread reader = thread.get();
+
+            if (reader != null) {
+                reader.interrupt();
+            }
+
+            rows.clear();
+        }
+
+        private int findColumn(ColumnResolver columnResolver) throws SQLException {
+            final int sortKeyIndex = columnResolver == null ? 0 : columnResolver.indexOf(sortKeyColumn);
+
+            if (sortKeyIndex > 0) {
+                return sortKeyIndex;
+            }
+
+            try {
+                return resultSet.findColumn(sortKeyColumn);
+            } catch (SQLException ex) {
+                return 0;
+            }
+        }
+    }
+
+    private class Head {
+        private final Shard shard;
+        private final MergedRow<T> row;
+
+        Head(Shard shard, MergedRow<T> row) {
+            this.shard = shard;
+            this.row = row;
+        }
+    }
+
+    private static class MergedRow<T> {
+        private final Object sortKey;
+        private final T object;
+
+        MergedRow(Object sortKey, T object) {
+            this.sortKey = sortKey;
+            this.object = object;
+        }
+    }
+}
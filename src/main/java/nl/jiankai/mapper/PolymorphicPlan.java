@@ -0,0 +1,210 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.annotations.Discriminator;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The plan of a base class annotated with {@link Discriminator}. Every row is dispatched by the value of the discriminator column to the
+ * {@link MappingPlan} of the matching subclass, which is built once like the plan of any other class.
+ * <p>
+ * The discriminator is read by column index. When the columns are resolved against the metadata of the ResultSet, see {@link #resolveColumns(ColumnResolver)},
+ * the plans of the subclasses and the discriminator are resolved with them. Otherwise the index of the discriminator is looked up on the first row of a ResultSet,
+ * drivers that can not find it are read by column label.
+ *
+ * @param <T> the base class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class PolymorphicPlan<T> implements RowMapper<T> {
+    private final Class<T> baseClass;
+    private final ColumnReference discriminatorColumn;
+    private final Map<String, MappingPlan<? extends T>> plansByDiscriminator;
+    private final Map<Class<?>, MappingPlan<? extends T>> plansByClass = new HashMap<>();
+    private final Map<MappingPlan<?>, Integer> failureOffsets = new HashMap<>();
+    private final MappingPlan<T> basePlan;
+    private final String[] columnNames;
+    private final String[] targetNames;
+    private volatile DiscriminatorIndex discriminatorIndex;
+    private volatile ColumnResolver.Resolved<PolymorphicPlan<T>> lastResolved;
+
+    /**
+     * Builds the plan
+     *
+     * @param baseClass            the class annotated with {@link Discriminator}
+     * @param plansByDiscriminator the plans of the subclasses by their discriminator value
+     * @param basePlan             the plan for rows with an unknown discriminator value, or null when the base class is abstract
+     */
+    PolymorphicPlan(Class<T> baseClass, Map<String, MappingPlan<? extends T>> plansByDiscriminator, MappingPlan<T> basePlan) {
+        this.baseClass = baseClass;
+        this.discriminatorColumn = new ColumnReference(baseClass.getAnnotation(Discriminator.class).column());
+        this.plansByDiscriminator = Map.copyOf(plansByDiscriminator);
+        this.basePlan = basePlan;
+
+        final List<MappingPlan<? extends T>> plans = new ArrayList<>(plansByDiscriminator.values());
+        if (basePlan != null) {
+            plans.add(basePlan);
+        }
+
+        final List<String> columns = new ArrayList<>();
+        final List<String> targets = new ArrayList<>();
+
+        for (MappingPlan<? extends T> plan : plans) {
+            if (failureOffsets.putIfAbsent(plan, columns.size()) == null) {
+                plansByClass.put(plan.getDestinationClass(), plan);
+
+                for (FieldMapping fieldMapping : plan.getFieldMappings()) {
+                    columns.add(fieldMapping.getColumnName());
+                    targets.add(plan.getDestinationClass().getSimpleName() + "." + fieldMapping.getField().getName());
+                }
+            }
+        }
+
+        this.columnNames = columns.toArray(new String[0]);
+        this.targetNames = targets.toArray(new String[0]);
+    }
+
+    /**
+     * Builds the plan with the resolved plans of the subclasses
+     *
+     * @param plan                the plan that has been resolved
+     * @param resolvedPlans       the resolved plan of every plan of a subclass
+     * @param discriminatorColumn the resolved discriminator column
+     */
+    private PolymorphicPlan(PolymorphicPlan<T> plan, Map<MappingPlan<?>, MappingPlan<?>> resolvedPlans, ColumnReference discriminatorColumn) {
+        this.baseClass = plan.baseClass;
+        this.discriminatorColumn = discriminatorColumn;
+        this.basePlan = plan.basePlan == null ? null : cast(resolvedPlans.get(plan.basePlan));
+        this.columnNames = plan.columnNames;
+        this.targetNames = plan.targetNames;
+        final Map<String, MappingPlan<? extends T>> resolvedPlansByDiscriminator = new HashMap<>();
+
+        for (Map.Entry<String, MappingPlan<? extends T>> entry : plan.plansByDiscriminator.entrySet()) {
+            resolvedPlansByDiscriminator.put(entry.getKey(), cast(resolvedPlans.get(entry.getValue())));
+        }
+
+        for (Map.Entry<MappingPlan<?>, Integer> entry : plan.failureOffsets.entrySet()) {
+            final MappingPlan<? extends T> resolvedPlan = cast(resolvedPlans.get(entry.getKey()));
+            failureOffsets.put(resolvedPlan, entry.getValue());
+            plansByClass.put(resolvedPlan.getDestinationClass(), resolvedPlan);
+        }
+
+        this.plansByDiscriminator = Map.copyOf(resolvedPlansByDiscriminator);
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet, FieldFailures fieldFailures) throws SQLException, ReflectiveOperationException {
+        final Object discriminator = readDiscriminator(resultSet);
+        MappingPlan<? extends T> plan = discriminator == null ? null : plansByDiscriminator.get(discriminator.toString());
+
+        if (plan == null) {
+            plan = basePlan;
+
+            if (plan == null) {
+                throw new MappingFailedException(String.format("No subtype of %s has the discriminator value '%s'.", baseClass.getName(), discriminator), null);
+            }
+        }
+
+        return plan.mapRow(resultSet, fieldFailures, failureOffsets.get(plan));
+    }
+
+    /**
+     * Get the plan that reads the columns by their index in the ResultSet, see {@link MappingPlan#resolveColumns(ColumnResolver)}.
+     * The plan of every subclass is resolved, as well as the discriminator column.
+     *
+     * @param columnResolver the resolver of the ResultSet to be mapped
+     * @return the plan to map the ResultSet with
+     */
+    @Override
+    public PolymorphicPlan<T> resolveColumns(ColumnResolver columnResolver) throws SQLException {
+        final ColumnResolver.Resolved<PolymorphicPlan<T>> resolved = lastResolved;
+        PolymorphicPlan<T> resolvedPlan = resolved == null ? null : resolved.getPlan(columnResolver);
+
+        if (resolvedPlan == null) {
+            final Map<MappingPlan<?>, MappingPlan<?>> resolvedPlans = new HashMap<>();
+            final ColumnReference resolvedDiscriminatorColumn = discriminatorColumn.resolve(columnResolver);
+            boolean changed = resolvedDiscriminatorColumn != discriminatorColumn;
+
+            for (MappingPlan<?> plan : failureOffsets.keySet()) {
+                final MappingPlan<?> resolvedSubPlan = plan.resolveColumns(columnResolver);
+                resolvedPlans.put(plan, resolvedSubPlan);
+                changed |= resolvedSubPlan != plan;
+            }
+
+            resolvedPlan = changed ? new PolymorphicPlan<>(this, resolvedPlans, resolvedDiscriminatorColumn) : this;
+            lastResolved = new ColumnResolver.Resolved<>(columnResolver, resolvedPlan);
+        }
+
+        return resolvedPlan;
+    }
+
+    @Override
+    public FieldFailures createFieldFailures() {
+        return new FieldFailures(columnNames, targetNames);
+    }
+
+    @Override
+    public int getColumnCount() {
+        int columnCount = 0;
+
+        for (MappingPlan<? extends T> plan : plansByClass.values()) {
+            columnCount = Math.max(columnCount, plan.getColumnCount());
+        }
+
+        return columnCount + 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String describeRow(T row) throws IllegalAccessException {
+        return ((MappingPlan<T>) plansByClass.get(row.getClass())).describeRow(row);
+    }
+
+    private Object readDiscriminator(ResultSet resultSet) throws SQLException {
+        if (discriminatorColumn.getIndex() > 0) {
+            return discriminatorColumn.getObject(resultSet);
+        }
+
+        DiscriminatorIndex index = discriminatorIndex;
+
+        if (index == null || index.resultSet.get() != resultSet) {
+            index = new DiscriminatorIndex(resultSet, findColumn(resultSet));
+            discriminatorIndex = index;
+        }
+
+        return index.columnIndex > 0 ? resultSet.getObject(index.columnIndex) : discriminatorColumn.getObject(resultSet);
+    }
+
+    private int findColumn(ResultSet resultSet) {
+        try {
+            return resultSet.findColumn(discriminatorColumn.getName());
+        } catch (SQLException ex) {
+            return 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P extends MappingPlan<?>> P cast(MappingPlan<?> plan) {
+        return (P) plan;
+    }
+
+    /**
+     * The index of the discriminator column in the ResultSet that is being mapped.
+     */
+    private static class DiscriminatorIndex {
+        private final WeakReference<ResultSet> resultSet;
+        private final int columnIndex;
+
+        DiscriminatorIndex(ResultSet resultSet, int columnIndex) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.columnIndex = columnIndex;
+        }
+    }
+}
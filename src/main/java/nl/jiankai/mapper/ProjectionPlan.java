@@ -0,0 +1,180 @@
+package nl.jiankai.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The mapping plan of a projection interface. Every getter of the interface is backed by a column. When a row is mapped only the columns of the getters
+ * are read, and they are kept as raw values. A value is converted on the first call of its getter, columns whose getter is never called are never converted.
+ *
+ * @param <T> the projection interface
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class ProjectionPlan<T> implements RowMapper<T> {
+    private final Class<T> projectionInterface;
+    private final String[] columnNames;
+    private final ColumnReference[] columns;
+    private final String[] propertyNames;
+    private final Conversion[] conversions;
+    private final Object[] nullValues;
+    private final Map<Method, Integer> getterIndexes;
+    private final Map<Method, MethodHandle> defaultMethods;
+    private volatile ColumnResolver.Resolved<ProjectionPlan<T>> lastResolved;
+
+    ProjectionPlan(Class<T> projectionInterface, String[] columnNames, String[] propertyNames, Conversion[] conversions, Object[] nullValues,
+                   Map<Method, Integer> getterIndexes, Map<Method, MethodHandle> defaultMethods) {
+        this.projectionInterface = projectionInterface;
+        this.columnNames = columnNames;
+        this.columns = new ColumnReference[columnNames.length];
+        this.propertyNames = propertyNames;
+        this.conversions = conversions;
+        this.nullValues = nullValues;
+        this.getterIndexes = Map.copyOf(getterIndexes);
+        this.defaultMethods = Map.copyOf(defaultMethods);
+
+        for (int i = 0; i < columnNames.length; i++) {
+            columns[i] = new ColumnReference(columnNames[i]);
+        }
+    }
+
+    private ProjectionPlan(ProjectionPlan<T> plan, ColumnReference[] columns) {
+        this.projectionInterface = plan.projectionInterface;
+        this.columnNames = plan.columnNames;
+        this.columns = columns;
+        this.propertyNames = plan.propertyNames;
+        this.conversions = plan.conversions;
+        this.nullValues = plan.nullValues;
+        this.getterIndexes = plan.getterIndexes;
+        this.defaultMethods = plan.defaultMethods;
+    }
+
+    /**
+     * Reads the raw values of the projected columns from the current row and creates the projection backed by them.
+     *
+     * @param resultSet     the ResultSet positioned on the row to be mapped
+     * @param fieldFailures collects the columns that could not be read
+     * @return the projection
+     */
+    @Override
+    public T mapRow(ResultSet resultSet, FieldFailures fieldFailures) {
+        final Object[] values = new Object[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            try {
+                values[i] = columns[i].getObject(resultSet);
+            } catch (SQLException ex) {
+                fieldFailures.record(i, ex);
+            }
+        }
+
+        return projectionInterface.cast(Proxy.newProxyInstance(projectionInterface.getClassLoader(), new Class<?>[]{projectionInterface}, new ProjectedRow(values)));
+    }
+
+    /**
+     * Get the plan that reads the columns by their index in the ResultSet, see {@link MappingPlan#resolveColumns(ColumnResolver)}.
+     *
+     * @param columnResolver the resolver of the ResultSet to be mapped
+     * @return the plan to map the ResultSet with
+     */
+    @Override
+    public ProjectionPlan<T> resolveColumns(ColumnResolver columnResolver) throws SQLException {
+        final ColumnResolver.Resolved<ProjectionPlan<T>> resolved = lastResolved;
+        ProjectionPlan<T> resolvedPlan = resolved == null ? null : resolved.getPlan(columnResolver);
+
+        if (resolvedPlan == null) {
+            final ColumnReference[] resolvedColumns = new ColumnReference[columns.length];
+            boolean changed = false;
+
+            for (int i = 0; i < columns.length; i++) {
+                resolvedColumns[i] = columns[i].resolve(columnResolver);
+                changed |= resolvedColumns[i] != columns[i];
+            }
+
+            resolvedPlan = changed ? new ProjectionPlan<>(this, resolvedColumns) : this;
+            lastResolved = new ColumnResolver.Resolved<>(columnResolver, resolvedPlan);
+        }
+
+        return resolvedPlan;
+    }
+
+    @Override
+    public FieldFailures createFieldFailures() {
+        return new FieldFailures(columnNames, propertyNames);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String describeRow(T row) {
+        return row.toString();
+    }
+
+    /**
+     * The invocation handler of a single projected row. A converted value replaces its raw value, a bit per column tells whether that already happened.
+     */
+    private class ProjectedRow implements InvocationHandler {
+        private final Object[] values;
+        private final boolean[] materialised;
+
+        ProjectedRow(Object[] values) {
+            this.values = values;
+            this.materialised = new boolean[values.length];
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final Integer index = getterIndexes.get(method);
+
+            if (index != null) {
+                return get(index);
+            }
+
+            final MethodHandle defaultMethod = defaultMethods.get(method);
+
+            if (defaultMethod != null) {
+                return defaultMethod.bindTo(proxy).invokeWithArguments(args == null ? new Object[0] : args);
+            }
+
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return describe();
+                default:
+                    throw new UnsupportedOperationException(String.format("%s is not a getter of %s.", method.getName(), projectionInterface.getName()));
+            }
+        }
+
+        private synchronized Object get(int index) {
+            if (!materialised[index]) {
+                final Object value = values[index];
+                values[index] = value == null ? nullValues[index] : conversions[index].convert(value);
+                materialised[index] = true;
+            }
+
+            return values[index];
+        }
+
+        private String describe() {
+            final StringJoiner properties = new StringJoiner(", ", projectionInterface.getSimpleName() + "{", "}");
+
+            for (int i = 0; i < propertyNames.length; i++) {
+                properties.add(propertyNames[i] + "=" + get(i));
+            }
+
+            return properties.toString();
+        }
+    }
+}
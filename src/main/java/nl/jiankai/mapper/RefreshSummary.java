@@ -0,0 +1,80 @@
+package nl.jiankai.mapper;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The changes a {@link ResultSetMapper#refresh(RefreshableMap, java.sql.ResultSet, Class)} has applied to a {@link RefreshableMap}.
+ *
+ * @param <K> the class of the identifier
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class RefreshSummary<K> {
+    private final Set<K> addedKeys;
+    private final Set<K> changedKeys;
+    private final Set<K> removedKeys;
+    private final long unchangedCount;
+
+    RefreshSummary(Set<K> addedKeys, Set<K> changedKeys, Set<K> removedKeys, long unchangedCount) {
+        this.addedKeys = Collections.unmodifiableSet(addedKeys);
+        this.changedKeys = Collections.unmodifiableSet(changedKeys);
+        this.removedKeys = Collections.unmodifiableSet(removedKeys);
+        this.unchangedCount = unchangedCount;
+    }
+
+    /**
+     * Get the identifiers of the rows that were not in the map before
+     *
+     * @return the added identifiers
+     */
+    public Set<K> getAddedKeys() {
+        return addedKeys;
+    }
+
+    /**
+     * Get the identifiers of the rows whose column values have changed, their objects have been replaced
+     *
+     * @return the changed identifiers
+     */
+    public Set<K> getChangedKeys() {
+        return changedKeys;
+    }
+
+    /**
+     * Get the identifiers of the objects that have been removed because their row is gone
+     *
+     * @return the removed identifiers
+     */
+    public Set<K> getRemovedKeys() {
+        return removedKeys;
+    }
+
+    /**
+     * Get the amount of rows that have not changed, they have not been mapped again
+     *
+     * @return the amount of unchanged rows
+     */
+    public long getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    /**
+     * Whether the refresh has changed the map
+     *
+     * @return true when rows have been added, changed or removed
+     */
+    public boolean hasChanges() {
+        return !addedKeys.isEmpty() || !changedKeys.isEmpty() || !removedKeys.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshSummary{" +
+                "added=" + addedKeys.size() +
+                ", changed=" + changedKeys.size() +
+                ", removed=" + removedKeys.size() +
+                ", unchanged=" + unchangedCount +
+                '}';
+    }
+}
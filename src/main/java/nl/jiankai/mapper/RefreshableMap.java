@@ -0,0 +1,135 @@
+package nl.jiankai.mapper;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A map of mapped objects by their {@link nl.jiankai.annotations.Id} that is kept up to date with {@link ResultSetMapper#refresh(RefreshableMap, java.sql.ResultSet, Class)}.
+ * Next to the objects it remembers a hash of the column values each object was mapped from, so that a refresh only maps the rows that have changed.
+ * <p>
+ * The map can not be modified by the caller. It can be read by other threads while it is being refreshed, they see every object either before or after the refresh.
+ *
+ * @param <K> the class of the identifier
+ * @param <T> the class of the mapped objects
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class RefreshableMap<K, T> extends AbstractMap<K, T> {
+    private final Map<K, T> objects = new ConcurrentHashMap<>();
+    private final Set<Entry<K, T>> entries = Collections.unmodifiableMap(objects).entrySet();
+    private final Map<Object, RowState<K>> rowStates = new ConcurrentHashMap<>();
+    private long generation;
+
+    @Override
+    public Set<Entry<K, T>> entrySet() {
+        return entries;
+    }
+
+    @Override
+    public T get(Object key) {
+        return objects.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return objects.size();
+    }
+
+    /**
+     * Starts a refresh. Rows that are not seen during the refresh keep the previous generation and are removed when it is completed.
+     *
+     * @return the generation of the refresh
+     */
+    long startRefresh() {
+        return ++generation;
+    }
+
+    /**
+     * Get the state of the row with the identifier value as it was read from the ResultSet
+     *
+     * @param rowId the identifier column value
+     * @return the state, or null when the row has not been mapped before
+     */
+    RowState<K> getRowState(Object rowId) {
+        return rowStates.get(rowId);
+    }
+
+    /**
+     * Stores the object of a new or changed row
+     *
+     * @param rowId      the identifier column value
+     * @param rowHash    the hash of the column values the object is mapped from
+     * @param key        the identifier of the mapped object
+     * @param object     the mapped object
+     * @param generation the generation of the refresh
+     */
+    void put(Object rowId, long rowHash, K key, T object, long generation) {
+        final RowState<K> previous = rowStates.put(rowId, new RowState<>(rowHash, key, generation));
+
+        if (previous != null && !previous.key.equals(key)) {
+            objects.remove(previous.key);
+        }
+
+        objects.put(key, object);
+    }
+
+    /**
+     * Removes the objects of the rows that have not been seen during the refresh
+     *
+     * @param generation the generation of the refresh
+     * @param removedKeys collects the identifiers of the removed objects
+     */
+    void completeRefresh(long generation, Set<K> removedKeys) {
+        final Iterator<RowState<K>> iterator = rowStates.values().iterator();
+
+        while (iterator.hasNext()) {
+            final RowState<K> rowState = iterator.next();
+
+            if (rowState.generation != generation) {
+                iterator.remove();
+                objects.remove(rowState.key);
+                removedKeys.add(rowState.key);
+            }
+        }
+    }
+
+    /**
+     * What is remembered of a row between refreshes.
+     */
+    static class RowState<K> {
+        private final long hash;
+        private final K key;
+        private long generation;
+
+        RowState(long hash, K key, long generation) {
+            this.hash = hash;
+            this.key = key;
+            this.generation = generation;
+        }
+
+        /**
+         * Marks the row as seen when its hash is unchanged
+         *
+         * @param rowHash    the hash of the current column values
+         * @param generation the generation of the refresh
+         * @return whether the row is unchanged
+         */
+        boolean markUnchanged(long rowHash, long generation) {
+            if (hash != rowHash) {
+                return false;
+            }
+
+            this.generation = generation;
+            return true;
+        }
+    }
+}
@@ -2,31 +2,65 @@ package nl.jiankai.mapper;
 
 import nl.jiankai.annotations.Column;
 import nl.jiankai.annotations.Convert;
-import nl.jiankai.annotations.Converter;
+import nl.jiankai.annotations.Discriminator;
+import nl.jiankai.annotations.Id;
 import nl.jiankai.annotations.Ignore;
+import nl.jiankai.annotations.SubType;
 import nl.jiankai.annotations.SuppressWarnings;
+import nl.jiankai.mapper.cache.EntityCache;
 import nl.jiankai.mapper.converters.AttributeConverter;
 import nl.jiankai.mapper.converters.DateToLocalDateConverter;
+import nl.jiankai.mapper.converters.DoubleAttributeConverter;
+import nl.jiankai.mapper.converters.IntAttributeConverter;
+import nl.jiankai.mapper.converters.LongAttributeConverter;
 import nl.jiankai.mapper.converters.TimeToLocalTimeConverter;
 import nl.jiankai.mapper.converters.TimestampToLocalDateTimeConverter;
+import nl.jiankai.mapper.converters.ToDoubleAttributeConverter;
+import nl.jiankai.mapper.converters.ToIntAttributeConverter;
+import nl.jiankai.mapper.converters.ToLongAttributeConverter;
+import nl.jiankai.mapper.events.MappingCompletedEvent;
+import nl.jiankai.mapper.events.PlanCompiledEvent;
+import nl.jiankai.mapper.events.SlowConversionEvent;
 import nl.jiankai.mapper.exceptions.MappingFailedException;
+import nl.jiankai.mapper.export.ExportWriter;
+import nl.jiankai.mapper.listeners.MappingListener;
 import nl.jiankai.mapper.strategies.FieldNamingStrategy;
 import nl.jiankai.mapper.strategies.IdentityFieldNamingStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class allows the user to map a ResultSet to their desired model object
@@ -37,9 +71,18 @@ public class ResultSetMapper {
     private final Logger logger = LoggerFactory.getLogger(ResultSetMapper.class);
     private final ClassCache classCache = new ClassCache();
     private final FieldNamingStrategy fieldNamingStrategy;
-    private final Map<SourceAndTarget, AttributeConverter> attributeConvertersBySourceAndTarget = new HashMap<>();
-    private final Map<Class, AttributeConverter> attributeConvertersByClass = new HashMap<>();
-    private boolean hasClassLevelWarningSuppression;
+    private final AttributeConverterRegistry attributeConverterRegistry = new AttributeConverterRegistry();
+    private final Map<Class<?>, MappingPlan<?>> mappingPlans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ProjectionPlan<?>> projectionPlans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, PolymorphicPlan<?>> polymorphicPlans = new ConcurrentHashMap<>();
+    private final Map<List<TupleElement<?>>, TuplePlan> tuplePlans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ExportPlan> exportPlans = new ConcurrentHashMap<>();
+    private final TypedRetrievalSupport typedRetrievalSupport = new TypedRetrievalSupport();
+    private final Map<Class<?>, EnumLookup> enumLookups = new ConcurrentHashMap<>();
+    private final List<MappingListener> mappingListeners = new CopyOnWriteArrayList<>();
+    private volatile int rowTraceSampleRate;
+    private volatile EntityCache entityCache;
+    private volatile boolean shared;
 
     /**
      * Builds a ResultSetMapper with default IdentityFieldNamingStrategy
@@ -48,6 +91,7 @@ public class ResultSetMapper {
         registerAttributeConverters();
         this.fieldNamingStrategy = new IdentityFieldNamingStrategy();
         logger.info("No specific field naming strategy has been set. It will default to the {} field naming strategy.", this.fieldNamingStrategy);
+        ResultSetMapperFactory.recordMapperConstructed(this.fieldNamingStrategy);
     }
 
     /**
@@ -59,6 +103,7 @@ public class ResultSetMapper {
         registerAttributeConverters();
         logger.info("The {} field naming strategy will be used for mapping.", fieldNamingStrategy);
         this.fieldNamingStrategy = fieldNamingStrategy;
+        ResultSetMapperFactory.recordMapperConstructed(fieldNamingStrategy);
     }
 
     /**
@@ -70,131 +115,1341 @@ public class ResultSetMapper {
         return this.fieldNamingStrategy;
     }
 
-    public void registerAttributeConverter(AttributeConverter attributeConverter) {
-        putAttributeConverterInMap(attributeConverter);
+    /**
+     * Registers a listener that is notified about the progress of mapping
+     *
+     * @param mappingListener the listener to register
+     * @throws UnsupportedOperationException when the mapper is shared by the {@link ResultSetMapperFactory}
+     */
+    public void addMappingListener(MappingListener mappingListener) {
+        requireNotShared();
+        mappingListeners.add(Objects.requireNonNull(mappingListener));
+    }
+
+    /**
+     * Removes a previously registered listener
+     *
+     * @param mappingListener the listener to remove
+     * @throws UnsupportedOperationException when the mapper is shared by the {@link ResultSetMapperFactory}
+     */
+    public void removeMappingListener(MappingListener mappingListener) {
+        requireNotShared();
+        mappingListeners.remove(mappingListener);
+    }
+
+    /**
+     * Enables sampled row tracing. Every n-th mapped row is logged at trace level with all its values. Mapping itself does not log per row or value.
+     *
+     * @param everyNthRow the sample rate, 0 disables row tracing
+     * @throws UnsupportedOperationException when the mapper is shared by the {@link ResultSetMapperFactory}
+     */
+    public void setRowTraceSampleRate(int everyNthRow) {
+        requireNotShared();
+
+        if (everyNthRow < 0) {
+            throw new IllegalArgumentException("The sample rate can not be negative.");
+        }
+
+        this.rowTraceSampleRate = everyNthRow;
+    }
+
+    /**
+     * Resolves the objects of classes with a field annotated with {@link Id} through the entity cache. A row whose identifier is cached is mapped to the cached object
+     * without reading its other columns, every other row is mapped and cached. The mapping plans are rebuilt, so set the cache before mapping.
+     *
+     * @param entityCache the entity cache, or null to stop caching entities
+     * @throws UnsupportedOperationException when the mapper is shared by the {@link ResultSetMapperFactory}
+     */
+    public void setEntityCache(EntityCache entityCache) {
+        requireNotShared();
+        this.entityCache = entityCache;
+        mappingPlans.clear();
+        polymorphicPlans.clear();
+        tuplePlans.clear();
+    }
+
+    /**
+     * Maps the ResultSet lazily: a row is only read and mapped when the stream requests it. The stream does not close the ResultSet.
+     *
+     * @param resultSet        the ResultSet returned by JDBC API
+     * @param destinationClass the class to map to
+     * @param <T>              the desired class
+     * @return stream of the mapped objects
+     */
+    public <T> Stream<T> stream(final ResultSet resultSet, final Class<T> destinationClass) {
+        return stream(resultSet, destinationClass, MappingOptions.defaults());
+    }
+
+    /**
+     * Maps the rows of the ResultSet that are selected by the options lazily. Reading the cursor stops when the limit is reached or the stream is not consumed any further.
+     * A stream whose mapping has been stopped with a partial result simply ends.
+     * Fields whose value could not be retrieved are logged when the stream is closed. Mapping listeners and Java Flight Recorder events are not notified of streamed mappings.
+     *
+     * @param resultSet        the ResultSet returned by JDBC API
+     * @param destinationClass the class to map to
+     * @param mappingOptions   selects the rows to be mapped
+     * @param <T>              the desired class
+     * @return stream of the mapped objects
+     */
+    public <T> Stream<T> stream(final ResultSet resultSet, final Class<T> destinationClass, final MappingOptions mappingOptions) {
+        if (resultSet == null) {
+            return Stream.empty();
+        }
+
+        final RowMapper<T> rowMapper;
+
+        try {
+            rowMapper = resolveColumns(getRowMapper(destinationClass), resultSet);
+        } catch (NoSuchMethodException ex) {
+            throw new MappingFailedException("Something has gone wrong while mapping!", ex);
+        }
+
+        final RowSelection rowSelection = new RowSelection(mappingOptions);
+        final FieldFailures fieldFailures = rowMapper.createFieldFailures();
+        final long[] rowCount = {0};
+
+        final Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rowSelection.next(resultSet)) {
+                        return false;
+                    }
+
+                    action.accept(rowMapper.mapRow(resultSet, fieldFailures));
+                    rowCount[0]++;
+                    return true;
+                } catch (SQLException | ReflectiveOperationException ex) {
+                    throw new MappingFailedException("Something has gone wrong while mapping!", ex);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> fieldFailures.log(logger, rowCount[0]));
+    }
+
+    /**
+     * Merges ResultSets that are each ordered by the comparator, for instance the results of the same query on several shards, into a single ordered stream.
+     * Every ResultSet is read and mapped concurrently by its own thread a bounded amount of rows ahead of the merge, so the memory used grows with
+     * the amount of ResultSets instead of the amount of rows. The stream should be closed, the ResultSets themselves are not closed.
+     *
+     * @param resultSets       the ResultSets to merge
+     * @param destinationClass the class to map to
+     * @param comparator       the order of every ResultSet
+     * @param <T>              the desired class
+     * @return ordered stream of the mapped objects of all ResultSets
+     */
+    public <T> Stream<T> mergeOrdered(final List<ResultSet> resultSets, final Class<T> destinationClass, final Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return mergeOrdered(destinationClass, rowMapper -> OrderedMerge.byComparator(resultSets, rowMapper, comparator, logger));
+    }
+
+    /**
+     * Merges ResultSets that are each ordered ascending by the sort key column into a single ordered stream, see {@link #mergeOrdered(List, Class, Comparator)}.
+     * The rows are compared by the value of the sort key column, which is read by its index. Null values are ordered first.
+     *
+     * @param resultSets       the ResultSets to merge
+     * @param destinationClass the class to map to
+     * @param sortKeyColumn    the column every ResultSet is ordered by, its values must be {@link Comparable}
+     * @param <T>              the desired class
+     * @return ordered stream of the mapped objects of all ResultSets
+     */
+    public <T> Stream<T> mergeOrdered(final List<ResultSet> resultSets, final Class<T> destinationClass, final String sortKeyColumn) {
+        Objects.requireNonNull(sortKeyColumn);
+        return mergeOrdered(destinationClass, rowMapper -> OrderedMerge.bySortKey(resultSets, rowMapper, sortKeyColumn, logger));
+    }
+
+    private <T> Stream<T> mergeOrdered(Class<T> destinationClass, Function<RowMapper<T>, OrderedMerge<T>> mergeFactory) {
+        final OrderedMerge<T> merge;
+
+        try {
+            merge = mergeFactory.apply(getRowMapper(destinationClass));
+        } catch (NoSuchMethodException ex) {
+            throw new MappingFailedException("Something has gone wrong while mapping!", ex);
+        }
+
+        return StreamSupport.stream(merge, false).onClose(merge::close);
+    }
+
+    /**
+     * Builds the mapping plans of the destination classes, so that the first {@link #map(ResultSet, Class)} of these classes does not have to resolve them
+     *
+     * @param destinationClasses the classes that will be mapped to
+     */
+    public void warmUp(final Class<?>... destinationClasses) {
+        for (Class<?> destinationClass : destinationClasses) {
+            warmUp(destinationClass);
+        }
+    }
+
+    /**
+     * Builds the mapping plans of the destination classes in parallel on the executor
+     *
+     * @param executor           the executor to build the plans on
+     * @param destinationClasses the classes that will be mapped to
+     * @return a future that completes when all plans have been built
+     */
+    public CompletableFuture<Void> warmUp(final Executor executor, final Class<?>... destinationClasses) {
+        return CompletableFuture.allOf(Arrays.stream(destinationClasses)
+                .map(destinationClass -> CompletableFuture.runAsync(() -> warmUp(destinationClass), executor))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void warmUp(Class<?> destinationClass) {
+        try {
+            getRowMapper(destinationClass);
+        } catch (NoSuchMethodException ex) {
+            throw new MappingFailedException(String.format("The mapping plan of %s could not be built!", destinationClass), ex);
+        }
+    }
+
+    /**
+     * Creates a binder that binds objects of the source class to the parameters of a {@link java.sql.PreparedStatement}, using the same field to column mapping as when the class is mapped.
+     *
+     * @param sourceClass the class of the objects to bind
+     * @param columnNames the columns in the order of the parameters, or none to bind all mapped columns in the order the fields are declared
+     * @param <T>         the class of the objects to bind
+     * @return the statement binder
+     */
+    public <T> StatementBinder<T> createStatementBinder(final Class<T> sourceClass, final String... columnNames) {
+        final MappingPlan<T> mappingPlan;
+
+        try {
+            mappingPlan = getMappingPlan(sourceClass);
+        } catch (NoSuchMethodException ex) {
+            throw new MappingFailedException(String.format("The mapping plan of %s could not be built!", sourceClass), ex);
+        }
+
+        final Map<String, FieldMapping> fieldMappingsByColumn = new HashMap<>();
+        final Map<Field, FieldMapping> fieldMappingsByField = new HashMap<>();
+        for (FieldMapping fieldMapping : mappingPlan.getFieldMappings()) {
+            fieldMappingsByColumn.put(fieldMapping.getColumnName(), fieldMapping);
+            fieldMappingsByField.put(fieldMapping.getField(), fieldMapping);
+        }
+
+        final List<FieldMapping> parameters = new ArrayList<>();
+
+        if (columnNames.length == 0) {
+            for (Field field : classCache.getFields(new ArrayList<>(), sourceClass)) {
+                if (fieldMappingsByField.containsKey(field)) {
+                    parameters.add(fieldMappingsByField.get(field));
+                }
+            }
+        } else {
+            for (String columnName : columnNames) {
+                final FieldMapping fieldMapping = fieldMappingsByColumn.get(columnName);
+
+                if (fieldMapping == null) {
+                    throw new IllegalArgumentException(String.format("No field of %s is mapped to column '%s'.", sourceClass, columnName));
+                }
+
+                parameters.add(fieldMapping);
+            }
+        }
+
+        return new StatementBinder<>(sourceClass, parameters, attributeConverterRegistry, type -> enumLookups.computeIfAbsent(type, EnumLookup::new));
+    }
+
+    /**
+     * Creates a snapshot of the mapping plans that have been built so far. It can be written to a file and loaded by a later start with {@link #loadPlanSnapshot(MappingPlanSnapshot)}.
+     *
+     * @return the snapshot
+     */
+    public MappingPlanSnapshot createPlanSnapshot() {
+        final Map<String, List<MappingPlanSnapshot.FieldEntry>> classes = new LinkedHashMap<>();
+
+        for (MappingPlan<?> mappingPlan : mappingPlans.values()) {
+            final List<MappingPlanSnapshot.FieldEntry> fieldEntries = new ArrayList<>();
+
+            for (FieldMapping fieldMapping : mappingPlan.getFieldMappings()) {
+                final Field field = fieldMapping.getField();
+                fieldEntries.add(new MappingPlanSnapshot.FieldEntry(field.getDeclaringClass().getName(), field.getName(),
+                        field.getType().getName(), fieldMapping.getColumnName(), describeBinding(field)));
+            }
+
+            classes.put(mappingPlan.getDestinationClass().getName(), fieldEntries);
+        }
+
+        return new MappingPlanSnapshot(fieldNamingStrategy.getClass().getName(), classes);
+    }
+
+    /**
+     * Loads the mapping plans of a snapshot. Every plan is validated against its class: the fields, their types, their column names and their bindings must still be the same.
+     * Plans that are no longer valid, or classes that can not be found, are skipped and will be built on their first use.
+     * A snapshot created with another field naming strategy is not loaded at all.
+     *
+     * @param snapshot the snapshot to load
+     * @return the amount of plans that have been loaded
+     */
+    public int loadPlanSnapshot(final MappingPlanSnapshot snapshot) {
+        if (!fieldNamingStrategy.getClass().getName().equals(snapshot.getFieldNamingStrategy())) {
+            logger.warn("The plan snapshot has been created with the {} field naming strategy and will not be loaded.", snapshot.getFieldNamingStrategy());
+            return 0;
+        }
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader() != null ? Thread.currentThread().getContextClassLoader() : ResultSetMapper.class.getClassLoader();
+        int loaded = 0;
+
+        for (Map.Entry<String, List<MappingPlanSnapshot.FieldEntry>> entry : snapshot.getClasses().entrySet()) {
+            try {
+                final Class<?> destinationClass = Class.forName(entry.getKey(), false, classLoader);
+                final MappingPlan<?> mappingPlan = restoreMappingPlan(destinationClass, entry.getValue());
+
+                if (mappingPlan == null) {
+                    logger.debug("The snapshot of the mapping plan of {} is outdated, it will be built on first use.", destinationClass);
+                } else {
+                    mappingPlans.put(destinationClass, mappingPlan);
+                    loaded++;
+                }
+            } catch (ClassNotFoundException | NoSuchMethodException ex) {
+                logger.debug("The snapshot of the mapping plan of {} can not be loaded.", entry.getKey(), ex);
+            }
+        }
+
+        logger.debug("Loaded {} of {} mapping plans from the snapshot.", loaded, snapshot.getClasses().size());
+        return loaded;
+    }
+
+    /**
+     * Marks the mapper as shared by the {@link ResultSetMapperFactory}, after which its converters, entity cache, listeners and row tracing can not be changed anymore.
+     */
+    void share() {
+        this.shared = true;
+    }
+
+    private void requireNotShared() {
+        if (shared) {
+            throw new UnsupportedOperationException("This ResultSetMapper is shared by the ResultSetMapperFactory and can not be changed. " +
+                    "Request a mapper with the converters from the factory or construct a ResultSetMapper instead.");
+        }
+    }
+
+    /**
+     * Registers an attribute converter. The plans are rebuilt, so register the converters before mapping.
+     *
+     * @param attributeConverter the converter to register
+     * @throws UnsupportedOperationException when the mapper is shared by the {@link ResultSetMapperFactory}
+     */
+    public void registerAttributeConverter(AttributeConverter<?, ?> attributeConverter) {
+        requireNotShared();
+        attributeConverterRegistry.register(attributeConverter);
+        mappingPlans.clear();
+        projectionPlans.clear();
+        polymorphicPlans.clear();
+        tuplePlans.clear();
+        exportPlans.clear();
+    }
+
+    /**
+     * Maps the ResultSet to the desired class
+     *
+     * @param resultSet        the ResultSet returned by JDBC API
+     * @param destinationClass the class to map to
+     * @param <T>              the desired class
+     * @return list of the mapped objects
+     */
+    public <T> List<T> map(final ResultSet resultSet, final Class<T> destinationClass) {
+        return map(resultSet, destinationClass, MappingOptions.defaults());
+    }
+
+    /**
+     * Maps the rows of the ResultSet that are selected by the options to the desired class. Rows that are not selected are never instantiated.
+     *
+     * @param resultSet        the ResultSet returned by JDBC API
+     * @param destinationClass the class to map to
+     * @param mappingOptions   selects the rows to be mapped and bounds the mapping
+     * @param <T>              the desired class
+     * @return list of the mapped objects, a {@link MappedList} when the options allow partial results
+     * @throws nl.jiankai.mapper.exceptions.MappingTimeoutException when the mapping has been stopped and the options do not allow partial results
+     */
+    public <T> List<T> map(final ResultSet resultSet, final Class<T> destinationClass, final MappingOptions mappingOptions) {
+        return mapResultSet(resultSet, destinationClass, isPlanCached(destinationClass), () -> getRowMapper(destinationClass), mappingOptions);
+    }
+
+    /**
+     * Maps every row of the ResultSet to a tuple of the provided classes, each mapped with the field naming strategy of the mapper
+     *
+     * @param resultSet the ResultSet returned by JDBC API
+     * @param types     the classes of the entities in a row
+     * @return list of the mapped tuples
+     */
+    public List<Tuple> mapTuple(final ResultSet resultSet, final Class<?>... types) {
+        return mapTuple(resultSet, Arrays.stream(types).map(TupleElement::of).toArray(TupleElement[]::new));
+    }
+
+    /**
+     * Maps every row of the ResultSet to a tuple of several entities, each with its own field naming strategy and column prefix.
+     * The plan of the tuple is built once and reads every column of a row only once, no column may therefore be mapped by more than one element.
+     *
+     * @param resultSet the ResultSet returned by JDBC API
+     * @param elements  the entities in a row
+     * @return list of the mapped tuples
+     */
+    public List<Tuple> mapTuple(final ResultSet resultSet, final TupleElement<?>... elements) {
+        final List<TupleElement<?>> key = List.of(elements);
+        return mapResultSet(resultSet, Tuple.class, tuplePlans.containsKey(key), () -> getTuplePlan(key), MappingOptions.defaults());
+    }
+
+    /**
+     * Maps every row of the ResultSet to two entities and combines them with the provided function
+     *
+     * @param resultSet the ResultSet returned by JDBC API
+     * @param first     the first entity in a row
+     * @param second    the second entity in a row
+     * @param combiner  combines the entities of a row
+     * @param <A>       the class of the first entity
+     * @param <B>       the class of the second entity
+     * @param <R>       the class of the combined result
+     * @return list of the combined results
+     */
+    public <A, B, R> List<R> mapTuple(final ResultSet resultSet, final TupleElement<A> first, final TupleElement<B> second, final BiFunction<? super A, ? super B, ? extends R> combiner) {
+        final List<TupleElement<?>> key = List.of(first, second);
+
+        return mapResultSet(resultSet, Tuple.class, tuplePlans.containsKey(key), () -> combining(getTuplePlan(key), first, second, combiner), MappingOptions.defaults());
+    }
+
+    /**
+     * Creates the mapper that maps the two entities of a row with the tuple plan and combines them
+     */
+    private static <A, B, R> RowMapper<R> combining(TuplePlan tuplePlan, TupleElement<A> first, TupleElement<B> second, BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return new RowMapper<R>() {
+            @Override
+            public R mapRow(ResultSet resultSet, FieldFailures fieldFailures) throws ReflectiveOperationException {
+                final Object[] entities = tuplePlan.mapEntities(resultSet, fieldFailures);
+                return combiner.apply(first.getType().cast(entities[0]), second.getType().cast(entities[1]));
+            }
+
+            @Override
+            public FieldFailures createFieldFailures() {
+                return tuplePlan.createFieldFailures();
+            }
+
+            @Override
+            public int getColumnCount() {
+                return tuplePlan.getColumnCount();
+            }
+
+            @Override
+            public String describeRow(R row) {
+                return String.valueOf(row);
+            }
+
+            @Override
+            public RowMapper<R> resolveColumns(ColumnResolver columnResolver) throws SQLException {
+                final TuplePlan resolvedPlan = tuplePlan.resolveColumns(columnResolver);
+                return resolvedPlan == tuplePlan ? this : combining(resolvedPlan, first, second, combiner);
+            }
+        };
+    }
+
+    /**
+     * Maps every row of the ResultSet to a {@link Row}, a map of the column labels to their values, for queries that have no class to map to.
+     * The columns are taken from the {@link java.sql.ResultSetMetaData} once and shared by all rows, a row only holds an array of its values.
+     * The values are not converted. Columns can also be looked up by a name the field naming strategy of the mapper transforms into their label.
+     *
+     * @param resultSet the ResultSet returned by JDBC API
+     * @return list of the mapped rows
+     */
+    public List<Row> mapToRows(final ResultSet resultSet) {
+        return mapResultSet(resultSet, Row.class, false, () -> RowSchema.of(resultSet.getMetaData(), fieldNamingStrategy), MappingOptions.defaults());
+    }
+
+    /**
+     * Exports the mapped columns of the class from every remaining row of the ResultSet, without instantiating the class. The columns are resolved and
+     * their values are retrieved and converted to the field types by the same binders {@link #map(ResultSet, Class)} uses, after which they are written
+     * straight to the writer. A null column is written as null, also for a field of a primitive type. A header with the column names is written first.
+     * The writer is flushed but not closed.
+     *
+     * @param resultSet   the ResultSet returned by JDBC API
+     * @param sourceClass the class whose mapped columns are exported
+     * @param writer      the writer to write the rows to, for instance a {@link nl.jiankai.mapper.export.CsvExportWriter}
+     * @return the amount of exported rows
+     */
+    public long export(final ResultSet resultSet, final Class<?> sourceClass, final ExportWriter writer) {
+        try {
+            final long start = System.nanoTime();
+            final ColumnResolver columnResolver = ColumnResolver.of(resultSet.getMetaData());
+            final ExportPlan exportPlan = columnResolver == null ? getExportPlan(sourceClass) : getExportPlan(sourceClass).resolveColumns(columnResolver);
+            final FieldFailures fieldFailures = exportPlan.createFieldFailures();
+            final long rowCount = exportPlan.export(resultSet, writer, fieldFailures);
+            fieldFailures.log(logger, rowCount);
+            logger.debug("Exported {} rows of {} in {} ms.", rowCount, sourceClass.getSimpleName(), (System.nanoTime() - start) / 1_000_000);
+            return rowCount;
+        } catch (SQLException | IOException ex) {
+            logger.error("Something has gone wrong while exporting {}!", sourceClass, ex);
+            throw new MappingFailedException("Something has gone wrong while exporting!", ex);
+        }
+    }
+
+    /**
+     * Applies the rows of the ResultSet to a map of previously mapped objects. The objects are identified by their field annotated with {@link Id}.
+     * For every row a hash of its column values is compared with the hash of the row the current object was mapped from, only new and changed rows are mapped.
+     * Objects whose row is not in the ResultSet anymore are removed. A change that results in the same hash goes unnoticed, which is very unlikely but not impossible.
+     * <p>
+     * A row whose identifier column is null can not be identified and fails the refresh. When a refresh fails part-way, the rows read before the failure
+     * have been applied but no object has been removed yet. The map stays usable and the next successful refresh brings it fully in line with its ResultSet.
+     *
+     * @param current          the map to refresh, it is empty before the first refresh
+     * @param resultSet        the ResultSet returned by JDBC API, containing all rows of the map
+     * @param destinationClass the class to map to
+     * @param <K>              the class of the identifier
+     * @param <T>              the desired class
+     * @return the changes that have been applied
+     * @throws MappingFailedException when the ResultSet could not be read or a row has no identifier
+     */
+    public <K, T> RefreshSummary<K> refresh(final RefreshableMap<K, T> current, final ResultSet resultSet, final Class<T> destinationClass) {
+        final Set<K> addedKeys = new HashSet<>();
+        final Set<K> changedKeys = new HashSet<>();
+        final Set<K> removedKeys = new HashSet<>();
+        long unchangedCount = 0;
+
+        synchronized (current) {
+            try {
+                final ColumnResolver columnResolver = ColumnResolver.of(resultSet.getMetaData());
+                final MappingPlan<T> mappingPlan = columnResolver == null ? getMappingPlan(destinationClass) : getMappingPlan(destinationClass).resolveColumns(columnResolver);
+                final FieldMapping[] fieldMappings = mappingPlan.getFieldMappings();
+                final int idIndex = findIdFieldMapping(destinationClass, fieldMappings);
+                final Field idField = fieldMappings[idIndex].getField();
+                final FieldFailures fieldFailures = mappingPlan.createFieldFailures();
+                final long generation = current.startRefresh();
+
+                while (resultSet.next()) {
+                    final Object rowId = fieldMappings[idIndex].getColumn().getObject(resultSet);
+
+                    if (rowId == null) {
+                        throw new MappingFailedException(String.format("A row of %s has no value in its @Id column '%s'!", destinationClass.getName(), fieldMappings[idIndex].getColumnName()));
+                    }
+
+                    final long rowHash = hashRow(resultSet, fieldMappings);
+                    final RefreshableMap.RowState<K> rowState = current.getRowState(rowId);
+
+                    if (rowState != null && rowState.markUnchanged(rowHash, generation)) {
+                        unchangedCount++;
+                        continue;
+                    }
+
+                    final T object = mappingPlan.mapChangedRow(resultSet, fieldFailures, rowId);
+                    final K key = cast(idField.get(object));
+
+                    if (key == null) {
+                        throw new MappingFailedException(String.format("The @Id field of %s has been mapped to null from the value %s!", destinationClass.getName(), rowId));
+                    }
+
+                    current.put(rowId, rowHash, key, object, generation);
+                    (rowState == null ? addedKeys : changedKeys).add(key);
+                }
+
+                current.completeRefresh(generation, removedKeys);
+                fieldFailures.log(logger, addedKeys.size() + changedKeys.size());
+            } catch (SQLException | ReflectiveOperationException ex) {
+                logger.error("Something has gone wrong while refreshing {}!", destinationClass, ex);
+                throw new MappingFailedException("Something has gone wrong while refreshing!", ex);
+            }
+        }
+
+        final RefreshSummary<K> refreshSummary = new RefreshSummary<>(addedKeys, changedKeys, removedKeys, unchangedCount);
+        logger.debug("Refreshed the {} objects: {}.", destinationClass.getSimpleName(), refreshSummary);
+        return refreshSummary;
+    }
+
+    private int findIdFieldMapping(Class<?> destinationClass, FieldMapping[] fieldMappings) {
+        final int idIndex = indexOfId(Arrays.asList(fieldMappings));
+
+        if (idIndex < 0) {
+            throw new IllegalArgumentException(String.format("%s has no mapped field annotated with @Id.", destinationClass.getName()));
+        }
+
+        return idIndex;
+    }
+
+    private int indexOfId(List<FieldMapping> fieldMappings) {
+        for (int i = 0; i < fieldMappings.size(); i++) {
+            if (classCache.isFieldAnnotationPresent(fieldMappings.get(i).getField(), Id.class)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Hashes the raw values of the mapped columns of the current row, without converting them.
+     */
+    private static long hashRow(ResultSet resultSet, FieldMapping[] fieldMappings) throws SQLException {
+        long hash = 1;
+
+        for (FieldMapping fieldMapping : fieldMappings) {
+            final Object value = fieldMapping.getColumn().getObject(resultSet);
+            final int valueHash = value instanceof byte[] ? Arrays.hashCode((byte[]) value) : Objects.hashCode(value);
+            hash = hash * 0x9E3779B97F4A7C15L + valueHash;
+        }
+
+        return hash;
+    }
+
+    @java.lang.SuppressWarnings("unchecked")
+    private static <K> K cast(Object key) {
+        return (K) key;
+    }
+
+    /**
+     * Maps the selected rows of the ResultSet with the plan of the supplier, notifying the listeners and emitting the {@link MappingCompletedEvent}.
+     *
+     * @param resultSet        the ResultSet returned by JDBC API
+     * @param destinationClass the class that is reported as mapped to
+     * @param planCacheHit     whether the plan was already cached before this mapping
+     * @param planSupplier     supplies the plan to map the rows with
+     * @param mappingOptions   selects the rows to be mapped
+     * @param <T>              the desired class
+     * @return list of the mapped objects
+     */
+    private <T> List<T> mapResultSet(ResultSet resultSet, Class<?> destinationClass, boolean planCacheHit, PlanSupplier<T> planSupplier, MappingOptions mappingOptions) {
+        final List<T> list = mappingOptions.isPartialResultAllowed() ? new MappedList<>() : new ArrayList<>();
+        final MappingCompletedEvent mappingCompletedEvent = new MappingCompletedEvent();
+        mappingCompletedEvent.begin();
+        final boolean listening = !mappingListeners.isEmpty();
+        final long start = listening ? System.nanoTime() : 0;
+
+        if (listening) {
+            for (MappingListener mappingListener : mappingListeners) {
+                mappingListener.onMappingStarted(destinationClass);
+            }
+        }
+
+        try {
+            int columnCount = 0;
+
+            if (resultSet == null || !resultSet.isBeforeFirst()) {
+                // an empty mapping still completes, so that the listeners and the event see every mapping that has been started
+                logger.debug("An empty ResultSet has been passed in! Empty list will be returned.");
+            } else {
+                final RowMapper<T> rowMapper = resolveColumns(planSupplier.get(), resultSet);
+                final RowSelection rowSelection = new RowSelection(mappingOptions);
+                mapRows(resultSet, rowMapper, rowSelection, list);
+                columnCount = rowMapper.getColumnCount();
+
+                if (list instanceof MappedList) {
+                    ((MappedList<T>) list).setStopReason(rowSelection.getStopReason());
+                }
+            }
+
+            if (mappingCompletedEvent.shouldCommit()) {
+                mappingCompletedEvent.destinationClass = destinationClass;
+                mappingCompletedEvent.rowCount = list.size();
+                mappingCompletedEvent.columnCount = columnCount;
+                mappingCompletedEvent.planCacheHit = planCacheHit;
+                mappingCompletedEvent.commit();
+            }
+        } catch (SQLException | ReflectiveOperationException ex) {
+            logger.error("Something has gone wrong while mapping! Exception: " + ex.getMessage());
+            notifyMappingFailed(destinationClass, ex);
+            throw new MappingFailedException("Something has gone wrong while mapping!", ex);
+        } catch (RuntimeException ex) {
+            notifyMappingFailed(destinationClass, ex);
+            throw ex;
+        }
+
+        if (listening) {
+            final long duration = System.nanoTime() - start;
+
+            for (MappingListener mappingListener : mappingListeners) {
+                mappingListener.onMappingCompleted(destinationClass, list.size(), duration);
+            }
+        }
+
+        return list;
+    }
+
+    private void notifyMappingFailed(Class<?> destinationClass, Throwable cause) {
+        for (MappingListener mappingListener : mappingListeners) {
+            mappingListener.onMappingFailed(destinationClass, cause);
+        }
+    }
+
+    /**
+     * Maps the selected rows of the ResultSet
+     *
+     * @param resultSet    the ResultSet returned by JDBC API
+     * @param rowMapper    the plan of the type to map to
+     * @param rowSelection selects the rows to be mapped
+     * @param list         the list to add the mapped objects to
+     * @param <T>          the desired class
+     */
+    private <T> void mapRows(ResultSet resultSet, RowMapper<T> rowMapper, RowSelection rowSelection, List<T> list) throws SQLException, ReflectiveOperationException {
+        final FieldFailures fieldFailures = rowMapper.createFieldFailures();
+        final int sampleRate = rowTraceSampleRate;
+
+        while (rowSelection.next(resultSet)) {
+            final T dto = rowMapper.mapRow(resultSet, fieldFailures);
+
+            if (sampleRate > 0 && list.size() % sampleRate == 0 && logger.isTraceEnabled()) {
+                logger.trace("Row {} mapped to {}", list.size(), rowMapper.describeRow(dto));
+            }
+
+            list.add(dto);
+        }
+
+        fieldFailures.log(logger, list.size());
+    }
+
+    /**
+     * Resolves the columns of the plan against the labels of the ResultSet, see {@link ColumnResolver}. Without metadata the plan is used as is.
+     *
+     * @param rowMapper the plan
+     * @param resultSet the ResultSet to be mapped
+     * @param <T>       the desired class
+     * @return the plan to map the ResultSet with
+     */
+    private <T> RowMapper<T> resolveColumns(RowMapper<T> rowMapper, ResultSet resultSet) {
+        try {
+            final ColumnResolver columnResolver = ColumnResolver.of(resultSet.getMetaData());
+            return columnResolver == null ? rowMapper : rowMapper.resolveColumns(columnResolver);
+        } catch (SQLException ex) {
+            logger.debug("The columns could not be resolved against the metadata of the ResultSet, they are read by their name.", ex);
+            return rowMapper;
+        }
+    }
+
+    /**
+     * Get the plan of the destination type, a projection plan for interfaces and a mapping plan for classes.
+     *
+     * @param destinationClass the class or interface to map to
+     * @param <T>              the desired class
+     * @return the plan
+     */
+    private <T> RowMapper<T> getRowMapper(Class<T> destinationClass) throws NoSuchMethodException {
+        if (destinationClass.isInterface()) {
+            return getProjectionPlan(destinationClass);
+        } else if (classCache.isAnnotationPresent(destinationClass, Discriminator.class)) {
+            return getPolymorphicPlan(destinationClass);
+        }
+
+        return getMappingPlan(destinationClass);
+    }
+
+    /**
+     * Get the plan of the tuple from the cache. If it's not present in the cache it will be built.
+     *
+     * @param elements the entities in a row
+     * @return the tuple plan
+     */
+    private TuplePlan getTuplePlan(List<TupleElement<?>> elements) throws NoSuchMethodException {
+        TuplePlan tuplePlan = tuplePlans.get(elements);
+
+        if (tuplePlan == null) {
+            final List<MappingPlan<?>> plans = new ArrayList<>();
+
+            for (TupleElement<?> element : elements) {
+                final PlanBuild planBuild = new PlanBuild();
+                final FieldNamingStrategy strategy = element.getFieldNamingStrategy() == null ? fieldNamingStrategy : element.getFieldNamingStrategy();
+                plans.add(buildMappingPlan(element.getType(), getFields(element.getType(), strategy, element.getColumnPrefix()), planBuild));
+            }
+
+            tuplePlan = new TuplePlan(plans);
+            tuplePlans.put(elements, tuplePlan);
+        }
+
+        return tuplePlan;
+    }
+
+    /**
+     * Maps the fields of the class to their column names with the provided field naming strategy and column prefix.
+     *
+     * @param type                the class to get the fields of
+     * @param fieldNamingStrategy the strategy for fields without {@link Column} annotation
+     * @param columnPrefix        the prefix of every column name
+     * @return the fields by their column name
+     */
+    private Map<String, Field> getFields(Class<?> type, FieldNamingStrategy fieldNamingStrategy, String columnPrefix) {
+        final Map<String, Field> fields = new HashMap<>();
+
+        for (Field field : classCache.getFields(new ArrayList<>(), type)) {
+            if (!field.isAnnotationPresent(Ignore.class)) {
+                final Column columnAnnotation = field.getAnnotation(Column.class);
+                field.setAccessible(true);
+                fields.put(columnPrefix + (columnAnnotation != null ? columnAnnotation.name() : fieldNamingStrategy.transform(field.getName())), field);
+            }
+        }
+
+        return fields;
+    }
+
+    private boolean isPlanCached(Class<?> destinationClass) {
+        if (destinationClass.isInterface()) {
+            return projectionPlans.containsKey(destinationClass);
+        } else if (classCache.isAnnotationPresent(destinationClass, Discriminator.class)) {
+            return polymorphicPlans.containsKey(destinationClass);
+        }
+
+        return mappingPlans.containsKey(destinationClass);
+    }
+
+    /**
+     * Get the polymorphic plan of the base class from the cache. If it's not present in the cache it will be built.
+     *
+     * @param baseClass the class annotated with {@link Discriminator}
+     * @param <T>       the base class
+     * @return the polymorphic plan
+     */
+    private <T> PolymorphicPlan<T> getPolymorphicPlan(Class<T> baseClass) throws NoSuchMethodException {
+        @java.lang.SuppressWarnings("unchecked") PolymorphicPlan<T> polymorphicPlan = (PolymorphicPlan<T>) polymorphicPlans.get(baseClass);
+
+        if (polymorphicPlan == null) {
+            polymorphicPlan = buildPolymorphicPlan(baseClass);
+            polymorphicPlans.put(baseClass, polymorphicPlan);
+        }
+
+        return polymorphicPlan;
+    }
+
+    /**
+     * Builds the polymorphic plan of the base class from the mapping plans of its subclasses, so every subclass is resolved once like any other class.
+     *
+     * @param baseClass the class annotated with {@link Discriminator}
+     * @param <T>       the base class
+     * @return the polymorphic plan
+     */
+    private <T> PolymorphicPlan<T> buildPolymorphicPlan(Class<T> baseClass) throws NoSuchMethodException {
+        final Discriminator discriminator = classCache.getAnnotation(baseClass, Discriminator.class);
+        final Map<String, MappingPlan<? extends T>> plansByDiscriminator = new HashMap<>();
+
+        for (Class<?> subType : discriminator.subTypes()) {
+            final SubType subTypeAnnotation = classCache.getAnnotation(subType, SubType.class);
+
+            if (!baseClass.isAssignableFrom(subType) || subTypeAnnotation == null) {
+                throw new IllegalArgumentException(String.format("%s has to be a subclass of %s annotated with @SubType.", subType.getName(), baseClass.getName()));
+            } else if (plansByDiscriminator.put(subTypeAnnotation.value(), getMappingPlan(subType.asSubclass(baseClass))) != null) {
+                throw new IllegalArgumentException(String.format("The discriminator value '%s' of %s is used more than once.", subTypeAnnotation.value(), baseClass.getName()));
+            }
+        }
+
+        final MappingPlan<T> basePlan = Modifier.isAbstract(baseClass.getModifiers()) ? null : getMappingPlan(baseClass);
+        final SubType baseSubType = classCache.getAnnotation(baseClass, SubType.class);
+
+        if (basePlan != null && baseSubType != null) {
+            plansByDiscriminator.putIfAbsent(baseSubType.value(), basePlan);
+        }
+
+        logger.debug("Built the polymorphic plan of {} for the discriminator values {}", baseClass, plansByDiscriminator.keySet());
+        return new PolymorphicPlan<>(baseClass, plansByDiscriminator, basePlan);
+    }
+
+    /**
+     * Get the mapping plan of the destination class from the cache. If it's not present in the cache it will be built.
+     *
+     * @param destinationClass the class to map to
+     * @param <T>              the desired class
+     * @return the mapping plan
+     */
+    private <T> MappingPlan<T> getMappingPlan(Class<T> destinationClass) throws NoSuchMethodException {
+        @java.lang.SuppressWarnings("unchecked") MappingPlan<T> mappingPlan = (MappingPlan<T>) mappingPlans.get(destinationClass);
+
+        if (mappingPlan == null) {
+            logger.trace("No mapping plan available for {}, building one.", destinationClass);
+            // started before the fields are looked up, so that the reflection and annotation scanning are part of the measured time
+            final PlanBuild planBuild = new PlanBuild();
+            mappingPlan = buildMappingPlan(destinationClass, classCache.getFields(destinationClass), planBuild);
+            mappingPlans.put(destinationClass, mappingPlan);
+        }
+
+        return mappingPlan;
+    }
+
+    /**
+     * Get the projection plan of the interface from the cache. If it's not present in the cache it will be built.
+     *
+     * @param projectionInterface the interface to map to
+     * @param <T>                 the projection interface
+     * @return the projection plan
+     */
+    private <T> ProjectionPlan<T> getProjectionPlan(Class<T> projectionInterface) {
+        @java.lang.SuppressWarnings("unchecked") ProjectionPlan<T> projectionPlan = (ProjectionPlan<T>) projectionPlans.get(projectionInterface);
+
+        if (projectionPlan == null) {
+            projectionPlan = buildProjectionPlan(projectionInterface);
+            projectionPlans.put(projectionInterface, projectionPlan);
+        }
+
+        return projectionPlan;
+    }
+
+    /**
+     * Builds the projection plan of the interface. Every abstract method without parameters is a getter of the column named after its property,
+     * {@code getFirstName()}, {@code isActive()} and {@code firstName()} are the getters of {@code firstName} and {@code active}.
+     * The column name can be overridden with {@link Column} and the conversion with {@link Convert} on the getter.
+     *
+     * @param projectionInterface the interface to map to
+     * @param <T>                 the projection interface
+     * @return the projection plan
+     */
+    private <T> ProjectionPlan<T> buildProjectionPlan(Class<T> projectionInterface) {
+        final PlanBuild planBuild = new PlanBuild();
+        final List<String> columnNames = new ArrayList<>();
+        final List<String> propertyNames = new ArrayList<>();
+        final List<Conversion> conversions = new ArrayList<>();
+        final List<Object> nullValues = new ArrayList<>();
+        final Map<Method, Integer> getterIndexes = new HashMap<>();
+        final Map<Method, MethodHandle> defaultMethods = new HashMap<>();
+
+        for (Method method : projectionInterface.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            } else if (method.isDefault()) {
+                defaultMethods.put(method, findDefaultMethod(projectionInterface, method));
+                continue;
+            } else if (method.getParameterCount() > 0 || method.getReturnType() == Void.TYPE) {
+                throw new IllegalArgumentException(String.format("%s of %s is not a getter.", method.getName(), projectionInterface.getName()));
+            }
+
+            final String propertyName = getPropertyName(method);
+            final Column columnAnnotation = method.getAnnotation(Column.class);
+            final Class<?> type = method.getReturnType();
+
+            getterIndexes.put(method, columnNames.size());
+            columnNames.add(columnAnnotation != null ? columnAnnotation.name() : fieldNamingStrategy.transform(propertyName));
+            propertyNames.add(propertyName);
+            nullValues.add(type.isPrimitive() ? ClassTypeUtil.getDefaultValueForPrimitiveType(type) : null);
+            conversions.add(createProjectionConversion(method));
+        }
+
+        final ProjectionPlan<T> projectionPlan = new ProjectionPlan<>(projectionInterface, columnNames.toArray(new String[0]), propertyNames.toArray(new String[0]),
+                conversions.toArray(new Conversion[0]), nullValues.toArray(), getterIndexes, defaultMethods);
+        final long duration = planBuild.complete(projectionInterface, columnNames.size());
+        logger.debug("Built the projection plan of {} in {} microseconds: {}", projectionInterface, duration / 1000, columnNames);
+        return projectionPlan;
+    }
+
+    private ExportPlan getExportPlan(Class<?> sourceClass) {
+        ExportPlan exportPlan = exportPlans.get(sourceClass);
+
+        if (exportPlan == null) {
+            exportPlan = buildExportPlan(sourceClass);
+            exportPlans.put(sourceClass, exportPlan);
+        }
+
+        return exportPlan;
     }
 
     /**
-     * Maps the ResultSet to the desired class
+     * Builds the export plan from the same field mappings as the mapping plan of the class, in the order their fields are declared.
+     * The constructor of the class is not looked up, as the class is never instantiated.
+     */
+    private ExportPlan buildExportPlan(Class<?> sourceClass) {
+        final FieldMapping[] fieldMappings = createFieldMappings(sourceClass, classCache.getFields(sourceClass)).toArray(new FieldMapping[0]);
+        final List<Field> declaredFields = classCache.getFields(new ArrayList<>(), sourceClass);
+        Arrays.sort(fieldMappings, Comparator.comparingInt(fieldMapping -> declaredFields.indexOf(fieldMapping.getField())));
+        final ExportPlan exportPlan = new ExportPlan(fieldMappings);
+        logger.debug("Built the export plan of {}: {}", sourceClass, exportPlan);
+        return exportPlan;
+    }
+
+    private Conversion createProjectionConversion(Method getter) {
+        final Convert convertAnnotation = getter.getAnnotation(Convert.class);
+
+        if (convertAnnotation != null) {
+            final AttributeConverter<?, ?> attributeConverter = attributeConverterRegistry.getByClass(convertAnnotation.converter());
+            return attributeConverter == null ? Conversion.NONE : new ListenedConversion(Conversion.of(attributeConverter));
+        }
+
+        final Class<?> type = getter.getReturnType();
+        return new AutoConversion(type, type.isEnum() ? enumLookups.computeIfAbsent(type, EnumLookup::new) : null);
+    }
+
+    private static String getPropertyName(Method getter) {
+        final String name = getter.getName();
+
+        if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        } else if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2)) && getter.getReturnType() == Boolean.TYPE) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+
+        return name;
+    }
+
+    private static MethodHandle findDefaultMethod(Class<?> projectionInterface, Method method) {
+        try {
+            return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflectSpecial(method, method.getDeclaringClass());
+        } catch (IllegalAccessException ex) {
+            throw new MappingFailedException(String.format("The default method %s of %s can not be called!", method.getName(), projectionInterface.getName()), ex);
+        }
+    }
+
+    /**
+     * Restores the mapping plan of the destination class from the field entries of a snapshot. The fields, their types and bindings are validated
+     * against the class, and every column name against the {@link Column} annotation or the current field naming strategy. Comparing the class name
+     * of the strategy alone would accept a strategy of the same class that is configured differently.
      *
-     * @param resultSet        the ResultSet returned by JDBC API
      * @param destinationClass the class to map to
+     * @param fieldEntries     the field entries of the snapshot
      * @param <T>              the desired class
-     * @return list of the mapped objects
+     * @return the mapping plan or null when the snapshot does not match the class anymore
      */
-    public <T> List<T> map(final ResultSet resultSet, final Class<T> destinationClass) {
-        final List<T> list = new ArrayList<>();
-        this.hasClassLevelWarningSuppression = classCache.isAnnotationPresent(destinationClass, SuppressWarnings.class);
+    private <T> MappingPlan<T> restoreMappingPlan(Class<T> destinationClass, List<MappingPlanSnapshot.FieldEntry> fieldEntries) throws NoSuchMethodException {
+        final PlanBuild planBuild = new PlanBuild();
+        final Map<String, Field> declaredFields = new HashMap<>();
 
-        try {
-            if (resultSet == null || !resultSet.isBeforeFirst()) {
-                logger.warn("An empty ResultSet has been passed in! Empty list will be returned.");
-                return new ArrayList<>();
+        for (Field field : classCache.getFields(new ArrayList<>(), destinationClass)) {
+            if (!field.isAnnotationPresent(Ignore.class)) {
+                declaredFields.put(field.getDeclaringClass().getName() + '#' + field.getName(), field);
+            }
+        }
+
+        if (declaredFields.size() != fieldEntries.size()) {
+            return null;
+        }
+
+        final Map<String, Field> fields = new HashMap<>();
+
+        for (MappingPlanSnapshot.FieldEntry fieldEntry : fieldEntries) {
+            final Field field = declaredFields.get(fieldEntry.getDeclaringClass() + '#' + fieldEntry.getFieldName());
+
+            if (field == null || !field.getType().getName().equals(fieldEntry.getFieldType()) || !describeBinding(field).equals(fieldEntry.getBinding())) {
+                return null;
             }
 
-            logger.info("Commencing mapping ResultSet to {}", destinationClass);
-            final Map<String, Field> fields = classCache.getFields(destinationClass);
+            final Column columnAnnotation = field.getAnnotation(Column.class);
+            final String columnName = columnAnnotation != null ? columnAnnotation.name() : fieldNamingStrategy.transform(field.getName());
 
-            while (resultSet.next()) {
-                logger.trace("Adding new {} to the list", destinationClass);
-                list.add(createObject(resultSet, destinationClass, fields));
+            if (!columnName.equals(fieldEntry.getColumnName())) {
+                return null;
             }
-        } catch (SQLException | NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException ex) {
-            logger.error("Something has gone wrong while mapping! Exception: " + ex.getMessage());
-            throw new MappingFailedException("Something has gone wrong while mapping!", ex);
+
+            field.setAccessible(true);
+            fields.put(fieldEntry.getColumnName(), field);
         }
 
-        logger.info("ResultSet has been successfully mapped to {}", destinationClass);
-        return list;
+        return buildMappingPlan(destinationClass, fields, planBuild);
     }
 
     /**
-     * Create an instance of the destination class
+     * Describes how the value of a field is bound, so that a plan snapshot can detect that it has changed.
+     *
+     * @param field the field to describe the binding of
+     * @return the description of the binding
+     */
+    private String describeBinding(Field field) {
+        final Convert convertAnnotation = classCache.getFieldAnnotation(field, Convert.class);
+
+        if (convertAnnotation != null) {
+            final boolean registered = attributeConverterRegistry.getByClass(convertAnnotation.converter()) != null;
+            return (registered ? "convert " : "unregistered ") + convertAnnotation.converter().getName();
+        } else if (isRetrievedDirectly(field)) {
+            return "java.time";
+        }
+
+        return field.getType().isEnum() ? "enum" : "auto";
+    }
+
+    /**
+     * Tells whether the value of a field is retrieved directly from drivers that support it, see {@link JavaTimeBinder}.
+     * A custom converter to the type of the field takes precedence, so its values are always converted by the converter.
+     *
+     * @param field the field without {@link Convert} annotation
+     * @return whether the field is bound by a {@link JavaTimeBinder}
+     */
+    private boolean isRetrievedDirectly(Field field) {
+        return TypedRetrievalSupport.isJavaTimeType(field.getType()) && !attributeConverterRegistry.hasCustomConverterTo(field.getType());
+    }
+
+    /**
+     * Builds the mapping plan of the destination class. Everything that only depends on the class, like the annotations and converters, is resolved here once.
      *
-     * @param resultSet        the ResultSet returned by JDBC API
      * @param destinationClass the class to map to
-     * @param fields           the mapped fields
+     * @param fields           the fields of the class by the column they are mapped to
+     * @param planBuild        the build that was started before the fields were looked up
      * @param <T>              the desired class
-     * @return an instance of the destination class
+     * @return the mapping plan
+     */
+    private <T> MappingPlan<T> buildMappingPlan(Class<T> destinationClass, Map<String, Field> fields, PlanBuild planBuild) throws NoSuchMethodException {
+        final Constructor<T> constructor = destinationClass.getConstructor();
+        final List<FieldMapping> fieldMappings = createFieldMappings(destinationClass, fields);
+        final MappingPlan<T> mappingPlan = new MappingPlan<>(destinationClass, constructor, fieldMappings, entityCache, indexOfId(fieldMappings));
+        final long duration = planBuild.complete(destinationClass, fieldMappings.size());
+        logger.debug("Built the mapping plan of {} in {} microseconds: {}", destinationClass, duration / 1000, mappingPlan);
+        return mappingPlan;
+    }
+
+    /**
+     * Creates the field mappings of a class with their binders
+     *
+     * @param destinationClass the class the fields belong to
+     * @param fields           the fields of the class by the column they are mapped to
+     * @return the field mappings
      */
-    private <T> T createObject(ResultSet resultSet, Class<T> destinationClass, Map<String, Field> fields) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        logger.trace("Constructing new {} instance", destinationClass);
-        final T dto = destinationClass.getConstructor().newInstance();
+    private List<FieldMapping> createFieldMappings(Class<?> destinationClass, Map<String, Field> fields) {
+        final boolean hasClassLevelWarningSuppression = classCache.isAnnotationPresent(destinationClass, SuppressWarnings.class);
+        final List<FieldMapping> fieldMappings = new ArrayList<>();
 
         for (Map.Entry<String, Field> entry : fields.entrySet()) {
-            final String key = entry.getKey();
             final Field field = entry.getValue();
+            final boolean warningsSuppressed = hasClassLevelWarningSuppression || classCache.isFieldAnnotationPresent(field, SuppressWarnings.class);
 
-            try {
-                logger.trace("Fetching '{}' from the ResultSet", key);
-                final Object value = resultSet.getObject(key);
-                logger.debug("Retrieval of '{}' has resulted to: {}", key, value);
-
-                logger.trace("Setting the value '{}' to the field: {}", value, field.getName());
-                field.set(dto, tryConvertValue(field, value));
-                logger.trace("Value set successfully.");
-            } catch (SQLException ex) {
-                final boolean fieldWarningsNotSuppressed = !(hasClassLevelWarningSuppression || classCache.isFieldAnnotationPresent(field, SuppressWarnings.class));
-
-                if (fieldWarningsNotSuppressed) {
-                    logger.warn("Something went wrong while trying to construct the object.", ex);
-                }
-            }
+            fieldMappings.add(new FieldMapping(entry.getKey(), field, warningsSuppressed, createBinder(field)));
         }
 
-        return dto;
+        return fieldMappings;
     }
 
     /**
-     * Tries to convert a value of one type to another if the appropriate {@link AttributeConverter} for that exists.
+     * Creates the binder that retrieves the value of a field from the ResultSet. A field annotated with {@link Convert} gets its converter bound directly.
+     * Other fields look for an auto applicable conversion based on the class of the retrieved value. The resolved conversion is remembered by the binder,
+     * so it is only resolved again when a value of another class is retrieved. Fields of a {@code java.time} type are retrieved directly when the driver supports it.
+     * Array and list fields are filled from SQL ARRAY columns by the {@link SqlArrayBinder}, other values of those fields are converted like any other field.
+     * Enum fields fall back to the {@link EnumLookup} of the enum when no converter applies.
      *
-     * @param value the value to be converted
-     * @return a value that is either converter or not
+     * @param field the field to create the binder for
+     * @return the binder
      */
-    private Object tryConvertValue(Field field, Object value) {
-        if (value == null) {
-            if (classCache.isFieldOfPrimitiveType(field)) {
-                return ClassTypeUtil.getDefaultValueForPrimitiveType(field.getType());
-            } else {
-                return null;
+    private FieldMapping.Binder createBinder(Field field) {
+        final Object nullValue = classCache.isFieldOfPrimitiveType(field) ? ClassTypeUtil.getDefaultValueForPrimitiveType(field.getType()) : null;
+        logger.trace("Finding annotation {}", Convert.class);
+        final Convert convertAnnotation = classCache.getFieldAnnotation(field, Convert.class);
+
+        if (convertAnnotation == null) {
+            logger.trace("{} annotation not found", Convert.class);
+            final EnumLookup enumLookup = field.getType().isEnum() ? enumLookups.computeIfAbsent(field.getType(), EnumLookup::new) : null;
+            final AutoConvertingBinder autoConvertingBinder = new AutoConvertingBinder(field, nullValue, enumLookup);
+            final SqlArrayBinder sqlArrayBinder = SqlArrayBinder.of(field, autoConvertingBinder::convertValue);
+
+            if (sqlArrayBinder != null) {
+                return sqlArrayBinder;
+            }
+
+            if (isRetrievedDirectly(field)) {
+                return new JavaTimeBinder(field, autoConvertingBinder);
             }
+
+            return autoConvertingBinder;
         }
 
-        AttributeConverter attributeConverter;
-        logger.trace("Finding annotation {}", Convert.class);
-        Convert convertAnnotation = classCache.getFieldAnnotation(field, Convert.class);
+        logger.trace("{} annotation found! Fetching attribute converter {}", Convert.class, convertAnnotation.converter());
+        final AttributeConverter<?, ?> attributeConverter = attributeConverterRegistry.getByClass(convertAnnotation.converter());
 
-        if (convertAnnotation != null) {
-            logger.trace("{} annotation found!", Converter.class);
-            logger.trace("Fetching attribute converter {}", convertAnnotation.converter());
-            attributeConverter = attributeConvertersByClass.get(convertAnnotation.converter());
+        if (attributeConverter == null) {
+            logger.trace("Attribute converter {} has not been registered. Therefore converting will not be done.", convertAnnotation.converter());
+            return FieldMapping.Binder.of(field, nullValue, (resultSet, column) -> column.getObject(resultSet));
+        }
 
-            if (attributeConverter != null) {
-                logger.trace("Attribute converter {} found!", convertAnnotation.converter());
-                logger.trace("Converting value");
+        return createConvertingBinder(field, attributeConverter, nullValue);
+    }
 
-                return attributeConverter.convert(value);
-            }
-        } else {
-            logger.trace("{} annotation not found", Converter.class);
-            logger.trace("Fetching attribute converter for {} to {}", value.getClass(), field.getType());
-            attributeConverter = attributeConvertersBySourceAndTarget.get(new SourceAndTarget(value.getClass(), field.getType()));
-
-            if (attributeConverter != null) {
-                logger.trace("Attribute converter {} found!", attributeConverter.getClass());
-                logger.trace("Finding annotation {}", Converter.class);
-                Converter converterAnnotation = classCache.getAnnotation(attributeConverter.getClass(), Converter.class);
-                if (converterAnnotation == null) {
-                    logger.trace("An attribute converter has been found but no {} annotation was present. Therefore converting will not be done.", Converter.class);
-                } else if (converterAnnotation.autoApply()) {
-                    logger.trace("Annotation {} found and autoApply is on", converterAnnotation.getClass());
-                    logger.trace("Converting value");
-                    return attributeConverter.convert(value);
+    /**
+     * Creates a binder that always converts the retrieved value with the provided {@link AttributeConverter}.
+     * Primitive specialised converters are fed and applied without boxing the primitive value, the listeners are notified like for any other converter.
+     *
+     * @param field              the field to create the binder for
+     * @param attributeConverter the converter bound to the field
+     * @param nullValue          the value to set when the column is null
+     * @return the binder
+     */
+    private FieldMapping.Binder createConvertingBinder(Field field, AttributeConverter<?, ?> attributeConverter, Object nullValue) {
+        final Class<?> fieldType = field.getType();
+        final String converter = attributeConverter.getClass().getName();
+
+        if (attributeConverter instanceof IntAttributeConverter) {
+            final IntAttributeConverter<?> intAttributeConverter = (IntAttributeConverter<?>) attributeConverter;
+            return FieldMapping.Binder.of(field, nullValue, (resultSet, column) -> {
+                final int value = column.getInt(resultSet);
+
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+
+                final Object convertedValue;
+
+                try {
+                    convertedValue = intAttributeConverter.convertInt(value);
+                } catch (RuntimeException ex) {
+                    throw conversionFailed(converter, field, ex);
+                }
+
+                converted(converter, field);
+                return convertedValue;
+            });
+        } else if (attributeConverter instanceof LongAttributeConverter) {
+            final LongAttributeConverter<?> longAttributeConverter = (LongAttributeConverter<?>) attributeConverter;
+            return FieldMapping.Binder.of(field, nullValue, (resultSet, column) -> {
+                final long value = column.getLong(resultSet);
+
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+
+                final Object convertedValue;
+
+                try {
+                    convertedValue = longAttributeConverter.convertLong(value);
+                } catch (RuntimeException ex) {
+                    throw conversionFailed(converter, field, ex);
+                }
+
+                converted(converter, field);
+                return convertedValue;
+            });
+        } else if (attributeConverter instanceof DoubleAttributeConverter) {
+            final DoubleAttributeConverter<?> doubleAttributeConverter = (DoubleAttributeConverter<?>) attributeConverter;
+            return FieldMapping.Binder.of(field, nullValue, (resultSet, column) -> {
+                final double value = column.getDouble(resultSet);
+
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+
+                final Object convertedValue;
+
+                try {
+                    convertedValue = doubleAttributeConverter.convertDouble(value);
+                } catch (RuntimeException ex) {
+                    throw conversionFailed(converter, field, ex);
+                }
+
+                converted(converter, field);
+                return convertedValue;
+            });
+        } else if (fieldType == Integer.TYPE && attributeConverter instanceof ToIntAttributeConverter) {
+            @java.lang.SuppressWarnings("unchecked") final ToIntAttributeConverter<Object> toIntAttributeConverter = (ToIntAttributeConverter<Object>) attributeConverter;
+            return new FieldMapping.Binder() {
+                @Override
+                public void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException {
+                    final Object value = column.getObject(resultSet);
+                    field.setInt(object, value == null ? 0 : convertToInt(value));
+                }
+
+                @Override
+                public Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException {
+                    final Object value = column.getObject(resultSet);
+                    return value == null ? null : convertToInt(value);
+                }
+
+                private int convertToInt(Object value) {
+                    final int convertedValue;
+
+                    try {
+                        convertedValue = toIntAttributeConverter.convertToInt(value);
+                    } catch (RuntimeException ex) {
+                        throw conversionFailed(converter, field, ex);
+                    }
+
+                    converted(converter, field);
+                    return convertedValue;
+                }
+            };
+        } else if (fieldType == Long.TYPE && attributeConverter instanceof ToLongAttributeConverter) {
+            @java.lang.SuppressWarnings("unchecked") final ToLongAttributeConverter<Object> toLongAttributeConverter = (ToLongAttributeConverter<Object>) attributeConverter;
+            return new FieldMapping.Binder() {
+                @Override
+                public void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException {
+                    final Object value = column.getObject(resultSet);
+                    field.setLong(object, value == null ? 0L : convertToLong(value));
                 }
+
+                @Override
+                public Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException {
+                    final Object value = column.getObject(resultSet);
+                    return value == null ? null : convertToLong(value);
+                }
+
+                private long convertToLong(Object value) {
+                    final long convertedValue;
+
+                    try {
+                        convertedValue = toLongAttributeConverter.convertToLong(value);
+                    } catch (RuntimeException ex) {
+                        throw conversionFailed(converter, field, ex);
+                    }
+
+                    converted(converter, field);
+                    return convertedValue;
+                }
+            };
+        } else if (fieldType == Double.TYPE && attributeConverter instanceof ToDoubleAttributeConverter) {
+            @java.lang.SuppressWarnings("unchecked") final ToDoubleAttributeConverter<Object> toDoubleAttributeConverter = (ToDoubleAttributeConverter<Object>) attributeConverter;
+            return new FieldMapping.Binder() {
+                @Override
+                public void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException {
+                    final Object value = column.getObject(resultSet);
+                    field.setDouble(object, value == null ? 0.0d : convertToDouble(value));
+                }
+
+                @Override
+                public Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException {
+                    final Object value = column.getObject(resultSet);
+                    return value == null ? null : convertToDouble(value);
+                }
+
+                private double convertToDouble(Object value) {
+                    final double convertedValue;
+
+                    try {
+                        convertedValue = toDoubleAttributeConverter.convertToDouble(value);
+                    } catch (RuntimeException ex) {
+                        throw conversionFailed(converter, field, ex);
+                    }
+
+                    converted(converter, field);
+                    return convertedValue;
+                }
+            };
+        }
+
+        final Conversion conversion = Conversion.of(attributeConverter);
+        return FieldMapping.Binder.of(field, nullValue, (resultSet, column) -> {
+            final Object value = column.getObject(resultSet);
+            return value == null ? null : convert(conversion, value, field);
+        });
+    }
+
+    /**
+     * Applies the conversion and notifies the listeners. When the {@link SlowConversionEvent} is enabled, the conversion is timed and an event is emitted when it exceeds the threshold.
+     *
+     * @param conversion the conversion to apply
+     * @param value      the value to be converted
+     * @param field      the field the value is converted for, or null for a getter of a projection interface
+     * @return the converted value
+     */
+    private Object convert(Conversion conversion, Object value, Field field) {
+        final Object convertedValue;
+
+        try {
+            convertedValue = SlowConversionEvent.isTypeEnabled() ? convertTimed(conversion, value, field) : conversion.convert(value);
+        } catch (RuntimeException ex) {
+            throw conversionFailed(conversion.toString(), field, ex);
+        }
+
+        converted(conversion.toString(), field);
+        return convertedValue;
+    }
+
+    private void converted(String converter, Field field) {
+        if (!mappingListeners.isEmpty()) {
+            for (MappingListener mappingListener : mappingListeners) {
+                mappingListener.onConversion(converter, field);
             }
         }
+    }
+
+    private RuntimeException conversionFailed(String converter, Field field, RuntimeException exception) {
+        for (MappingListener mappingListener : mappingListeners) {
+            mappingListener.onConversionFailed(converter, field, exception);
+        }
+
+        return exception;
+    }
+
+    private static Object convertTimed(Conversion conversion, Object value, Field field) {
+        final SlowConversionEvent slowConversionEvent = new SlowConversionEvent();
+        slowConversionEvent.begin();
+        final Object convertedValue = conversion.convert(value);
+        slowConversionEvent.end();
+
+        if (slowConversionEvent.shouldCommit()) {
+            slowConversionEvent.converter = conversion.toString();
+            slowConversionEvent.field = field == null ? null : field.getDeclaringClass().getName() + "." + field.getName();
+            slowConversionEvent.commit();
+        }
 
-        return value;
+        return convertedValue;
     }
 
     /**
@@ -205,17 +1460,49 @@ public class ResultSetMapper {
         var dateToLocalDateConverter = new DateToLocalDateConverter();
         var timeToLocalTimeConverter = new TimeToLocalTimeConverter();
 
-        putAttributeConverterInMap(timestampToLocalDateTimeConverter);
-        putAttributeConverterInMap(dateToLocalDateConverter);
-        putAttributeConverterInMap(timeToLocalTimeConverter);
+        attributeConverterRegistry.registerBuiltIn(timestampToLocalDateTimeConverter);
+        attributeConverterRegistry.registerBuiltIn(dateToLocalDateConverter);
+        attributeConverterRegistry.registerBuiltIn(timeToLocalTimeConverter);
     }
 
-    private void putAttributeConverterInMap(AttributeConverter attributeConverter) {
-        logger.trace("Registering attribute converter {}", attributeConverter.getClass());
-        attributeConvertersBySourceAndTarget.put(new SourceAndTarget(attributeConverter.source(), attributeConverter.target()), attributeConverter);
-        attributeConvertersByClass.put(attributeConverter.getClass(), attributeConverter);
-    }
 
+    /**
+     * Measures the build of a single plan, from looking up the fields or getters of the class until the plan is complete.
+     * Completing the build emits the {@link PlanCompiledEvent} and notifies the listeners.
+     */
+    private class PlanBuild {
+        private final PlanCompiledEvent planCompiledEvent = new PlanCompiledEvent();
+        private final long start;
+
+        PlanBuild() {
+            planCompiledEvent.begin();
+            start = System.nanoTime();
+        }
+
+        /**
+         * Completes the build
+         *
+         * @param destinationClass the class or interface the plan has been built for
+         * @param fieldCount       the amount of mapped fields or getters
+         * @return the time spent building the plan in nanoseconds
+         */
+        long complete(Class<?> destinationClass, int fieldCount) {
+            if (planCompiledEvent.shouldCommit()) {
+                planCompiledEvent.destinationClass = destinationClass;
+                planCompiledEvent.fieldCount = fieldCount;
+                planCompiledEvent.commit();
+            }
+
+            final long duration = System.nanoTime() - start;
+            ResultSetMapperFactory.recordPlanBuilt();
+
+            for (MappingListener mappingListener : mappingListeners) {
+                mappingListener.onPlanBuilt(destinationClass, fieldCount, duration);
+            }
+
+            return duration;
+        }
+    }
 
     /**
      * This class fetches the class reflection data. After fetching it for the first time it will keep the class data in the cache so that it can retrieved later if desired.
@@ -225,10 +1512,10 @@ public class ResultSetMapper {
      */
     private class ClassCache {
         private final Logger logger = LoggerFactory.getLogger(ClassCache.class);
-        private final Map<Class, Map<String, Field>> cachedClassFields = new HashMap<>();
-        private final Map<Class, Map<Class, Annotation>> cachedClassAnnotations = new HashMap<>();
-        private final Map<Field, Map<Class, Annotation>> cachedFieldAnnotations = new HashMap<>();
-        private final Map<Field, Boolean> cachedPrimitiveFields = new HashMap<>();
+        private final Map<Class, Map<String, Field>> cachedClassFields = new ConcurrentHashMap<>();
+        private final Map<Class, Map<Class, Annotation>> cachedClassAnnotations = new ConcurrentHashMap<>();
+        private final Map<Field, Map<Class, Annotation>> cachedFieldAnnotations = new ConcurrentHashMap<>();
+        private final Map<Field, Boolean> cachedPrimitiveFields = new ConcurrentHashMap<>();
 
         /**
          * Get annotation of a class from cache. If it's not present in the cache it will try to fetch it through reflection.
@@ -449,26 +1736,232 @@ public class ResultSetMapper {
         }
     }
 
-    private class SourceAndTarget {
-        private final Class source;
-        private final Class target;
+    /**
+     * A binder for fields without a {@link Convert} annotation. It converts the retrieved value with the auto applicable conversion for the class of the value.
+     * The last resolved conversion is remembered, as a column almost always returns values of the same class.
+     * Values that can not be assigned to an enum field and have no conversion are looked up in the {@link EnumLookup} of the enum.
+     */
+    private class AutoConvertingBinder implements FieldMapping.Binder {
+        private final Field field;
+        private final Object nullValue;
+        private final EnumLookup enumLookup;
+        private ResolvedConversion lastResolvedConversion;
+
+        AutoConvertingBinder(Field field, Object nullValue, EnumLookup enumLookup) {
+            this.field = field;
+            this.nullValue = nullValue;
+            this.enumLookup = enumLookup;
+        }
 
-        public SourceAndTarget(Class source, Class target) {
-            this.source = source;
+        @Override
+        public void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException {
+            final Object value = retrieve(resultSet, column);
+            field.set(object, value == null ? nullValue : value);
+        }
+
+        @Override
+        public Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException {
+            return convertValue(column.getObject(resultSet));
+        }
+
+        /**
+         * Converts a value that has already been retrieved to the type of the field.
+         *
+         * @param value the retrieved value
+         * @return the converted value, or null when the value is null
+         */
+        Object convertValue(Object value) {
+            if (value == null) {
+                return null;
+            }
+
+            ResolvedConversion resolvedConversion = lastResolvedConversion;
+
+            if (resolvedConversion == null || resolvedConversion.source != value.getClass()) {
+                resolvedConversion = new ResolvedConversion(value.getClass(), resolveConversion(value.getClass()));
+                lastResolvedConversion = resolvedConversion;
+            }
+
+            return resolvedConversion.conversion == Conversion.NONE ? value : convert(resolvedConversion.conversion, value, field);
+        }
+
+        private Conversion resolveConversion(Class<?> source) {
+            return resolveAutoConversion(source, field.getType(), enumLookup);
+        }
+    }
+
+    /**
+     * The auto applicable conversion of a projection getter. Like the {@link AutoConvertingBinder} it remembers the last resolved conversion.
+     */
+    private class AutoConversion implements Conversion {
+        private final Class<?> target;
+        private final EnumLookup enumLookup;
+        private volatile ResolvedConversion lastResolvedConversion;
+
+        AutoConversion(Class<?> target, EnumLookup enumLookup) {
             this.target = target;
+            this.enumLookup = enumLookup;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            ResolvedConversion resolvedConversion = lastResolvedConversion;
+
+            if (resolvedConversion == null || resolvedConversion.source != value.getClass()) {
+                resolvedConversion = new ResolvedConversion(value.getClass(), resolveAutoConversion(value.getClass(), target, enumLookup));
+                lastResolvedConversion = resolvedConversion;
+            }
+
+            return resolvedConversion.conversion == Conversion.NONE ? value : ResultSetMapper.this.convert(resolvedConversion.conversion, value, null);
+        }
+
+        @Override
+        public String toString() {
+            return "auto conversion to " + target.getName();
+        }
+    }
+
+    /**
+     * The conversion of a projection getter annotated with {@link Convert}, which notifies the listeners like the binder of a field does.
+     */
+    private class ListenedConversion implements Conversion {
+        private final Conversion conversion;
+
+        ListenedConversion(Conversion conversion) {
+            this.conversion = conversion;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            return ResultSetMapper.this.convert(conversion, value, null);
+        }
+
+        @Override
+        public String toString() {
+            return conversion.toString();
+        }
+    }
+
+    /**
+     * Resolves the auto applicable conversion of a value to the target type, falling back to the {@link EnumLookup} for enums.
+     *
+     * @param source     the class of the value
+     * @param target     the type to convert to
+     * @param enumLookup the lookup of the target enum, or null
+     * @return the conversion
+     */
+    private Conversion resolveAutoConversion(Class<?> source, Class<?> target, EnumLookup enumLookup) {
+        final Conversion conversion = attributeConverterRegistry.resolve(source, target);
+
+        if (conversion == Conversion.NONE && enumLookup != null && !target.isAssignableFrom(source)) {
+            return enumLookup;
+        }
+
+        return conversion;
+    }
+
+    /**
+     * A binder for {@code java.time} fields. The value is retrieved with {@link ResultSet#getObject(String, Class)} when the driver supports it,
+     * skipping the allocation of the legacy {@code java.sql} value and its conversion. Otherwise the {@link AutoConvertingBinder} is used.
+     * <p>
+     * A driver that does not support the retrieval either throws an exception or returns null without reporting a null value through {@link ResultSet#wasNull()}.
+     * Support is looked up per driver and SQL type of the column, the last one is remembered so the lookup is skipped for the following rows.
+     */
+    private class JavaTimeBinder implements FieldMapping.Binder {
+        private final Field field;
+        private final Class<?> type;
+        private final AutoConvertingBinder fallback;
+        private volatile DetectedSupport lastDetectedSupport;
+
+        JavaTimeBinder(Field field, AutoConvertingBinder fallback) {
+            this.field = field;
+            this.type = field.getType();
+            this.fallback = fallback;
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            SourceAndTarget that = (SourceAndTarget) o;
-            return Objects.equals(source, that.source) && Objects.equals(target, that.target);
+        public void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException {
+            field.set(object, retrieve(resultSet, column));
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hash(source, target);
+        public Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException {
+            final int sqlType = column.getSqlType();
+            final DetectedSupport detectedSupport = lastDetectedSupport;
+            final Boolean supported;
+
+            if (detectedSupport != null && detectedSupport.driver == resultSet.getClass() && detectedSupport.sqlType == sqlType) {
+                supported = detectedSupport.supported;
+            } else {
+                supported = typedRetrievalSupport.isSupported(resultSet, sqlType, type);
+
+                if (supported != null) {
+                    lastDetectedSupport = new DetectedSupport(resultSet.getClass(), sqlType, supported);
+                }
+            }
+
+            if (Boolean.FALSE.equals(supported)) {
+                return fallback.retrieve(resultSet, column);
+            }
+
+            final Object value;
+
+            try {
+                value = column.getObject(resultSet, type);
+            } catch (SQLException | RuntimeException | AbstractMethodError ex) {
+                if (supported == null) {
+                    typedRetrievalSupport.setSupported(resultSet, sqlType, type, false);
+                }
+
+                return fallback.retrieve(resultSet, column);
+            }
+
+            if (supported == null) {
+                if (value == null && !resultSet.wasNull()) {
+                    typedRetrievalSupport.setSupported(resultSet, sqlType, type, false);
+                    return fallback.retrieve(resultSet, column);
+                } else if (value != null) {
+                    typedRetrievalSupport.setSupported(resultSet, sqlType, type, true);
+                }
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * Whether a driver supports retrieving the type of a {@link JavaTimeBinder} from a column of a particular SQL type.
+     */
+    private static class DetectedSupport {
+        private final Class<?> driver;
+        private final int sqlType;
+        private final boolean supported;
+
+        DetectedSupport(Class<?> driver, int sqlType, boolean supported) {
+            this.driver = driver;
+            this.sqlType = sqlType;
+            this.supported = supported;
+        }
+    }
+
+    /**
+     * Supplies the plan of a mapping, building it when it has not been cached yet.
+     */
+    @FunctionalInterface
+    private interface PlanSupplier<T> {
+        RowMapper<T> get() throws NoSuchMethodException, SQLException;
+    }
+
+    /**
+     * The conversion that has been resolved for values of a particular class.
+     */
+    private static class ResolvedConversion {
+        private final Class<?> source;
+        private final Conversion conversion;
+
+        ResolvedConversion(Class<?> source, Conversion conversion) {
+            this.source = source;
+            this.conversion = conversion;
         }
     }
 }
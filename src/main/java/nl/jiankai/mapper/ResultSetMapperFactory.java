@@ -1,5 +1,9 @@
 package nl.jiankai.mapper;
 
+import nl.jiankai.mapper.converters.AttributeConverter;
+import nl.jiankai.mapper.converters.DateToLocalDateConverter;
+import nl.jiankai.mapper.converters.TimeToLocalTimeConverter;
+import nl.jiankai.mapper.converters.TimestampToLocalDateTimeConverter;
 import nl.jiankai.mapper.strategies.FieldNamingStrategy;
 import nl.jiankai.mapper.strategies.IdentityFieldNamingStrategy;
 import nl.jiankai.mapper.strategies.LowerCaseDashesFieldNamingStrategy;
@@ -7,8 +11,42 @@ import nl.jiankai.mapper.strategies.LowerCaseUnderscoreFieldNamingStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves shared {@link ResultSetMapper}s. There is a single mapper per field naming strategy and list of attribute converters in the process,
+ * so the reflection on a mapped class and its plans are done once however often the factory is called. The mappers are thread-safe.
+ * <p>
+ * The field naming strategies and attribute converters of the library are stateless and identified by their class. Any other strategy or converter
+ * is identified by the instance itself through its {@code equals} and {@code hashCode}, so a mapper created with a configured instance is never served
+ * to a caller passing a differently configured one. Pass the same instances on every request, or implement {@code equals} and {@code hashCode},
+ * otherwise a new mapper is created per request.
+ * Because a shared mapper is used by every caller, converters and listeners can not be registered on it and it can not get an entity cache
+ * or row tracing, construct a {@link ResultSetMapper} for that instead.
+ * <p>
+ * The factory counts how often mappers are reused, see {@link #getStatistics()}. When more than 100 mappers
+ * with the same field naming strategy have been constructed, a warning with the stack of the constructing call is logged once.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
 public class ResultSetMapperFactory {
+    static final int CONSTRUCTION_WARNING_THRESHOLD = 100;
     private static final Logger logger = LoggerFactory.getLogger(ResultSetMapperFactory.class);
+    private static final Set<Class<?>> STATELESS_CLASSES = Set.of(IdentityFieldNamingStrategy.class, LowerCaseUnderscoreFieldNamingStrategy.class,
+            LowerCaseDashesFieldNamingStrategy.class, TimestampToLocalDateTimeConverter.class, DateToLocalDateConverter.class, TimeToLocalTimeConverter.class);
+    private static final Map<MapperKey, ResultSetMapper> sharedMappers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, LongAdder> constructionCounts = new ConcurrentHashMap<>();
+    private static final LongAdder sharedMapperRequests = new LongAdder();
+    private static final LongAdder sharedMappersCreated = new LongAdder();
+    private static final LongAdder mappersConstructed = new LongAdder();
+    private static final LongAdder plansBuilt = new LongAdder();
 
     private ResultSetMapperFactory() {
         throw new AssertionError("The ResultSetMapperFactory should not be instantiated.");
@@ -26,8 +64,97 @@ public class ResultSetMapperFactory {
         return getResultSetMapper(new LowerCaseDashesFieldNamingStrategy());
     }
 
-    private static ResultSetMapper getResultSetMapper(FieldNamingStrategy fieldNamingStrategy) {
-        logger.trace("Constructing ResultSetMapper with the {} strategy.", fieldNamingStrategy);
-        return new ResultSetMapper(fieldNamingStrategy);
+    /**
+     * Get the shared mapper with the field naming strategy and the attribute converters registered in addition to the default converters
+     *
+     * @param fieldNamingStrategy the field naming strategy to be used for mapping field names
+     * @param attributeConverters the converters to register, in order
+     * @return the shared mapper
+     */
+    public static ResultSetMapper getResultSetMapper(final FieldNamingStrategy fieldNamingStrategy, final AttributeConverter<?, ?>... attributeConverters) {
+        final MapperKey key = new MapperKey(fieldNamingStrategy, attributeConverters);
+        sharedMapperRequests.increment();
+        ResultSetMapper resultSetMapper = sharedMappers.get(key);
+
+        if (resultSetMapper == null) {
+            resultSetMapper = sharedMappers.computeIfAbsent(key, ignored -> createSharedMapper(fieldNamingStrategy, attributeConverters));
+        }
+
+        return resultSetMapper;
+    }
+
+    private static ResultSetMapper createSharedMapper(FieldNamingStrategy fieldNamingStrategy, AttributeConverter<?, ?>... attributeConverters) {
+        logger.trace("Constructing the shared ResultSetMapper with the {} strategy.", fieldNamingStrategy);
+        final ResultSetMapper resultSetMapper = new ResultSetMapper(fieldNamingStrategy);
+
+        for (AttributeConverter<?, ?> attributeConverter : attributeConverters) {
+            resultSetMapper.registerAttributeConverter(attributeConverter);
+        }
+
+        resultSetMapper.share();
+        sharedMappersCreated.increment();
+        return resultSetMapper;
+    }
+
+    /**
+     * Get how often mappers and their plans have been reused in this process
+     *
+     * @return the statistics
+     */
+    public static MapperReuseStatistics getStatistics() {
+        return new MapperReuseStatistics(sharedMapperRequests.sum(), sharedMappersCreated.sum(), mappersConstructed.sum(), plansBuilt.sum());
+    }
+
+    /**
+     * Counts a constructed mapper. The warning is logged when the threshold is passed, so only once per strategy.
+     */
+    static void recordMapperConstructed(FieldNamingStrategy fieldNamingStrategy) {
+        mappersConstructed.increment();
+        final LongAdder constructionCount = constructionCounts.computeIfAbsent(fieldNamingStrategy.getClass(), ignored -> new LongAdder());
+        constructionCount.increment();
+
+        if (constructionCount.sum() == CONSTRUCTION_WARNING_THRESHOLD + 1) {
+            logger.warn("{} ResultSetMappers with the {} strategy have been constructed. Every mapper reflects on the mapped classes again, " +
+                            "share a mapper or use the ResultSetMapperFactory instead.", constructionCount.sum(), fieldNamingStrategy.getClass().getSimpleName(),
+                    new Throwable("Constructed at"));
+        }
+    }
+
+    static void recordPlanBuilt() {
+        plansBuilt.increment();
+    }
+
+    /**
+     * Identifies a shared mapper by its field naming strategy and converters, see the class documentation
+     */
+    private static class MapperKey {
+        private final Object fieldNamingStrategy;
+        private final List<Object> attributeConverters;
+
+        MapperKey(FieldNamingStrategy fieldNamingStrategy, AttributeConverter<?, ?>... attributeConverters) {
+            this.fieldNamingStrategy = identify(fieldNamingStrategy);
+            this.attributeConverters = new ArrayList<>(attributeConverters.length);
+
+            for (AttributeConverter<?, ?> attributeConverter : attributeConverters) {
+                this.attributeConverters.add(identify(attributeConverter));
+            }
+        }
+
+        private static Object identify(Object component) {
+            return STATELESS_CLASSES.contains(component.getClass()) ? component.getClass() : component;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MapperKey that = (MapperKey) o;
+            return fieldNamingStrategy.equals(that.fieldNamingStrategy) && attributeConverters.equals(that.attributeConverters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fieldNamingStrategy, attributeConverters);
+        }
     }
 }
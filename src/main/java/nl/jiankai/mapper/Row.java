@@ -0,0 +1,181 @@
+package nl.jiankai.mapper;
+
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A row mapped by {@link ResultSetMapper#mapToRows(java.sql.ResultSet)}, for queries that have no class to map to. The row is an unmodifiable map of the column labels
+ * to the values as they are returned by the driver. All rows of a mapping share the same schema, a row only holds an array of its values.
+ * <p>
+ * Columns can also be looked up by a name that the field naming strategy of the mapper transforms into their label,
+ * for instance {@code firstName} for the column {@code first_name} with the {@link nl.jiankai.mapper.strategies.LowerCaseUnderscoreFieldNamingStrategy}.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class Row extends AbstractMap<String, Object> {
+    private final RowSchema schema;
+    private final Object[] values;
+
+    Row(RowSchema schema, Object[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    @Override
+    public Object get(Object column) {
+        final int index = schema.indexOf(column);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object column) {
+        return schema.indexOf(column) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        final int current = index++;
+                        return new SimpleImmutableEntry<>(schema.getColumnName(current), values[current]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    /**
+     * Get the value of the column at the index
+     *
+     * @param index the index of the column, starting at 0
+     * @return the value
+     */
+    public Object get(final int index) {
+        return values[index];
+    }
+
+    /**
+     * Get the value of the column as the provided class. Numbers are converted to the requested number class.
+     *
+     * @param column the column
+     * @param type   the class of the value
+     * @param <T>    the class of the value
+     * @return the value, or null when the column is null or does not exist
+     * @throws ClassCastException when the value can not be returned as the provided class
+     */
+    public <T> T get(final String column, final Class<T> type) {
+        final Object value = get(column);
+
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        } else if (value instanceof Number) {
+            final Number number = (Number) value;
+
+            if (type == Integer.class) {
+                return type.cast(number.intValue());
+            } else if (type == Long.class) {
+                return type.cast(number.longValue());
+            } else if (type == Double.class) {
+                return type.cast(number.doubleValue());
+            } else if (type == Float.class) {
+                return type.cast(number.floatValue());
+            } else if (type == Short.class) {
+                return type.cast(number.shortValue());
+            } else if (type == BigDecimal.class) {
+                return type.cast(new BigDecimal(number.toString()));
+            }
+        }
+
+        throw new ClassCastException(String.format("The value of column '%s' is a %s and can not be returned as %s.", column, value.getClass().getName(), type.getName()));
+    }
+
+    /**
+     * Get the value of the column as a string
+     *
+     * @param column the column
+     * @return the string representation of the value, or null when the column is null
+     */
+    public String getString(final String column) {
+        final Object value = get(column);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Get the value of the column as an int, like {@link java.sql.ResultSet#getInt(String)}
+     *
+     * @param column the column
+     * @return the value, or 0 when the column is null
+     */
+    public int getInt(final String column) {
+        final Integer value = get(column, Integer.class);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Get the value of the column as a long, like {@link java.sql.ResultSet#getLong(String)}
+     *
+     * @param column the column
+     * @return the value, or 0 when the column is null
+     */
+    public long getLong(final String column) {
+        final Long value = get(column, Long.class);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Get the value of the column as a double, like {@link java.sql.ResultSet#getDouble(String)}
+     *
+     * @param column the column
+     * @return the value, or 0 when the column is null
+     */
+    public double getDouble(final String column) {
+        final Double value = get(column, Double.class);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Get the value of the column as a boolean. Numbers are true when they are not 0.
+     *
+     * @param column the column
+     * @return the value, or false when the column is null
+     */
+    public boolean getBoolean(final String column) {
+        final Object value = get(column);
+
+        if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+
+        return Boolean.TRUE.equals(get(column, Boolean.class));
+    }
+}
@@ -0,0 +1,56 @@
+package nl.jiankai.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet to a single object. Implemented by the plans the {@link ResultSetMapper} builds per destination type,
+ * so that the mapping loop does not depend on what kind of object a row is mapped to.
+ *
+ * @param <T> the type the rows are mapped to
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+interface RowMapper<T> {
+    /**
+     * Maps the current row. This is done for every row, so it must not log: failures are collected and logged after the last row.
+     *
+     * @param resultSet     the ResultSet positioned on the row to be mapped
+     * @param fieldFailures collects the columns whose value could not be retrieved
+     * @return the mapped object
+     */
+    T mapRow(ResultSet resultSet, FieldFailures fieldFailures) throws SQLException, ReflectiveOperationException;
+
+    /**
+     * Creates the collector of the failures of a single mapping.
+     *
+     * @return the failures
+     */
+    FieldFailures createFieldFailures();
+
+    /**
+     * Get the amount of columns that is read per row
+     *
+     * @return the amount of columns
+     */
+    int getColumnCount();
+
+    /**
+     * Describes a mapped object for the sampled row trace.
+     *
+     * @param row the mapped object
+     * @return the description
+     */
+    String describeRow(T row) throws IllegalAccessException;
+
+    /**
+     * Get the mapper that reads the columns by their index in the ResultSet. Mappers that read columns by name return a mapper whose columns
+     * the {@link ColumnResolver} has matched to the labels, other mappers return themselves.
+     *
+     * @param columnResolver the resolver of the ResultSet to be mapped
+     * @return the mapper to map the ResultSet with
+     */
+    default RowMapper<T> resolveColumns(ColumnResolver columnResolver) throws SQLException {
+        return this;
+    }
+}
@@ -0,0 +1,22 @@
+package nl.jiankai.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A condition on the raw column values of a row. It is evaluated before the row is mapped, so rejected rows are never instantiated or converted.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@FunctionalInterface
+public interface RowPredicate {
+    /**
+     * Tests the current row. The ResultSet may only be read, the cursor must not be moved.
+     *
+     * @param row the ResultSet positioned on the row to test
+     * @return whether the row has to be mapped
+     * @throws SQLException when a column can not be read
+     */
+    boolean test(ResultSet row) throws SQLException;
+}
@@ -0,0 +1,155 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.mapper.strategies.FieldNamingStrategy;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The columns of a ResultSet that is mapped to {@link Row}s. The schema is derived once from the {@link ResultSetMetaData} and shared by all rows of the mapping,
+ * a row itself only holds its values. Columns are looked up by their label, by a name that the {@link FieldNamingStrategy} transforms into their label,
+ * or by a name that is the same as their label when both are normalised by {@link ColumnResolver#normalise(String)}.
+ * A label that occurs more than once is made unique by appending the number of its occurrence, for instance {@code id_2}.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class RowSchema implements RowMapper<Row> {
+    private final String[] columnNames;
+    private final Map<String, Integer> indexes;
+    private final Map<String, Integer> normalisedIndexes;
+    private final FieldNamingStrategy fieldNamingStrategy;
+    private final Map<String, Integer> transformedIndexes = new ConcurrentHashMap<>();
+
+    RowSchema(List<String> columnLabels, FieldNamingStrategy fieldNamingStrategy) {
+        this.columnNames = new String[columnLabels.size()];
+        this.fieldNamingStrategy = fieldNamingStrategy;
+        final Map<String, Integer> columnIndexes = new HashMap<>();
+
+        for (int i = 0; i < columnNames.length; i++) {
+            String columnName = columnLabels.get(i);
+
+            for (int occurrence = 2; columnIndexes.containsKey(columnName); occurrence++) {
+                columnName = columnLabels.get(i) + "_" + occurrence;
+            }
+
+            columnNames[i] = columnName;
+            columnIndexes.put(columnName, i);
+        }
+
+        this.indexes = Map.copyOf(columnIndexes);
+        this.normalisedIndexes = normaliseIndexes(columnLabels);
+    }
+
+    /**
+     * Indexes the columns by their normalised label, leaving out the labels that normalise to the same name as another label
+     */
+    private static Map<String, Integer> normaliseIndexes(List<String> columnLabels) {
+        final Map<String, Integer> normalisedIndexes = new HashMap<>();
+        final Set<String> ambiguousNames = new HashSet<>();
+
+        for (int i = 0; i < columnLabels.size(); i++) {
+            final String normalisedName = ColumnResolver.normalise(columnLabels.get(i));
+
+            if (normalisedIndexes.putIfAbsent(normalisedName, i) != null) {
+                ambiguousNames.add(normalisedName);
+            }
+        }
+
+        normalisedIndexes.keySet().removeAll(ambiguousNames);
+        return Map.copyOf(normalisedIndexes);
+    }
+
+    /**
+     * Derives the schema from the metadata of the ResultSet
+     *
+     * @param metaData            the metadata of the ResultSet
+     * @param fieldNamingStrategy resolves the names that are not a column label
+     * @return the schema
+     */
+    static RowSchema of(ResultSetMetaData metaData, FieldNamingStrategy fieldNamingStrategy) throws SQLException {
+        if (metaData == null) {
+            throw new SQLException("The ResultSet does not provide its metadata, which is needed to map it to rows.");
+        }
+
+        final String[] columnLabels = new String[metaData.getColumnCount()];
+
+        for (int i = 0; i < columnLabels.length; i++) {
+            columnLabels[i] = metaData.getColumnLabel(i + 1);
+        }
+
+        return new RowSchema(Arrays.asList(columnLabels), fieldNamingStrategy);
+    }
+
+    /**
+     * Get the index of the column
+     *
+     * @param name the label of the column, a name the field naming strategy transforms into the label or a name that normalises to the normalised label
+     * @return the index, or -1 when there is no such column
+     */
+    int indexOf(Object name) {
+        if (!(name instanceof String)) {
+            return -1;
+        }
+
+        final Integer index = indexes.get(name);
+
+        if (index != null) {
+            return index;
+        }
+
+        return transformedIndexes.computeIfAbsent((String) name, this::indexOfTransformed);
+    }
+
+    private int indexOfTransformed(String name) {
+        Integer index = indexes.get(fieldNamingStrategy.transform(name));
+
+        if (index == null) {
+            index = normalisedIndexes.get(ColumnResolver.normalise(name));
+        }
+
+        return index != null ? index : -1;
+    }
+
+    String getColumnName(int index) {
+        return columnNames[index];
+    }
+
+    @Override
+    public Row mapRow(ResultSet resultSet, FieldFailures fieldFailures) {
+        final Object[] values = new Object[columnNames.length];
+
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = resultSet.getObject(i + 1);
+            } catch (SQLException ex) {
+                fieldFailures.record(i, ex);
+            }
+        }
+
+        return new Row(this, values);
+    }
+
+    @Override
+    public FieldFailures createFieldFailures() {
+        return new FieldFailures(columnNames, columnNames);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String describeRow(Row row) {
+        return row.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.mapper.exceptions.MappingTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Moves the cursor to the next row that has to be mapped according to the {@link MappingOptions}. A new selection is created for every mapping.
+ * The deadline and the cancellation token are checked every {@value #CHECK_INTERVAL} rows that are read, so that reading the clock costs next to nothing per row.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class RowSelection {
+    static final int CHECK_INTERVAL = 64;
+    private static final Logger logger = LoggerFactory.getLogger(RowSelection.class);
+    private final RowPredicate rowPredicate;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final long maxRows;
+    private final CancellationToken cancellationToken;
+    private final boolean partialResultAllowed;
+    private long remainingSkip;
+    private long remainingLimit;
+    private long readCount;
+    private long selectedCount;
+    private StopReason stopReason;
+
+    RowSelection(MappingOptions mappingOptions) {
+        this.rowPredicate = mappingOptions.getRowPredicate();
+        this.remainingSkip = mappingOptions.getSkip();
+        this.remainingLimit = mappingOptions.getLimit();
+        this.maxRows = mappingOptions.getMaxRows();
+        this.cancellationToken = mappingOptions.getCancellationToken();
+        this.partialResultAllowed = mappingOptions.isPartialResultAllowed();
+        this.hasDeadline = mappingOptions.getDeadline() != null || mappingOptions.getTimeout() != null;
+        this.deadlineNanos = hasDeadline ? toDeadlineNanos(mappingOptions.getDeadline(), mappingOptions.getTimeout()) : 0;
+    }
+
+    private static long toDeadlineNanos(Instant deadline, Duration timeout) {
+        final long now = System.nanoTime();
+        long remainingNanos = Long.MAX_VALUE;
+
+        if (timeout != null) {
+            remainingNanos = toNanos(timeout);
+        }
+
+        if (deadline != null) {
+            remainingNanos = Math.min(remainingNanos, toNanos(Duration.between(Instant.now(), deadline)));
+        }
+
+        return now + Math.min(remainingNanos, Long.MAX_VALUE / 2);
+    }
+
+    private static long toNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException ex) {
+            return duration.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Moves the cursor to the next selected row.
+     *
+     * @param resultSet the ResultSet to move the cursor of
+     * @return whether there is a selected row, false when the ResultSet is exhausted, the limit has been reached or the mapping has been stopped with a partial result
+     * @throws MappingTimeoutException when the mapping has been stopped and partial results are not allowed
+     */
+    boolean next(ResultSet resultSet) throws SQLException {
+        while (remainingLimit > 0 && stopReason == null) {
+            if (readCount++ % CHECK_INTERVAL == 0 && isInterrupted(resultSet)) {
+                return false;
+            }
+
+            if (!resultSet.next()) {
+                return false;
+            }
+
+            if (rowPredicate != null && !rowPredicate.test(resultSet)) {
+                continue;
+            }
+
+            if (remainingSkip > 0) {
+                remainingSkip--;
+                continue;
+            }
+
+            if (selectedCount == maxRows) {
+                stop(resultSet, StopReason.MAX_ROWS_EXCEEDED);
+                return false;
+            }
+
+            selectedCount++;
+            remainingLimit--;
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean isInterrupted(ResultSet resultSet) throws SQLException {
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            stop(resultSet, StopReason.CANCELLED);
+            return true;
+        } else if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            stop(resultSet, StopReason.DEADLINE_EXCEEDED);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void stop(ResultSet resultSet, StopReason stopReason) {
+        this.stopReason = stopReason;
+        logger.debug("Stopping the mapping after {} rows: {}", selectedCount, stopReason);
+        cancelStatement(resultSet);
+
+        if (!partialResultAllowed) {
+            throw new MappingTimeoutException(stopReason, selectedCount);
+        }
+    }
+
+    /**
+     * Cancels the statement of the ResultSet, so that the database stops producing rows that will not be read anymore.
+     */
+    private static void cancelStatement(ResultSet resultSet) {
+        try {
+            final Statement statement = resultSet.getStatement();
+
+            if (statement != null) {
+                statement.cancel();
+            }
+        } catch (SQLException ex) {
+            logger.debug("The statement could not be cancelled.", ex);
+        }
+    }
+
+    /**
+     * Get why the mapping stopped before the ResultSet was exhausted
+     *
+     * @return the reason, or null when the mapping has not been stopped
+     */
+    StopReason getStopReason() {
+        return stopReason;
+    }
+}
@@ -0,0 +1,205 @@
+package nl.jiankai.mapper;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A binder for fields of type {@code int[]}, {@code long[]}, {@code double[]} and {@code List} that are filled from an SQL ARRAY column.
+ * The elements of the {@link Array} are extracted into the field type without boxing them again, the extraction is chosen once from the field type
+ * when the plan is built. The array is freed once its elements have been extracted.
+ * <p>
+ * Drivers return the elements either as an array of the field type, which is used as is, or as an array of another component type, boxed or primitive,
+ * which is converted element by element. Null elements become 0 in a primitive array. The elements of a {@code List<String>} are converted to their
+ * string representation, other lists keep the elements as returned by the driver.
+ * <p>
+ * Only values that are an SQL ARRAY or a Java array are extracted. Any other value, such as a JSON string, is left to the fallback conversion,
+ * so that the auto applicable converters of the field type keep applying.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class SqlArrayBinder implements FieldMapping.Binder {
+    private final Field field;
+    private final Extraction extraction;
+    private final ValueConverter fallback;
+
+    private SqlArrayBinder(Field field, Extraction extraction, ValueConverter fallback) {
+        this.field = field;
+        this.extraction = extraction;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates the binder for the field
+     *
+     * @param field    the field to be filled
+     * @param fallback converts the values that are not an array
+     * @return the binder, or null when the field is not of a supported type
+     */
+    static SqlArrayBinder of(Field field, ValueConverter fallback) {
+        final Class<?> type = field.getType();
+
+        if (type == int[].class) {
+            return new SqlArrayBinder(field, SqlArrayBinder::toIntArray, fallback);
+        } else if (type == long[].class) {
+            return new SqlArrayBinder(field, SqlArrayBinder::toLongArray, fallback);
+        } else if (type == double[].class) {
+            return new SqlArrayBinder(field, SqlArrayBinder::toDoubleArray, fallback);
+        } else if (type == List.class || type == Collection.class) {
+            return new SqlArrayBinder(field, hasStringElements(field) ? SqlArrayBinder::toStringList : SqlArrayBinder::toList, fallback);
+        }
+
+        return null;
+    }
+
+    private static boolean hasStringElements(Field field) {
+        final Type genericType = field.getGenericType();
+        return genericType instanceof ParameterizedType && ((ParameterizedType) genericType).getActualTypeArguments()[0] == String.class;
+    }
+
+    @Override
+    public void bind(ResultSet resultSet, ColumnReference column, Object object) throws SQLException, IllegalAccessException {
+        field.set(object, retrieve(resultSet, column));
+    }
+
+    @Override
+    public Object retrieve(ResultSet resultSet, ColumnReference column) throws SQLException {
+        final Object value = column.getObject(resultSet);
+
+        if (value instanceof Array) {
+            final Array array = (Array) value;
+
+            try {
+                return extraction.extract(array.getArray());
+            } finally {
+                free(array);
+            }
+        } else if (value != null && value.getClass().isArray()) {
+            return extraction.extract(value);
+        }
+
+        return fallback.convert(value);
+    }
+
+    private static void free(Array array) throws SQLException {
+        try {
+            array.free();
+        } catch (SQLFeatureNotSupportedException ex) {
+            // the driver releases the array itself
+        }
+    }
+
+    private static int[] toIntArray(Object elements) {
+        if (elements instanceof int[]) {
+            return (int[]) elements;
+        }
+
+        final Object[] boxedElements = box(elements);
+        final int[] values = new int[boxedElements.length];
+
+        for (int i = 0; i < values.length; i++) {
+            final Object element = boxedElements[i];
+            values[i] = element == null ? 0 : ((Number) element).intValue();
+        }
+
+        return values;
+    }
+
+    private static long[] toLongArray(Object elements) {
+        if (elements instanceof long[]) {
+            return (long[]) elements;
+        }
+
+        final Object[] boxedElements = box(elements);
+        final long[] values = new long[boxedElements.length];
+
+        for (int i = 0; i < values.length; i++) {
+            final Object element = boxedElements[i];
+            values[i] = element == null ? 0L : ((Number) element).longValue();
+        }
+
+        return values;
+    }
+
+    private static double[] toDoubleArray(Object elements) {
+        if (elements instanceof double[]) {
+            return (double[]) elements;
+        }
+
+        final Object[] boxedElements = box(elements);
+        final double[] values = new double[boxedElements.length];
+
+        for (int i = 0; i < values.length; i++) {
+            final Object element = boxedElements[i];
+            values[i] = element == null ? 0.0d : ((Number) element).doubleValue();
+        }
+
+        return values;
+    }
+
+    private static List<String> toStringList(Object elements) {
+        if (elements instanceof String[]) {
+            return Collections.unmodifiableList(Arrays.asList((String[]) elements));
+        }
+
+        final Object[] boxedElements = box(elements);
+        final String[] values = new String[boxedElements.length];
+
+        for (int i = 0; i < values.length; i++) {
+            final Object element = boxedElements[i];
+            values[i] = element == null ? null : element.toString();
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * Keeps the elements as returned by the driver, the elements of a primitive array are boxed.
+     */
+    private static List<Object> toList(Object elements) {
+        return Collections.unmodifiableList(Arrays.asList(box(elements)));
+    }
+
+    /**
+     * Returns the elements as an Object[]. Drivers return Object[] of boxed elements in the common case, which is used as is,
+     * only a primitive array of another component type than the field is boxed reflectively.
+     */
+    private static Object[] box(Object elements) {
+        if (elements instanceof Object[]) {
+            return (Object[]) elements;
+        }
+
+        final Object[] values = new Object[java.lang.reflect.Array.getLength(elements)];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = java.lang.reflect.Array.get(elements, i);
+        }
+
+        return values;
+    }
+
+    /**
+     * Extracts the elements returned by {@link Array#getArray()} into the field type
+     */
+    @FunctionalInterface
+    private interface Extraction {
+        Object extract(Object elements);
+    }
+
+    /**
+     * Converts a value that has already been retrieved from the ResultSet to the field type
+     */
+    @FunctionalInterface
+    interface ValueConverter {
+        Object convert(Object value);
+    }
+}
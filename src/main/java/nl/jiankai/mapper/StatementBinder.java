@@ -0,0 +1,440 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.annotations.Convert;
+import nl.jiankai.mapper.converters.AttributeConverter;
+import nl.jiankai.mapper.converters.ReversibleAttributeConverter;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * This class binds objects to the parameters of a {@link PreparedStatement}, the reverse of mapping a ResultSet. It is created by
+ * {@link ResultSetMapper#createStatementBinder(Class, String...)} from the mapping plan of the class, so fields are matched to the same columns
+ * as when they are read. The setter of every parameter is chosen once: primitive fields are bound with the typed setters without boxing,
+ * fields with a {@link Convert} annotation are converted back by their {@link ReversibleAttributeConverter}, other fields are converted back
+ * by the auto applicable reversible converter of their type when there is one, and enums are bound by their code or name.
+ * <p>
+ * The parameters are bound by position in the order of the columns. For SQL with named parameters, like {@code UPDATE users SET email = :email WHERE id = :id},
+ * {@link #forNamedParameters(String)} resolves every name to the setter of its column once.
+ *
+ * @param <T> the class of the objects to bind
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class StatementBinder<T> {
+    private static final Map<Class<?>, Integer> SQL_TYPES = Map.ofEntries(
+            Map.entry(String.class, Types.VARCHAR), Map.entry(Integer.class, Types.INTEGER), Map.entry(Long.class, Types.BIGINT),
+            Map.entry(Double.class, Types.DOUBLE), Map.entry(Float.class, Types.REAL), Map.entry(Short.class, Types.SMALLINT),
+            Map.entry(Byte.class, Types.TINYINT), Map.entry(Boolean.class, Types.BOOLEAN), Map.entry(BigDecimal.class, Types.NUMERIC),
+            Map.entry(byte[].class, Types.VARBINARY), Map.entry(Timestamp.class, Types.TIMESTAMP), Map.entry(Date.class, Types.DATE),
+            Map.entry(Time.class, Types.TIME), Map.entry(LocalDateTime.class, Types.TIMESTAMP), Map.entry(LocalDate.class, Types.DATE),
+            Map.entry(LocalTime.class, Types.TIME), Map.entry(OffsetDateTime.class, Types.TIMESTAMP_WITH_TIMEZONE));
+
+    private final Class<T> sourceClass;
+    private final String[] columnNames;
+    private final ParameterSetter[] parameterSetters;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    StatementBinder(Class<T> sourceClass, List<FieldMapping> fieldMappings, AttributeConverterRegistry attributeConverterRegistry, Function<Class<?>, EnumLookup> enumLookups) {
+        this.sourceClass = sourceClass;
+        this.columnNames = new String[fieldMappings.size()];
+        this.parameterSetters = new ParameterSetter[fieldMappings.size()];
+
+        for (int i = 0; i < columnNames.length; i++) {
+            columnNames[i] = fieldMappings.get(i).getColumnName();
+            parameterSetters[i] = createParameterSetter(fieldMappings.get(i).getField(), attributeConverterRegistry, enumLookups);
+            columnIndexes.putIfAbsent(columnNames[i], i);
+        }
+
+        for (int i = 0; i < columnNames.length; i++) {
+            columnIndexes.putIfAbsent(ColumnResolver.normalise(columnNames[i]), i);
+        }
+    }
+
+    /**
+     * Get the columns in the order they are bound to the parameters
+     *
+     * @return the column names
+     */
+    public List<String> getColumnNames() {
+        return List.of(columnNames);
+    }
+
+    /**
+     * Get the amount of parameters that is bound per object
+     *
+     * @return the amount of parameters
+     */
+    public int getParameterCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Binds the object to the parameters of the statement, starting at the first parameter
+     *
+     * @param statement the statement to bind to
+     * @param object    the object to bind
+     * @throws SQLException when a parameter can not be set
+     */
+    public void bind(final PreparedStatement statement, final T object) throws SQLException {
+        bind(statement, object, 1);
+    }
+
+    /**
+     * Binds the object to the parameters of the statement, starting at the provided parameter index
+     *
+     * @param statement           the statement to bind to
+     * @param object              the object to bind
+     * @param firstParameterIndex the index of the first parameter to bind, starting at 1
+     * @throws SQLException when a parameter can not be set
+     */
+    public void bind(final PreparedStatement statement, final T object, final int firstParameterIndex) throws SQLException {
+        try {
+            for (int i = 0; i < parameterSetters.length; i++) {
+                parameterSetters[i].set(statement, firstParameterIndex + i, object);
+            }
+        } catch (IllegalAccessException ex) {
+            throw new MappingFailedException(String.format("%s could not be bound to the statement!", sourceClass), ex);
+        }
+    }
+
+    /**
+     * Resolves the named parameters of the SQL to the columns of this binder. A parameter is a colon followed by the column name, which is matched
+     * exactly or otherwise on its normalised form like the columns of a ResultSet, so {@code :first_name} and {@code :firstName} both bind the column
+     * {@code first_name}. A name may occur more than once. Colons in quoted literals and PostgreSQL casts like {@code ::text} are left untouched.
+     *
+     * @param sql the SQL with named parameters
+     * @return the statement with positional parameters to prepare, which binds objects by name
+     * @throws IllegalArgumentException when a name does not match a column of this binder
+     */
+    public NamedParameters<T> forNamedParameters(final String sql) {
+        final StringBuilder positionalSql = new StringBuilder(sql.length());
+        final List<Integer> setterIndexes = new ArrayList<>();
+        char quote = 0;
+        int i = 0;
+
+        while (i < sql.length()) {
+            final char c = sql.charAt(i);
+
+            if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ':' && i + 1 < sql.length() && sql.charAt(i + 1) == ':') {
+                positionalSql.append("::");
+                i += 2;
+                continue;
+            } else if (c == ':' && i + 1 < sql.length() && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+                int end = i + 1;
+
+                while (end < sql.length() && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+
+                setterIndexes.add(indexOf(sql.substring(i + 1, end)));
+                positionalSql.append('?');
+                i = end;
+                continue;
+            }
+
+            positionalSql.append(c);
+            i++;
+        }
+
+        return new NamedParameters<>(this, positionalSql.toString(), setterIndexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private int indexOf(String parameterName) {
+        Integer index = columnIndexes.get(parameterName);
+
+        if (index == null) {
+            index = columnIndexes.get(ColumnResolver.normalise(parameterName));
+        }
+
+        if (index == null) {
+            throw new IllegalArgumentException(String.format("The named parameter '%s' does not match any of the columns %s of %s.", parameterName, getColumnNames(), sourceClass));
+        }
+
+        return index;
+    }
+
+    /**
+     * Binds every object and adds it to the batch of the statement. The batch is executed every time it contains the provided amount of objects.
+     *
+     * @param statement the statement to bind to
+     * @param objects   the objects to bind
+     * @param batchSize the amount of objects per executed batch
+     * @return the update counts of all objects
+     * @throws SQLException when a parameter can not be set or a batch fails
+     */
+    public int[] executeBatch(final PreparedStatement statement, final Iterable<? extends T> objects, final int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size has to be at least 1.");
+        }
+
+        int[] updateCounts = new int[0];
+        int batched = 0;
+
+        for (T object : objects) {
+            bind(statement, object);
+            statement.addBatch();
+
+            if (++batched == batchSize) {
+                updateCounts = concat(updateCounts, statement.executeBatch());
+                batched = 0;
+            }
+        }
+
+        return batched == 0 ? updateCounts : concat(updateCounts, statement.executeBatch());
+    }
+
+    /**
+     * Creates an insert statement with a row of parameters for every object: {@code INSERT INTO table (a, b) VALUES (?, ?), (?, ?)}.
+     * The table name is inserted as is and must therefore never come from user input.
+     *
+     * @param tableName the table to insert into
+     * @param rowCount  the amount of rows in the statement
+     * @return the insert statement
+     */
+    public String createInsertStatement(final String tableName, final int rowCount) {
+        if (rowCount < 1) {
+            throw new IllegalArgumentException("An insert statement has to contain at least 1 row.");
+        }
+
+        final StringJoiner row = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < columnNames.length; i++) {
+            row.add("?");
+        }
+
+        final StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(row.toString());
+        }
+
+        return "INSERT INTO " + tableName + " (" + String.join(", ", columnNames) + ") VALUES " + rows;
+    }
+
+    /**
+     * Inserts the objects with multi-row insert statements of the provided amount of rows. The full statement is prepared once and reused,
+     * the remaining objects are inserted with a smaller statement.
+     *
+     * @param connection       the connection to prepare the statements on
+     * @param tableName        the table to insert into, it is inserted in the statement as is
+     * @param objects          the objects to insert
+     * @param rowsPerStatement the amount of rows per insert statement
+     * @return the total update count
+     * @throws SQLException when a statement can not be prepared or executed
+     */
+    public long executeMultiRowInsert(final Connection connection, final String tableName, final List<? extends T> objects, final int rowsPerStatement) throws SQLException {
+        if (rowsPerStatement < 1) {
+            throw new IllegalArgumentException("An insert statement has to contain at least 1 row.");
+        }
+
+        final int fullStatements = objects.size() / rowsPerStatement;
+        final int remainingRows = objects.size() % rowsPerStatement;
+        long updateCount = 0;
+
+        if (fullStatements > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(createInsertStatement(tableName, rowsPerStatement))) {
+                for (int i = 0; i < fullStatements; i++) {
+                    updateCount += executeRows(statement, objects.subList(i * rowsPerStatement, (i + 1) * rowsPerStatement));
+                }
+            }
+        }
+
+        if (remainingRows > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(createInsertStatement(tableName, remainingRows))) {
+                updateCount += executeRows(statement, objects.subList(objects.size() - remainingRows, objects.size()));
+            }
+        }
+
+        return updateCount;
+    }
+
+    private int executeRows(PreparedStatement statement, List<? extends T> rows) throws SQLException {
+        for (int i = 0; i < rows.size(); i++) {
+            bind(statement, rows.get(i), 1 + i * columnNames.length);
+        }
+
+        return statement.executeUpdate();
+    }
+
+    /**
+     * A statement with named parameters that has been resolved against the columns of a {@link StatementBinder}, see {@link StatementBinder#forNamedParameters(String)}.
+     *
+     * @param <T> the class of the objects to bind
+     */
+    public static final class NamedParameters<T> {
+        private final StatementBinder<T> statementBinder;
+        private final String sql;
+        private final int[] setterIndexes;
+
+        private NamedParameters(StatementBinder<T> statementBinder, String sql, int[] setterIndexes) {
+            this.statementBinder = statementBinder;
+            this.sql = sql;
+            this.setterIndexes = setterIndexes;
+        }
+
+        /**
+         * Get the SQL in which every named parameter has been replaced by a positional parameter
+         *
+         * @return the SQL to prepare the statement with
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Get the amount of positional parameters, a name that occurs more than once counts for every occurrence
+         *
+         * @return the amount of parameters
+         */
+        public int getParameterCount() {
+            return setterIndexes.length;
+        }
+
+        /**
+         * Binds the object to the parameters of a statement prepared with {@link #getSql()}
+         *
+         * @param statement the statement to bind to
+         * @param object    the object to bind
+         * @throws SQLException when a parameter can not be set
+         */
+        public void bind(final PreparedStatement statement, final T object) throws SQLException {
+            try {
+                for (int i = 0; i < setterIndexes.length; i++) {
+                    statementBinder.parameterSetters[setterIndexes[i]].set(statement, i + 1, object);
+                }
+            } catch (IllegalAccessException ex) {
+                throw new MappingFailedException(String.format("%s could not be bound to the statement!", statementBinder.sourceClass), ex);
+            }
+        }
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        final int[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static ParameterSetter createParameterSetter(Field field, AttributeConverterRegistry attributeConverterRegistry, Function<Class<?>, EnumLookup> enumLookups) {
+        final Class<?> type = field.getType();
+        final Convert convertAnnotation = field.getAnnotation(Convert.class);
+        final AttributeConverter<?, ?> attributeConverter = convertAnnotation == null ? null : attributeConverterRegistry.getByClass(convertAnnotation.converter());
+
+        if (attributeConverter != null) {
+            if (!(attributeConverter instanceof ReversibleAttributeConverter)) {
+                throw new IllegalArgumentException(String.format("The attribute converter %s of field '%s' can not convert back, it has to implement %s.",
+                        attributeConverter.getClass().getName(), field.getName(), ReversibleAttributeConverter.class.getSimpleName()));
+            }
+
+            return convertingBack(field, (ReversibleAttributeConverter<?, ?>) attributeConverter);
+        } else if (type == Integer.TYPE) {
+            return (statement, index, object) -> statement.setInt(index, field.getInt(object));
+        } else if (type == Long.TYPE) {
+            return (statement, index, object) -> statement.setLong(index, field.getLong(object));
+        } else if (type == Double.TYPE) {
+            return (statement, index, object) -> statement.setDouble(index, field.getDouble(object));
+        } else if (type == Boolean.TYPE) {
+            return (statement, index, object) -> statement.setBoolean(index, field.getBoolean(object));
+        } else if (type == Float.TYPE) {
+            return (statement, index, object) -> statement.setFloat(index, field.getFloat(object));
+        } else if (type == Short.TYPE) {
+            return (statement, index, object) -> statement.setShort(index, field.getShort(object));
+        } else if (type == Byte.TYPE) {
+            return (statement, index, object) -> statement.setByte(index, field.getByte(object));
+        } else if (type == Character.TYPE) {
+            return (statement, index, object) -> statement.setString(index, String.valueOf(field.getChar(object)));
+        } else if (type == String.class) {
+            return (statement, index, object) -> statement.setString(index, (String) field.get(object));
+        } else if (type == BigDecimal.class) {
+            return (statement, index, object) -> statement.setBigDecimal(index, (BigDecimal) field.get(object));
+        } else if (type.isEnum()) {
+            return enumSetter(field, enumLookups.apply(type));
+        } else if (convertAnnotation == null) {
+            final ReversibleAttributeConverter<?, ?> reversibleAttributeConverter = attributeConverterRegistry.getReversibleByTarget(type);
+
+            if (reversibleAttributeConverter != null) {
+                return convertingBack(field, reversibleAttributeConverter);
+            }
+        }
+
+        final int sqlType = SQL_TYPES.getOrDefault(type, Types.NULL);
+        return (statement, index, object) -> {
+            final Object value = field.get(object);
+
+            if (value == null) {
+                statement.setNull(index, sqlType);
+            } else {
+                statement.setObject(index, value);
+            }
+        };
+    }
+
+    private static ParameterSetter convertingBack(Field field, ReversibleAttributeConverter<?, ?> reversibleAttributeConverter) {
+        final int sqlType = SQL_TYPES.getOrDefault(reversibleAttributeConverter.source(), Types.NULL);
+        @SuppressWarnings("unchecked") final ReversibleAttributeConverter<?, Object> objectConverter = (ReversibleAttributeConverter<?, Object>) reversibleAttributeConverter;
+
+        return (statement, index, object) -> {
+            final Object value = field.get(object);
+
+            if (value == null) {
+                statement.setNull(index, sqlType);
+            } else {
+                statement.setObject(index, objectConverter.convertBack(value));
+            }
+        };
+    }
+
+    private static ParameterSetter enumSetter(Field field, EnumLookup enumLookup) {
+        if (enumLookup.hasCodes()) {
+            return (statement, index, object) -> {
+                final Enum<?> value = (Enum<?>) field.get(object);
+                final Integer code = value == null ? null : enumLookup.codeOf(value);
+
+                if (code == null) {
+                    statement.setNull(index, Types.INTEGER);
+                } else {
+                    statement.setInt(index, code);
+                }
+            };
+        }
+
+        return (statement, index, object) -> {
+            final Enum<?> value = (Enum<?>) field.get(object);
+
+            if (value == null) {
+                statement.setNull(index, Types.VARCHAR);
+            } else {
+                statement.setString(index, value.name());
+            }
+        };
+    }
+
+    /**
+     * Sets the value of a field to a parameter of a statement. The implementation is chosen when the binder is created, based on the field type and the bound converter.
+     */
+    @FunctionalInterface
+    private interface ParameterSetter {
+        void set(PreparedStatement statement, int parameterIndex, Object object) throws SQLException, IllegalAccessException;
+    }
+}
@@ -0,0 +1,22 @@
+package nl.jiankai.mapper;
+
+/**
+ * The reason a mapping stopped before the ResultSet was exhausted, see {@link MappingOptions}.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public enum StopReason {
+    /**
+     * The deadline or timeout of the mapping has passed
+     */
+    DEADLINE_EXCEEDED,
+    /**
+     * The ResultSet has more rows than the maximum amount of rows
+     */
+    MAX_ROWS_EXCEEDED,
+    /**
+     * The {@link CancellationToken} of the mapping has been cancelled
+     */
+    CANCELLED
+}
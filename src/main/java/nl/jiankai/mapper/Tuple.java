@@ -0,0 +1,70 @@
+package nl.jiankai.mapper;
+
+import java.util.Arrays;
+
+/**
+ * The entities mapped from a single row by {@link ResultSetMapper#mapTuple(java.sql.ResultSet, TupleElement[])}, in the order of the tuple elements.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class Tuple {
+    private final Object[] values;
+
+    Tuple(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Get the amount of entities
+     *
+     * @return the size of the tuple
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Get the entity at the index
+     *
+     * @param index the index of the tuple element
+     * @return the entity
+     */
+    public Object get(final int index) {
+        return values[index];
+    }
+
+    /**
+     * Get the entity at the index as the provided class
+     *
+     * @param index the index of the tuple element
+     * @param type  the class of the entity
+     * @param <T>   the class of the entity
+     * @return the entity
+     */
+    public <T> T get(final int index, final Class<T> type) {
+        return type.cast(values[index]);
+    }
+
+    /**
+     * Get the first entity of the provided class
+     *
+     * @param type the class of the entity
+     * @param <T>  the class of the entity
+     * @return the entity
+     */
+    public <T> T get(final Class<T> type) {
+        for (Object value : values) {
+            if (type.isInstance(value)) {
+                return type.cast(value);
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("The tuple does not contain a %s.", type.getName()));
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
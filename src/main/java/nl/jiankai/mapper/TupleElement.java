@@ -0,0 +1,110 @@
+package nl.jiankai.mapper;
+
+import nl.jiankai.mapper.strategies.FieldNamingStrategy;
+
+import java.util.Objects;
+
+/**
+ * Describes one of the entities that are mapped from a single row by {@link ResultSetMapper#mapTuple(java.sql.ResultSet, TupleElement[])}.
+ * Every entity can have its own {@link FieldNamingStrategy} and a prefix that is put in front of all its column names, for instance {@code customer_}.
+ * <p>
+ * Elements are immutable, every {@code with} method returns a copy.
+ *
+ * @param <T> the class of the entity
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class TupleElement<T> {
+    private final Class<T> type;
+    private final FieldNamingStrategy fieldNamingStrategy;
+    private final String columnPrefix;
+
+    private TupleElement(Class<T> type, FieldNamingStrategy fieldNamingStrategy, String columnPrefix) {
+        this.type = Objects.requireNonNull(type);
+        this.fieldNamingStrategy = fieldNamingStrategy;
+        this.columnPrefix = Objects.requireNonNull(columnPrefix);
+    }
+
+    /**
+     * Describes an entity that is mapped with the field naming strategy of the mapper and without a column prefix
+     *
+     * @param type the class of the entity
+     * @param <T>  the class of the entity
+     * @return the element
+     */
+    public static <T> TupleElement<T> of(final Class<T> type) {
+        return new TupleElement<>(type, null, "");
+    }
+
+    /**
+     * Maps the field names of the entity with another field naming strategy than the mapper uses
+     *
+     * @param fieldNamingStrategy the field naming strategy
+     * @return the new element
+     */
+    public TupleElement<T> withFieldNamingStrategy(final FieldNamingStrategy fieldNamingStrategy) {
+        return new TupleElement<>(type, Objects.requireNonNull(fieldNamingStrategy), columnPrefix);
+    }
+
+    /**
+     * Puts a prefix in front of every column name of the entity, including the names defined with {@link nl.jiankai.annotations.Column}
+     *
+     * @param columnPrefix the prefix
+     * @return the new element
+     */
+    public TupleElement<T> withColumnPrefix(final String columnPrefix) {
+        return new TupleElement<>(type, fieldNamingStrategy, columnPrefix);
+    }
+
+    /**
+     * Get the class of the entity
+     *
+     * @return the class
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the field naming strategy of the entity
+     *
+     * @return the field naming strategy, or null when the strategy of the mapper is used
+     */
+    public FieldNamingStrategy getFieldNamingStrategy() {
+        return fieldNamingStrategy;
+    }
+
+    /**
+     * Get the prefix of the column names of the entity
+     *
+     * @return the prefix
+     */
+    public String getColumnPrefix() {
+        return columnPrefix;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TupleElement<?> that = (TupleElement<?>) o;
+        return type.equals(that.type) && Objects.equals(getStrategyClass(), that.getStrategyClass()) && columnPrefix.equals(that.columnPrefix);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, getStrategyClass(), columnPrefix);
+    }
+
+    /**
+     * Field naming strategies are stateless, so elements with strategies of the same class share their plan.
+     */
+    private Class<?> getStrategyClass() {
+        return fieldNamingStrategy == null ? null : fieldNamingStrategy.getClass();
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + (columnPrefix.isEmpty() ? "" : "(" + columnPrefix + ")");
+    }
+}
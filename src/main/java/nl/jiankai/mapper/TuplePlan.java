@@ -0,0 +1,116 @@
+package nl.jiankai.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The combined plan of the entities of a tuple. The columns of all entities are resolved up front and every column belongs to a single field,
+ * so each column of a row is read exactly once.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class TuplePlan implements RowMapper<Tuple> {
+    private final MappingPlan<?>[] mappingPlans;
+    private final int[] failureOffsets;
+    private final String[] columnNames;
+    private final String[] targetNames;
+    private volatile ColumnResolver.Resolved<TuplePlan> lastResolved;
+
+    TuplePlan(List<MappingPlan<?>> mappingPlans) {
+        this.mappingPlans = mappingPlans.toArray(new MappingPlan<?>[0]);
+        this.failureOffsets = new int[this.mappingPlans.length];
+        final List<String> columns = new ArrayList<>();
+        final List<String> targets = new ArrayList<>();
+
+        for (int i = 0; i < this.mappingPlans.length; i++) {
+            failureOffsets[i] = columns.size();
+
+            for (FieldMapping fieldMapping : this.mappingPlans[i].getFieldMappings()) {
+                if (columns.contains(fieldMapping.getColumnName())) {
+                    throw new IllegalArgumentException(String.format("The column '%s' is mapped by more than one element of the tuple, use a column prefix.", fieldMapping.getColumnName()));
+                }
+
+                columns.add(fieldMapping.getColumnName());
+                targets.add(this.mappingPlans[i].getDestinationClass().getSimpleName() + "." + fieldMapping.getField().getName());
+            }
+        }
+
+        this.columnNames = columns.toArray(new String[0]);
+        this.targetNames = targets.toArray(new String[0]);
+    }
+
+    private TuplePlan(TuplePlan plan, MappingPlan<?>[] mappingPlans) {
+        this.mappingPlans = mappingPlans;
+        this.failureOffsets = plan.failureOffsets;
+        this.columnNames = plan.columnNames;
+        this.targetNames = plan.targetNames;
+    }
+
+    @Override
+    public Tuple mapRow(ResultSet resultSet, FieldFailures fieldFailures) throws ReflectiveOperationException {
+        return new Tuple(mapEntities(resultSet, fieldFailures));
+    }
+
+    /**
+     * Maps the entities of the current row.
+     *
+     * @param resultSet     the ResultSet positioned on the row to be mapped
+     * @param fieldFailures collects the fields whose value could not be retrieved
+     * @return the entities in the order of the tuple elements
+     */
+    Object[] mapEntities(ResultSet resultSet, FieldFailures fieldFailures) throws ReflectiveOperationException {
+        final Object[] entities = new Object[mappingPlans.length];
+
+        for (int i = 0; i < mappingPlans.length; i++) {
+            entities[i] = mappingPlans[i].mapRow(resultSet, fieldFailures, failureOffsets[i]);
+        }
+
+        return entities;
+    }
+
+    /**
+     * Get the plan that reads the columns by their index in the ResultSet, see {@link MappingPlan#resolveColumns(ColumnResolver)}.
+     * The plan of every entity of the tuple is resolved.
+     *
+     * @param columnResolver the resolver of the ResultSet to be mapped
+     * @return the plan to map the ResultSet with
+     */
+    @Override
+    public TuplePlan resolveColumns(ColumnResolver columnResolver) throws SQLException {
+        final ColumnResolver.Resolved<TuplePlan> resolved = lastResolved;
+        TuplePlan resolvedPlan = resolved == null ? null : resolved.getPlan(columnResolver);
+
+        if (resolvedPlan == null) {
+            final MappingPlan<?>[] resolvedMappingPlans = new MappingPlan<?>[mappingPlans.length];
+            boolean changed = false;
+
+            for (int i = 0; i < mappingPlans.length; i++) {
+                resolvedMappingPlans[i] = mappingPlans[i].resolveColumns(columnResolver);
+                changed |= resolvedMappingPlans[i] != mappingPlans[i];
+            }
+
+            resolvedPlan = changed ? new TuplePlan(this, resolvedMappingPlans) : this;
+            lastResolved = new ColumnResolver.Resolved<>(columnResolver, resolvedPlan);
+        }
+
+        return resolvedPlan;
+    }
+
+    @Override
+    public FieldFailures createFieldFailures() {
+        return new FieldFailures(columnNames, targetNames);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String describeRow(Tuple row) {
+        return row.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package nl.jiankai.mapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of which JDBC drivers support retrieving {@code java.time} values directly through {@link ResultSet#getObject(String, Class)} (JDBC 4.2).
+ * Support is detected on the first retrieval per driver, identified by its {@link ResultSet} implementation, SQL type of the column and target type,
+ * as a driver may convert a {@code TIMESTAMP} column to a {@code LocalDateTime} but refuse to do so for a {@code VARCHAR} column.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class TypedRetrievalSupport {
+    private static final Set<Class<?>> JAVA_TIME_TYPES = Set.of(LocalDate.class, LocalTime.class, LocalDateTime.class, OffsetTime.class, OffsetDateTime.class, Instant.class);
+    private final Logger logger = LoggerFactory.getLogger(TypedRetrievalSupport.class);
+    private final Map<Retrieval, Boolean> supportByRetrieval = new ConcurrentHashMap<>();
+
+    /**
+     * Tells whether values of the type can be retrieved directly from drivers that support JDBC 4.2.
+     *
+     * @param type the field type
+     * @return whether the type is a {@code java.time} type
+     */
+    static boolean isJavaTimeType(Class<?> type) {
+        return JAVA_TIME_TYPES.contains(type);
+    }
+
+    /**
+     * Get whether the driver of the ResultSet supports retrieving the type directly from a column of the SQL type.
+     *
+     * @param resultSet the ResultSet of the driver
+     * @param sqlType   the SQL type of the column, see {@link ColumnReference#getSqlType()}
+     * @param type      the type to retrieve
+     * @return true or false when support has been detected, or null when it is not known yet
+     */
+    Boolean isSupported(ResultSet resultSet, int sqlType, Class<?> type) {
+        return supportByRetrieval.get(new Retrieval(resultSet.getClass(), sqlType, type));
+    }
+
+    /**
+     * Records whether the driver of the ResultSet supports retrieving the type directly from a column of the SQL type.
+     *
+     * @param resultSet the ResultSet of the driver
+     * @param sqlType   the SQL type of the column, see {@link ColumnReference#getSqlType()}
+     * @param type      the retrieved type
+     * @param supported whether the retrieval succeeded
+     */
+    void setSupported(ResultSet resultSet, int sqlType, Class<?> type, boolean supported) {
+        logger.debug("Direct retrieval of {} from SQL type {} is {}supported by {}", type, sqlType, supported ? "" : "not ", resultSet.getClass());
+        supportByRetrieval.putIfAbsent(new Retrieval(resultSet.getClass(), sqlType, type), supported);
+    }
+
+    private static final class Retrieval {
+        private final Class<?> driver;
+        private final int sqlType;
+        private final Class<?> type;
+
+        Retrieval(Class<?> driver, int sqlType, Class<?> type) {
+            this.driver = driver;
+            this.sqlType = sqlType;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Retrieval retrieval = (Retrieval) o;
+            return sqlType == retrieval.sqlType && driver == retrieval.driver && type == retrieval.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(driver, sqlType, type);
+        }
+    }
+}
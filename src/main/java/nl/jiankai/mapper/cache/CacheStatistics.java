@@ -0,0 +1,115 @@
+package nl.jiankai.mapper.cache;
+
+/**
+ * An immutable snapshot of the statistics of a {@link CachingResultSetMapper}.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+    private final long evictionCount;
+    private final long rejectionCount;
+    private final long weight;
+
+    CacheStatistics(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount, long totalLoadTimeNanos, long evictionCount, long rejectionCount, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.evictionCount = evictionCount;
+        this.rejectionCount = rejectionCount;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the amount of requests that were served from the cache, including requests that waited for a load of another caller
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the amount of requests that had to query and map the ResultSet themselves
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the amount of loads that completed successfully
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * @return the amount of loads that failed with an exception
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return the total time spent querying and mapping in nanoseconds
+     */
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    /**
+     * @return the amount of entries that have been evicted to make room for other entries
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the amount of loaded results that were not admitted to the cache because they were less popular than the entries they would replace
+     */
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    /**
+     * @return the total weight of the cached entries at the time the snapshot was taken
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the ratio of requests that were served from the cache, or 1.0 when there have been no requests yet
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the average time of a load in nanoseconds, or 0.0 when nothing has been loaded yet
+     */
+    public double getAverageLoadPenaltyNanos() {
+        final long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? 0.0 : (double) totalLoadTimeNanos / loadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", totalLoadTimeNanos=" + totalLoadTimeNanos +
+                ", evictionCount=" + evictionCount +
+                ", rejectionCount=" + rejectionCount +
+                ", weight=" + weight +
+                '}';
+    }
+}
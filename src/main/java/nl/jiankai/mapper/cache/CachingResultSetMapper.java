@@ -0,0 +1,382 @@
+package nl.jiankai.mapper.cache;
+
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class wraps a {@link ResultSetMapper} and keeps the mapped results in memory, so that repeated queries do not have to be executed and mapped again.
+ * Results are cached by a query key chosen by the caller together with the destination class.
+ * <p>
+ * Cached entries expire after the configured time to live. Every entry is weighed by a {@link Weigher}, by default the estimated amount of retained bytes,
+ * and entries are evicted in least recently used order once the total weight exceeds the maximum weight.
+ * A new entry is only admitted at the cost of an existing one when it has been requested more often recently (TinyLFU admission),
+ * so that a burst of one-off queries can not flush the popular results out of the cache.
+ * Concurrent misses for the same key are coalesced into a single load.
+ * <p>
+ * The returned lists are unmodifiable and shared between callers, the mapped objects must therefore not be modified.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class CachingResultSetMapper {
+    private final Logger logger = LoggerFactory.getLogger(CachingResultSetMapper.class);
+    private final ResultSetMapper resultSetMapper;
+    private final long maximumWeight;
+    private final long timeToLiveNanos;
+    private final Weigher weigher;
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<CacheKey, CompletableFuture<List<?>>> loadsInFlight = new ConcurrentHashMap<>();
+    private final FrequencySketch frequencySketch;
+    private long weight;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+
+    /**
+     * Builds a CachingResultSetMapper that weighs its entries by their estimated retained bytes
+     *
+     * @param resultSetMapper the mapper used to map the ResultSet on a cache miss
+     * @param maximumWeight   the maximum amount of estimated bytes the cache may retain
+     * @param timeToLive      how long a result stays valid after it has been loaded
+     */
+    public CachingResultSetMapper(final ResultSetMapper resultSetMapper, final long maximumWeight, final Duration timeToLive) {
+        this(resultSetMapper, maximumWeight, timeToLive, new RetainedSizeWeigher());
+    }
+
+    /**
+     * Builds a CachingResultSetMapper with a custom {@link Weigher}
+     *
+     * @param resultSetMapper the mapper used to map the ResultSet on a cache miss
+     * @param maximumWeight   the maximum total weight of the cached entries
+     * @param timeToLive      how long a result stays valid after it has been loaded
+     * @param weigher         the weigher used to weigh the cached entries
+     */
+    public CachingResultSetMapper(final ResultSetMapper resultSetMapper, final long maximumWeight, final Duration timeToLive, final Weigher weigher) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("The maximum weight can not be negative.");
+        }
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("The time to live can not be negative.");
+        }
+
+        this.resultSetMapper = Objects.requireNonNull(resultSetMapper);
+        this.maximumWeight = maximumWeight;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.weigher = Objects.requireNonNull(weigher);
+        this.frequencySketch = new FrequencySketch(1024);
+        logger.info("Caching mapped results up to a weight of {} for {}.", maximumWeight, timeToLive);
+    }
+
+    /**
+     * Get the mapper that is used on a cache miss
+     *
+     * @return the wrapped mapper
+     */
+    public ResultSetMapper getResultSetMapper() {
+        return resultSetMapper;
+    }
+
+    /**
+     * Returns the cached result for the query key and destination class. When there is none, the ResultSet is retrieved from the supplier and mapped.
+     * The supplier is not invoked when the result is cached or when another thread is already loading it.
+     *
+     * @param queryKey          the key identifying the query and its parameters
+     * @param resultSetSupplier executes the query on a cache miss
+     * @param destinationClass  the class to map to
+     * @param <T>               the desired class
+     * @return unmodifiable list of the mapped objects
+     */
+    public <T> List<T> map(final Object queryKey, final ResultSetSupplier resultSetSupplier, final Class<T> destinationClass) {
+        final CacheKey key = new CacheKey(queryKey, destinationClass);
+        List<?> cached = getIfPresent(key, true);
+
+        if (cached != null) {
+            hitCount.increment();
+            return cast(cached);
+        }
+
+        final CompletableFuture<List<?>> load = new CompletableFuture<>();
+        final CompletableFuture<List<?>> loadInFlight = loadsInFlight.putIfAbsent(key, load);
+
+        if (loadInFlight != null) {
+            logger.trace("Waiting for the result of {} that is already being loaded.", key);
+            hitCount.increment();
+            return cast(await(loadInFlight));
+        }
+
+        try {
+            cached = getIfPresent(key, false);
+
+            if (cached != null) {
+                hitCount.increment();
+                load.complete(cached);
+                return cast(cached);
+            }
+
+            missCount.increment();
+            final List<?> loaded = load(key, resultSetSupplier, destinationClass);
+            load.complete(loaded);
+            return cast(loaded);
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loadsInFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Removes the cached result of the query key and destination class
+     *
+     * @param queryKey         the key identifying the query and its parameters
+     * @param destinationClass the class that was mapped to
+     */
+    public void invalidate(final Object queryKey, final Class<?> destinationClass) {
+        synchronized (entries) {
+            final CacheEntry removed = entries.remove(new CacheKey(queryKey, destinationClass));
+
+            if (removed != null) {
+                weight -= removed.weight;
+            }
+        }
+    }
+
+    /**
+     * Removes all cached results
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Get a snapshot of the cache statistics
+     *
+     * @return the current statistics
+     */
+    public CacheStatistics getStatistics() {
+        final long currentWeight;
+
+        synchronized (entries) {
+            currentWeight = weight;
+        }
+
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                totalLoadTimeNanos.sum(), evictionCount.sum(), rejectionCount.sum(), currentWeight);
+    }
+
+    private List<?> load(CacheKey key, ResultSetSupplier resultSetSupplier, Class<?> destinationClass) {
+        final long start = System.nanoTime();
+        final List<?> mappedObjects;
+
+        try (ResultSet resultSet = resultSetSupplier.get()) {
+            mappedObjects = Collections.unmodifiableList(resultSetMapper.map(resultSet, destinationClass));
+        } catch (SQLException ex) {
+            recordLoadFailure(start);
+            throw new MappingFailedException("The ResultSet could not be retrieved!", ex);
+        } catch (RuntimeException ex) {
+            recordLoadFailure(start);
+            throw ex;
+        }
+
+        final long end = System.nanoTime();
+        totalLoadTimeNanos.add(end - start);
+        loadSuccessCount.increment();
+        put(key, new CacheEntry(mappedObjects, weigher.weigh(mappedObjects), end + timeToLiveNanos));
+        return mappedObjects;
+    }
+
+    private void recordLoadFailure(long start) {
+        totalLoadTimeNanos.add(System.nanoTime() - start);
+        loadFailureCount.increment();
+    }
+
+    private List<?> getIfPresent(CacheKey key, boolean recordRequest) {
+        synchronized (entries) {
+            if (recordRequest) {
+                frequencySketch.increment(key);
+            }
+
+            final CacheEntry entry = entries.get(key);
+
+            if (entry == null) {
+                return null;
+            } else if (entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                weight -= entry.weight;
+                return null;
+            }
+
+            return entry.mappedObjects;
+        }
+    }
+
+    private void put(CacheKey key, CacheEntry entry) {
+        if (entry.weight > maximumWeight) {
+            logger.debug("The result of {} weighs {} which exceeds the maximum weight, it will not be cached.", key, entry.weight);
+            rejectionCount.increment();
+            return;
+        }
+
+        synchronized (entries) {
+            removeExpiredEntries(System.nanoTime());
+            final CacheEntry previous = entries.get(key);
+            final long previousWeight = previous != null ? previous.weight : 0;
+            final int victimCount = countVictims(key, weight - previousWeight + entry.weight);
+
+            if (victimCount < 0) {
+                logger.debug("The result of {} is requested less often than the cached results, it will not be cached.", key);
+                rejectionCount.increment();
+                return;
+            }
+
+            final Iterator<Map.Entry<CacheKey, CacheEntry>> leastRecentlyUsed = entries.entrySet().iterator();
+            int evicted = 0;
+
+            while (evicted < victimCount) {
+                final Map.Entry<CacheKey, CacheEntry> victim = leastRecentlyUsed.next();
+
+                if (victim.getKey().equals(key)) {
+                    continue;
+                }
+
+                leastRecentlyUsed.remove();
+                weight -= victim.getValue().weight;
+                evictionCount.increment();
+                evicted++;
+            }
+
+            entries.put(key, entry);
+            weight += entry.weight - previousWeight;
+        }
+    }
+
+    /**
+     * Walks the least recently used entries that have to be evicted to make room for the candidate, without modifying the cache.
+     * The entry that is replaced by the candidate is not a victim, its weight is already left out of the required weight.
+     *
+     * @param key            the key of the candidate
+     * @param requiredWeight the total weight of the cache once the candidate has been admitted and before any entry has been evicted
+     * @return the amount of least recently used entries to evict, or -1 when one of them is requested more often than the candidate
+     */
+    private int countVictims(CacheKey key, long requiredWeight) {
+        final int candidateFrequency = frequencySketch.frequency(key);
+        final Iterator<Map.Entry<CacheKey, CacheEntry>> leastRecentlyUsed = entries.entrySet().iterator();
+        long remainingWeight = requiredWeight;
+        int victimCount = 0;
+
+        while (remainingWeight > maximumWeight) {
+            final Map.Entry<CacheKey, CacheEntry> victim = leastRecentlyUsed.next();
+
+            if (victim.getKey().equals(key)) {
+                continue;
+            }
+
+            if (frequencySketch.frequency(victim.getKey()) > candidateFrequency) {
+                return -1;
+            }
+
+            remainingWeight -= victim.getValue().weight;
+            victimCount++;
+        }
+
+        return victimCount;
+    }
+
+    private void removeExpiredEntries(long now) {
+        final Iterator<CacheEntry> iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            final CacheEntry entry = iterator.next();
+
+            if (entry.isExpired(now)) {
+                iterator.remove();
+                weight -= entry.weight;
+            }
+        }
+    }
+
+    private static List<?> await(CompletableFuture<List<?>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw new MappingFailedException("Something has gone wrong while mapping!", ex.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<?> mappedObjects) {
+        return (List<T>) mappedObjects;
+    }
+
+    private static class CacheEntry {
+        private final List<?> mappedObjects;
+        private final long weight;
+        private final long expiresAtNanos;
+
+        CacheEntry(List<?> mappedObjects, long weight, long expiresAtNanos) {
+            this.mappedObjects = mappedObjects;
+            this.weight = weight;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private static class CacheKey {
+        private final Object queryKey;
+        private final Class<?> destinationClass;
+
+        CacheKey(Object queryKey, Class<?> destinationClass) {
+            this.queryKey = Objects.requireNonNull(queryKey);
+            this.destinationClass = Objects.requireNonNull(destinationClass);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+            return Objects.equals(queryKey, that.queryKey) && Objects.equals(destinationClass, that.destinationClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryKey, destinationClass);
+        }
+
+        @Override
+        public String toString() {
+            return "'" + queryKey + "' mapped to " + destinationClass;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package nl.jiankai.mapper.cache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class keeps mapped entities by their class and identifier, so that a row of an entity that has already been mapped resolves to the same instance.
+ * It is used by a {@link nl.jiankai.mapper.ResultSetMapper} for the classes that have a field annotated with {@link nl.jiankai.annotations.Id}:
+ * when the identifier of a row is cached, the cached instance is returned and the other columns of the row are neither read nor converted.
+ * <p>
+ * Entities are identified by the value of their identifier column as it is returned by the driver. Integral numbers are compared by their value,
+ * so that an identifier can be invalidated as an int even when the driver returns it as a long.
+ * The cache holds at most the maximum amount of entities and evicts the least recently used entity when it is full.
+ * Cached entities are not refreshed when their row changes, they have to be invalidated explicitly.
+ * The cached entities are shared between all mappings and must therefore not be modified.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class EntityCache {
+    private final int maximumSize;
+    private final LinkedHashMap<EntityKey, Object> entities = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Builds an EntityCache
+     *
+     * @param maximumSize the maximum amount of entities the cache may hold
+     */
+    public EntityCache(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least 1.");
+        }
+
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Get the cached entity
+     *
+     * @param entityClass the class of the entity
+     * @param id          the identifier of the entity
+     * @param <T>         the class of the entity
+     * @return the cached entity, or null when it is not cached
+     */
+    public <T> T get(final Class<T> entityClass, final Object id) {
+        final Object entity;
+
+        synchronized (entities) {
+            entity = entities.get(new EntityKey(entityClass, id));
+        }
+
+        (entity != null ? hitCount : missCount).increment();
+        return entityClass.cast(entity);
+    }
+
+    /**
+     * Caches an entity, replacing the entity that was cached with the same identifier
+     *
+     * @param entityClass the class of the entity
+     * @param id          the identifier of the entity
+     * @param entity      the entity
+     */
+    public void put(final Class<?> entityClass, final Object id, final Object entity) {
+        final EntityKey key = new EntityKey(entityClass, id);
+        Objects.requireNonNull(entity);
+
+        synchronized (entities) {
+            entities.put(key, entity);
+
+            if (entities.size() > maximumSize) {
+                final Iterator<EntityKey> leastRecentlyUsed = entities.keySet().iterator();
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes the cached entity, its next row is mapped again
+     *
+     * @param entityClass the class of the entity
+     * @param id          the identifier of the entity
+     */
+    public void invalidate(final Class<?> entityClass, final Object id) {
+        synchronized (entities) {
+            entities.remove(new EntityKey(entityClass, id));
+        }
+    }
+
+    /**
+     * Removes all cached entities of the class
+     *
+     * @param entityClass the class of the entities
+     */
+    public void invalidateAll(final Class<?> entityClass) {
+        synchronized (entities) {
+            entities.keySet().removeIf(key -> key.entityClass == entityClass);
+        }
+    }
+
+    /**
+     * Removes all cached entities
+     */
+    public void invalidateAll() {
+        synchronized (entities) {
+            entities.clear();
+        }
+    }
+
+    /**
+     * Get the amount of cached entities
+     *
+     * @return the amount of entities
+     */
+    public int size() {
+        synchronized (entities) {
+            return entities.size();
+        }
+    }
+
+    /**
+     * Get the amount of rows that resolved to a cached entity
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Get the amount of rows whose entity was not cached
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Get the amount of entities that have been evicted because the cache was full
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private static class EntityKey {
+        private final Class<?> entityClass;
+        private final Object id;
+
+        EntityKey(Class<?> entityClass, Object id) {
+            this.entityClass = Objects.requireNonNull(entityClass);
+            this.id = normalise(Objects.requireNonNull(id));
+        }
+
+        private static Object normalise(Object id) {
+            if (id instanceof Integer || id instanceof Long || id instanceof Short || id instanceof Byte) {
+                return ((Number) id).longValue();
+            } else if (id instanceof BigInteger && ((BigInteger) id).bitLength() < Long.SIZE) {
+                return ((BigInteger) id).longValue();
+            } else if (id instanceof BigDecimal) {
+                try {
+                    return ((BigDecimal) id).longValueExact();
+                } catch (ArithmeticException ex) {
+                    return ((BigDecimal) id).stripTrailingZeros();
+                }
+            }
+
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            EntityKey that = (EntityKey) o;
+            return entityClass == that.entityClass && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityClass.hashCode() + id.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return entityClass.getSimpleName() + "#" + id;
+        }
+    }
+}
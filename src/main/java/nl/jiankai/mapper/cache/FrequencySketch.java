@@ -0,0 +1,89 @@
+package nl.jiankai.mapper.cache;
+
+/**
+ * A count-min sketch with 4-bit counters that estimates how often a key has been requested recently.
+ * All counters are halved once the number of recorded requests reaches ten times the width of the sketch, so that old popularity fades away.
+ * This is used by the {@link CachingResultSetMapper} to decide whether a new entry is worth evicting an older one (TinyLFU admission).
+ * Callers are responsible for synchronization.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0xbf58476d, 0x94d049bb, 0xc2b2ae35};
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        final int width = Integer.highestOneBit(Math.max(16, Math.min(expectedEntries, 1 << 24)) * 2 - 1);
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /**
+     * Records a request for the key.
+     *
+     * @param key the requested key
+     */
+    void increment(Object key) {
+        final int hash = spread(key.hashCode());
+        boolean incremented = false;
+
+        for (int row = 0; row < DEPTH; row++) {
+            final int index = indexOf(hash, row);
+
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Estimates how often the key has been requested recently.
+     *
+     * @param key the key to look up
+     * @return the estimated frequency, at most 15
+     */
+    int frequency(Object key) {
+        final int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[row][indexOf(hash, row)]);
+        }
+
+        return frequency;
+    }
+
+    private void reset() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 17;
+        return h & mask;
+    }
+
+    private static int spread(int hash) {
+        final int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
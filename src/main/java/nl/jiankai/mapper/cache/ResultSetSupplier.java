@@ -0,0 +1,25 @@
+package nl.jiankai.mapper.cache;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Supplies the {@link ResultSet} that has to be mapped when a {@link CachingResultSetMapper} has no usable cached result.
+ * The supplier is only invoked on a cache miss, which allows the query itself to be skipped when the result is cached.
+ * <p>
+ * The cache owns the returned ResultSet and closes it once it has been mapped, also when the mapping fails.
+ * Resources the ResultSet does not close itself, such as its statement, can be released by {@link java.sql.Statement#closeOnCompletion()}.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@FunctionalInterface
+public interface ResultSetSupplier {
+    /**
+     * Executes the query and returns its result.
+     *
+     * @return the ResultSet to be mapped, which is closed by the cache
+     * @throws SQLException when the query could not be executed
+     */
+    ResultSet get() throws SQLException;
+}
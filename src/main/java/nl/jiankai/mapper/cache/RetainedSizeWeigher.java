@@ -0,0 +1,113 @@
+package nl.jiankai.mapper.cache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The default {@link Weigher}. It estimates the amount of bytes retained by a mapped result, assuming a 64-bit JVM with compressed object pointers.
+ * Only the fields declared by the mapped objects and the strings, boxed primitives and temporal values they directly refer to are taken into account.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class RetainedSizeWeigher implements Weigher {
+    private static final int OBJECT_HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+    private static final int STRING_SHALLOW = 24;
+    private static final int BOXED_OR_TEMPORAL = 24;
+
+    private final ClassValue<Field[]> instanceFields = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            final List<Field> fields = new ArrayList<>();
+
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    private final ClassValue<Long> shallowSizes = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = OBJECT_HEADER;
+
+            for (Field field : instanceFields.get(type)) {
+                size += sizeOfSlot(field.getType());
+            }
+
+            return align(size);
+        }
+    };
+
+    @Override
+    public long weigh(List<?> mappedObjects) {
+        long weight = align(OBJECT_HEADER + 8) + align(ARRAY_HEADER + (long) REFERENCE * mappedObjects.size());
+
+        for (Object mappedObject : mappedObjects) {
+            weight += estimate(mappedObject);
+        }
+
+        return weight;
+    }
+
+    private long estimate(Object object) {
+        if (object == null) {
+            return 0;
+        }
+
+        final Class<?> type = object.getClass();
+        long size = shallowSizes.get(type);
+
+        for (Field field : instanceFields.get(type)) {
+            if (!field.getType().isPrimitive()) {
+                try {
+                    size += estimateReferenced(field.get(object));
+                } catch (IllegalAccessException ex) {
+                    // the field is skipped, an estimate is good enough
+                }
+            }
+        }
+
+        return size;
+    }
+
+    private static long estimateReferenced(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return align(STRING_SHALLOW) + align(ARRAY_HEADER + ((String) value).length());
+        } else if (value instanceof byte[]) {
+            return align(ARRAY_HEADER + ((byte[]) value).length);
+        }
+
+        return BOXED_OR_TEMPORAL;
+    }
+
+    private static int sizeOfSlot(Class<?> type) {
+        if (type == Long.TYPE || type == Double.TYPE) {
+            return 8;
+        } else if (type == Integer.TYPE || type == Float.TYPE) {
+            return 4;
+        } else if (type == Short.TYPE || type == Character.TYPE) {
+            return 2;
+        } else if (type == Byte.TYPE || type == Boolean.TYPE) {
+            return 1;
+        }
+
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
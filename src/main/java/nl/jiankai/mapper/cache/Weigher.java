@@ -0,0 +1,20 @@
+package nl.jiankai.mapper.cache;
+
+import java.util.List;
+
+/**
+ * Calculates the weight of a cached result. The {@link CachingResultSetMapper} evicts entries once the total weight of all entries exceeds its maximum weight.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@FunctionalInterface
+public interface Weigher {
+    /**
+     * Weighs a mapped result. The weight must not be negative.
+     *
+     * @param mappedObjects the mapped objects to be cached
+     * @return the weight of the result
+     */
+    long weigh(List<?> mappedObjects);
+}
@@ -6,12 +6,17 @@ import java.sql.Date;
 import java.time.LocalDate;
 
 @Converter(autoApply = true)
-public class DateToLocalDateConverter implements AttributeConverter<Date, LocalDate>{
+public class DateToLocalDateConverter implements ReversibleAttributeConverter<Date, LocalDate>{
     @Override
     public LocalDate convert(Date value) {
         return value.toLocalDate();
     }
 
+    @Override
+    public Date convertBack(LocalDate value) {
+        return Date.valueOf(value);
+    }
+
     @Override
     public Class<Date> source() {
         return Date.class;
@@ -0,0 +1,30 @@
+package nl.jiankai.mapper.converters;
+
+/**
+ * An {@link AttributeConverter} that converts a primitive {@code double} to a value of class T.
+ * When such a converter is bound to a field, the {@link nl.jiankai.mapper.ResultSetMapper} retrieves the value with {@link java.sql.ResultSet#getDouble(String)},
+ * so that the source value does not have to be boxed.
+ *
+ * @param <T> target class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface DoubleAttributeConverter<T> extends AttributeConverter<Double, T> {
+    /**
+     * Converts a primitive double to type T
+     *
+     * @param value value to be converted
+     * @return converted value
+     */
+    T convertDouble(double value);
+
+    @Override
+    default T convert(Double value) {
+        return convertDouble(value);
+    }
+
+    @Override
+    default Class<Double> source() {
+        return Double.class;
+    }
+}
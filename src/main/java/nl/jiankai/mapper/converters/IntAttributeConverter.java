@@ -0,0 +1,30 @@
+package nl.jiankai.mapper.converters;
+
+/**
+ * An {@link AttributeConverter} that converts a primitive {@code int} to a value of class T.
+ * When such a converter is bound to a field, the {@link nl.jiankai.mapper.ResultSetMapper} retrieves the value with {@link java.sql.ResultSet#getInt(String)},
+ * so that the source value does not have to be boxed.
+ *
+ * @param <T> target class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface IntAttributeConverter<T> extends AttributeConverter<Integer, T> {
+    /**
+     * Converts a primitive int to type T
+     *
+     * @param value value to be converted
+     * @return converted value
+     */
+    T convertInt(int value);
+
+    @Override
+    default T convert(Integer value) {
+        return convertInt(value);
+    }
+
+    @Override
+    default Class<Integer> source() {
+        return Integer.class;
+    }
+}
@@ -0,0 +1,30 @@
+package nl.jiankai.mapper.converters;
+
+/**
+ * An {@link AttributeConverter} that converts a primitive {@code long} to a value of class T.
+ * When such a converter is bound to a field, the {@link nl.jiankai.mapper.ResultSetMapper} retrieves the value with {@link java.sql.ResultSet#getLong(String)},
+ * so that the source value does not have to be boxed.
+ *
+ * @param <T> target class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface LongAttributeConverter<T> extends AttributeConverter<Long, T> {
+    /**
+     * Converts a primitive long to type T
+     *
+     * @param value value to be converted
+     * @return converted value
+     */
+    T convertLong(long value);
+
+    @Override
+    default T convert(Long value) {
+        return convertLong(value);
+    }
+
+    @Override
+    default Class<Long> source() {
+        return Long.class;
+    }
+}
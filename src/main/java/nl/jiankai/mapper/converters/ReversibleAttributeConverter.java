@@ -0,0 +1,19 @@
+package nl.jiankai.mapper.converters;
+
+/**
+ * An {@link AttributeConverter} that can also convert a value back, so that it can be used to bind fields to a {@link java.sql.PreparedStatement}.
+ *
+ * @param <S> source class
+ * @param <T> target class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface ReversibleAttributeConverter<S, T> extends AttributeConverter<S, T> {
+    /**
+     * Converts a value of type T back to type S
+     *
+     * @param value value to be converted back
+     * @return converted value
+     */
+    S convertBack(T value);
+}
@@ -6,12 +6,17 @@ import java.sql.Time;
 import java.time.LocalTime;
 
 @Converter(autoApply = true)
-public class TimeToLocalTimeConverter implements AttributeConverter<Time, LocalTime> {
+public class TimeToLocalTimeConverter implements ReversibleAttributeConverter<Time, LocalTime> {
     @Override
     public LocalTime convert(Time value) {
         return value.toLocalTime();
     }
 
+    @Override
+    public Time convertBack(LocalTime value) {
+        return Time.valueOf(value);
+    }
+
     @Override
     public Class<Time> source() {
         return Time.class;
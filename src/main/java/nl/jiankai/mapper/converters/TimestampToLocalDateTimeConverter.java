@@ -6,13 +6,18 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 
 @Converter(autoApply = true)
-public class TimestampToLocalDateTimeConverter implements AttributeConverter<Timestamp, LocalDateTime> {
+public class TimestampToLocalDateTimeConverter implements ReversibleAttributeConverter<Timestamp, LocalDateTime> {
 
     @Override
     public LocalDateTime convert(Timestamp value) {
         return value.toLocalDateTime();
     }
 
+    @Override
+    public Timestamp convertBack(LocalDateTime value) {
+        return Timestamp.valueOf(value);
+    }
+
     @Override
     public Class<Timestamp> source() {
         return Timestamp.class;
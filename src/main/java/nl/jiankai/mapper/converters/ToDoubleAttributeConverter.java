@@ -0,0 +1,30 @@
+package nl.jiankai.mapper.converters;
+
+/**
+ * An {@link AttributeConverter} that converts a value of class S to a primitive {@code double}.
+ * When such a converter is bound to a field of type {@code double}, the {@link nl.jiankai.mapper.ResultSetMapper} sets the converted value without boxing it.
+ * The target class is {@code double.class}, which allows the converter to be auto applied on {@code double} fields.
+ *
+ * @param <S> source class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface ToDoubleAttributeConverter<S> extends AttributeConverter<S, Double> {
+    /**
+     * Converts a value of type S to a primitive double
+     *
+     * @param value value to be converted
+     * @return converted value
+     */
+    double convertToDouble(S value);
+
+    @Override
+    default Double convert(S value) {
+        return convertToDouble(value);
+    }
+
+    @Override
+    default Class<Double> target() {
+        return Double.TYPE;
+    }
+}
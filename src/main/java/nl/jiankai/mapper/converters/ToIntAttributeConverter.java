@@ -0,0 +1,30 @@
+package nl.jiankai.mapper.converters;
+
+/**
+ * An {@link AttributeConverter} that converts a value of class S to a primitive {@code int}.
+ * When such a converter is bound to a field of type {@code int}, the {@link nl.jiankai.mapper.ResultSetMapper} sets the converted value without boxing it.
+ * The target class is {@code int.class}, which allows the converter to be auto applied on {@code int} fields.
+ *
+ * @param <S> source class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface ToIntAttributeConverter<S> extends AttributeConverter<S, Integer> {
+    /**
+     * Converts a value of type S to a primitive int
+     *
+     * @param value value to be converted
+     * @return converted value
+     */
+    int convertToInt(S value);
+
+    @Override
+    default Integer convert(S value) {
+        return convertToInt(value);
+    }
+
+    @Override
+    default Class<Integer> target() {
+        return Integer.TYPE;
+    }
+}
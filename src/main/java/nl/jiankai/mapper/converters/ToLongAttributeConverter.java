@@ -0,0 +1,30 @@
+package nl.jiankai.mapper.converters;
+
+/**
+ * An {@link AttributeConverter} that converts a value of class S to a primitive {@code long}.
+ * When such a converter is bound to a field of type {@code long}, the {@link nl.jiankai.mapper.ResultSetMapper} sets the converted value without boxing it.
+ * The target class is {@code long.class}, which allows the converter to be auto applied on {@code long} fields.
+ *
+ * @param <S> source class
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface ToLongAttributeConverter<S> extends AttributeConverter<S, Long> {
+    /**
+     * Converts a value of type S to a primitive long
+     *
+     * @param value value to be converted
+     * @return converted value
+     */
+    long convertToLong(S value);
+
+    @Override
+    default Long convert(S value) {
+        return convertToLong(value);
+    }
+
+    @Override
+    default Class<Long> target() {
+        return Long.TYPE;
+    }
+}
@@ -0,0 +1,35 @@
+package nl.jiankai.mapper.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event that is emitted when a {@link nl.jiankai.mapper.ResultSetMapper} has mapped a ResultSet.
+ * The duration of the event is the time spent mapping.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Name("nl.jiankai.mapper.MappingCompleted")
+@Label("Mapping Completed")
+@Description("A ResultSet has been mapped to a list of objects")
+@Category("ResultSet Mapper")
+@StackTrace(false)
+public class MappingCompletedEvent extends jdk.jfr.Event {
+    @Label("Destination Class")
+    public Class<?> destinationClass;
+
+    @Label("Row Count")
+    public long rowCount;
+
+    @Label("Column Count")
+    @Description("The amount of columns mapped per row")
+    public int columnCount;
+
+    @Label("Plan Cache Hit")
+    @Description("Whether the mapping plan of the destination class was already built")
+    public boolean planCacheHit;
+}
@@ -0,0 +1,28 @@
+package nl.jiankai.mapper.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event that is emitted when a {@link nl.jiankai.mapper.ResultSetMapper} has built the mapping plan of a class or the projection plan of an interface.
+ * The duration of the event is the time spent on reflection, annotation scanning and resolving the field names and converters.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Name("nl.jiankai.mapper.PlanCompiled")
+@Label("Plan Compiled")
+@Description("The mapping plan of a destination class or the projection plan of an interface has been built")
+@Category("ResultSet Mapper")
+@StackTrace(false)
+public class PlanCompiledEvent extends jdk.jfr.Event {
+    @Label("Destination Class")
+    public Class<?> destinationClass;
+
+    @Label("Field Count")
+    @Description("The amount of mapped fields, or getters of a projection")
+    public int fieldCount;
+}
@@ -0,0 +1,42 @@
+package nl.jiankai.mapper.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event that is emitted when converting a single value took longer than the threshold, by default 1 ms.
+ * The threshold can be changed in the recording settings.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@Name("nl.jiankai.mapper.SlowConversion")
+@Label("Slow Conversion")
+@Description("Converting a value with an attribute converter took longer than the threshold")
+@Category("ResultSet Mapper")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SlowConversionEvent extends jdk.jfr.Event {
+    private static final EventType EVENT_TYPE = EventType.getEventType(SlowConversionEvent.class);
+
+    @Label("Converter")
+    @Description("The attribute converter, or chain of attribute converters, that converted the value")
+    public String converter;
+
+    @Label("Field")
+    public String field;
+
+    /**
+     * Tells whether the event is enabled in any running recording. This allows the time measurement to be skipped altogether when it is not.
+     *
+     * @return whether the event is enabled
+     */
+    public static boolean isTypeEnabled() {
+        return EVENT_TYPE.isEnabled();
+    }
+}
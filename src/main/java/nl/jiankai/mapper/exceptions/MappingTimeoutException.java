@@ -0,0 +1,40 @@
+package nl.jiankai.mapper.exceptions;
+
+import nl.jiankai.mapper.StopReason;
+
+/**
+ * Thrown when a mapping stops before the ResultSet is exhausted, because its deadline passed, the ResultSet has more than the maximum amount of rows
+ * or the mapping was cancelled, and its options do not allow a partial result.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class MappingTimeoutException extends MappingFailedException {
+    private static final long serialVersionUID = 1L;
+    private final StopReason stopReason;
+    private final long rowCount;
+
+    public MappingTimeoutException(final StopReason stopReason, final long rowCount) {
+        super(String.format("The mapping has been stopped after %d rows: %s.", rowCount, stopReason), null);
+        this.stopReason = stopReason;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Get why the mapping has been stopped
+     *
+     * @return the reason
+     */
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Get the amount of rows that had been mapped when the mapping was stopped
+     *
+     * @return the amount of mapped rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+}
@@ -0,0 +1,98 @@
+package nl.jiankai.mapper.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Writes the exported rows in a compact binary format. All numbers are big endian.
+ * <ul>
+ *     <li>The file starts with the magic bytes {@code RSMX}, the format version as a byte and the amount of columns as an int,
+ *     followed by the column names as strings.</li>
+ *     <li>Every row consists of a value for every column. A value starts with a type byte followed by its payload:
+ *     {@link #NULL} without payload, {@link #INT} a 4 byte int, {@link #LONG} an 8 byte long, {@link #DOUBLE} an 8 byte double,
+ *     {@link #BOOLEAN} a single byte of 0 or 1, {@link #STRING} the int length of the UTF-8 bytes followed by the bytes,
+ *     and {@link #BYTES} the int length followed by the bytes.</li>
+ * </ul>
+ * Other values, such as dates and decimals, are written as the string of their string representation.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class BinaryExportWriter extends ChannelExportWriter {
+    public static final byte VERSION = 1;
+    public static final byte NULL = 0;
+    public static final byte INT = 1;
+    public static final byte LONG = 2;
+    public static final byte DOUBLE = 3;
+    public static final byte BOOLEAN = 4;
+    public static final byte STRING = 5;
+    public static final byte BYTES = 6;
+    private static final byte[] MAGIC = "RSMX".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Builds a binary writer
+     *
+     * @param channel the channel to write to, it is closed when the writer is closed
+     */
+    public BinaryExportWriter(final WritableByteChannel channel) {
+        super(channel);
+    }
+
+    /**
+     * Opens a binary writer on the file
+     *
+     * @param path the file, it is created or truncated
+     * @param gzip whether the file is gzip compressed
+     * @return the writer
+     * @throws IOException when the file could not be opened
+     */
+    public static BinaryExportWriter open(final Path path, final boolean gzip) throws IOException {
+        return new BinaryExportWriter(openChannel(path, gzip));
+    }
+
+    @Override
+    public void writeHeader(final String[] columnNames) throws IOException {
+        putBytes(MAGIC);
+        reserve(5).put(VERSION).putInt(columnNames.length);
+
+        for (String columnName : columnNames) {
+            putString(columnName);
+        }
+    }
+
+    @Override
+    public void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            reserve(1).put(NULL);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            reserve(5).put(INT).putInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            reserve(9).put(LONG).putLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            reserve(9).put(DOUBLE).putDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            reserve(2).put(BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof byte[]) {
+            final byte[] bytes = (byte[]) value;
+            reserve(5).put(BYTES).putInt(bytes.length);
+            putBytes(bytes);
+        } else {
+            reserve(1).put(STRING);
+            putString(value instanceof CharSequence ? (CharSequence) value : toText(value));
+        }
+    }
+
+    @Override
+    public void endRow() {
+        // the rows are delimited by the amount of columns
+    }
+
+    private void putString(CharSequence text) throws IOException {
+        final ByteBuffer buffer = reserve(4);
+        buffer.putInt(utf8Length(text));
+        putUtf8(text);
+    }
+}
@@ -0,0 +1,190 @@
+package nl.jiankai.mapper.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The base of the export writers that encode the values into a single reusable {@link ByteBuffer}, which is written to a channel whenever it is full.
+ * Text is encoded as UTF-8 directly into the buffer, without creating intermediate strings or byte arrays.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public abstract class ChannelExportWriter implements ExportWriter {
+    static final int BUFFER_SIZE = 64 * 1024;
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Builds a writer that writes to the channel
+     *
+     * @param channel the channel to write to, it is closed when the writer is closed
+     */
+    protected ChannelExportWriter(final WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the file to export to. Without compression the file is written through a {@link FileChannel}.
+     *
+     * @param path the file, it is created or truncated
+     * @param gzip whether the file is gzip compressed
+     * @return the channel to write to
+     * @throws IOException when the file could not be opened
+     */
+    protected static WritableByteChannel openChannel(final Path path, final boolean gzip) throws IOException {
+        if (gzip) {
+            return Channels.newChannel(new GZIPOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        }
+
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Makes sure the buffer has room for the amount of bytes, by writing it to the channel when it does not
+     *
+     * @param bytes the amount of bytes that are about to be put, a few at most
+     * @return the buffer
+     */
+    protected ByteBuffer reserve(final int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            writeBuffer();
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Puts the bytes, writing the buffer to the channel in between when they do not fit
+     *
+     * @param bytes the bytes to put
+     */
+    protected void putBytes(final byte[] bytes) throws IOException {
+        int offset = 0;
+
+        while (offset < bytes.length) {
+            final int length = Math.min(bytes.length - offset, reserve(1).remaining());
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Puts the characters encoded as UTF-8
+     *
+     * @param text the characters to put
+     */
+    protected void putUtf8(final CharSequence text) throws IOException {
+        putUtf8(text, 0, text.length());
+    }
+
+    /**
+     * Puts a range of the characters encoded as UTF-8
+     *
+     * @param text  the characters
+     * @param start the index of the first character to put
+     * @param end   the index after the last character to put
+     */
+    protected void putUtf8(final CharSequence text, final int start, final int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+
+            if (c < 0x80) {
+                reserve(1).put((byte) c);
+            } else if (c < 0x800) {
+                reserve(2).put((byte) (0xC0 | (c >> 6))).put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                reserve(4).put((byte) (0xF0 | (codePoint >> 18)))
+                        .put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((codePoint >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                reserve(1).put((byte) '?');
+            } else {
+                reserve(3).put((byte) (0xE0 | (c >> 12))).put((byte) (0x80 | ((c >> 6) & 0x3F))).put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Get the text of a value that has no encoding of its own. Arrays, like the primitive arrays of SQL ARRAY columns, are written as their elements.
+     *
+     * @param value the value, not null
+     * @return the text
+     */
+    protected static String toText(final Object value) {
+        if (value instanceof int[]) {
+            return Arrays.toString((int[]) value);
+        } else if (value instanceof long[]) {
+            return Arrays.toString((long[]) value);
+        } else if (value instanceof double[]) {
+            return Arrays.toString((double[]) value);
+        } else if (value instanceof Object[]) {
+            return Arrays.deepToString((Object[]) value);
+        }
+
+        return value.toString();
+    }
+
+    /**
+     * Computes the amount of bytes of the characters encoded as UTF-8, as {@link #putUtf8(CharSequence)} puts them
+     *
+     * @param text the characters
+     * @return the amount of bytes
+     */
+    protected static int utf8Length(final CharSequence text) {
+        int length = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
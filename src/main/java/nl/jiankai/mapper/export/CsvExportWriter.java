@@ -0,0 +1,157 @@
+package nl.jiankai.mapper.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Writes the exported rows as CSV (RFC 4180) encoded as UTF-8, starting with a header row of the column names.
+ * Values that contain the delimiter, a quote or a line break are quoted. Null values are written as empty values.
+ * Integral numbers are written digit by digit, other values by their string representation.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class CsvExportWriter extends ChannelExportWriter {
+    private final char delimiter;
+    private final char[] digits = new char[20];
+    private boolean firstValueOfRow = true;
+
+    /**
+     * Builds a CSV writer with a comma as delimiter
+     *
+     * @param channel the channel to write to, it is closed when the writer is closed
+     */
+    public CsvExportWriter(final WritableByteChannel channel) {
+        this(channel, ',');
+    }
+
+    /**
+     * Builds a CSV writer
+     *
+     * @param channel   the channel to write to, it is closed when the writer is closed
+     * @param delimiter the character between the values of a row
+     */
+    public CsvExportWriter(final WritableByteChannel channel, final char delimiter) {
+        super(channel);
+
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("The delimiter can not be a quote or a line break.");
+        }
+
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Opens a CSV writer on the file with a comma as delimiter
+     *
+     * @param path the file, it is created or truncated
+     * @param gzip whether the file is gzip compressed
+     * @return the writer
+     * @throws IOException when the file could not be opened
+     */
+    public static CsvExportWriter open(final Path path, final boolean gzip) throws IOException {
+        return new CsvExportWriter(openChannel(path, gzip));
+    }
+
+    @Override
+    public void writeHeader(final String[] columnNames) throws IOException {
+        for (String columnName : columnNames) {
+            writeValue(columnName);
+        }
+
+        endRow();
+    }
+
+    @Override
+    public void writeValue(final Object value) throws IOException {
+        if (!firstValueOfRow) {
+            putUtf8Char(delimiter);
+        }
+
+        firstValueOfRow = false;
+
+        if (value == null) {
+            return;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            putDecimal(((Number) value).longValue());
+        } else if (value instanceof CharSequence) {
+            putText((CharSequence) value);
+        } else {
+            putText(toText(value));
+        }
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        reserve(2).put((byte) '\r').put((byte) '\n');
+        firstValueOfRow = true;
+    }
+
+    private void putText(CharSequence text) throws IOException {
+        if (!needsQuotes(text)) {
+            putUtf8(text);
+            return;
+        }
+
+        reserve(1).put((byte) '"');
+        int start = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                putUtf8(text, start, i + 1);
+                reserve(1).put((byte) '"');
+                start = i + 1;
+            }
+        }
+
+        putUtf8(text, start, text.length());
+        reserve(1).put((byte) '"');
+    }
+
+    private boolean needsQuotes(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+
+            if (c == delimiter || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void putDecimal(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            putUtf8(Long.toString(value));
+            return;
+        }
+
+        if (value < 0) {
+            reserve(1).put((byte) '-');
+            value = -value;
+        }
+
+        int position = digits.length;
+
+        do {
+            digits[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+
+        final ByteBuffer buffer = reserve(digits.length - position);
+
+        for (int i = position; i < digits.length; i++) {
+            buffer.put((byte) digits[i]);
+        }
+    }
+
+    private void putUtf8Char(char c) throws IOException {
+        if (c < 0x80) {
+            reserve(1).put((byte) c);
+        } else {
+            putUtf8(String.valueOf(c));
+        }
+    }
+}
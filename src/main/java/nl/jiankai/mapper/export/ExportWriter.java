@@ -0,0 +1,43 @@
+package nl.jiankai.mapper.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes the rows exported by {@link nl.jiankai.mapper.ResultSetMapper#export(java.sql.ResultSet, Class, ExportWriter)} to an output.
+ * The values are passed one by one, so that exporting a row does not allocate an array or an object for it.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public interface ExportWriter extends Closeable {
+    /**
+     * Writes the names of the exported columns, before the first row.
+     *
+     * @param columnNames the column names in the order their values are written
+     * @throws IOException when the output could not be written
+     */
+    void writeHeader(String[] columnNames) throws IOException;
+
+    /**
+     * Writes the next value of the current row.
+     *
+     * @param value the converted value, or null
+     * @throws IOException when the output could not be written
+     */
+    void writeValue(Object value) throws IOException;
+
+    /**
+     * Ends the current row, the next value belongs to the next row.
+     *
+     * @throws IOException when the output could not be written
+     */
+    void endRow() throws IOException;
+
+    /**
+     * Writes everything that is buffered to the output.
+     *
+     * @throws IOException when the output could not be written
+     */
+    void flush() throws IOException;
+}
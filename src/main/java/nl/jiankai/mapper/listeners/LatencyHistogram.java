@@ -0,0 +1,97 @@
+package nl.jiankai.mapper.listeners;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds with log-linear buckets, in the style of HdrHistogram.
+ * Values below 128 ns are counted exactly, every power of two above that is split in 64 buckets, which keeps the relative error of a percentile below 1.6%.
+ * Values above 2^41 - 1 ns, roughly 36.6 minutes, are counted in the highest bucket.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAXIMUM_SHIFT = 34;
+    private static final long MAXIMUM_VALUE = (2L * SUB_BUCKET_COUNT << MAXIMUM_SHIFT) - 1;
+    private static final int BUCKET_COUNT = (MAXIMUM_SHIFT + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    void record(long nanos) {
+        final long value = Math.max(0, Math.min(nanos, MAXIMUM_VALUE));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalValue.add(value);
+        maximum.accumulate(value);
+    }
+
+    /**
+     * Takes a snapshot of the recorded latencies. Latencies recorded concurrently may or may not be part of it.
+     *
+     * @return the snapshot
+     */
+    MappingStatistics.LatencySnapshot snapshot() {
+        final long[] snapshotCounts = new long[BUCKET_COUNT];
+        long count = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshotCounts[i] = counts.get(i);
+            count += snapshotCounts[i];
+        }
+
+        final long max = maximum.get();
+        return new MappingStatistics.LatencySnapshot(count, count == 0 ? 0 : totalValue.sum() / Math.max(1, totalCount.sum()),
+                Math.min(max, percentile(snapshotCounts, count, 50.0)), Math.min(max, percentile(snapshotCounts, count, 90.0)),
+                Math.min(max, percentile(snapshotCounts, count, 99.0)), Math.min(max, percentile(snapshotCounts, count, 99.9)), max);
+    }
+
+    private static long percentile(long[] snapshotCounts, long count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+
+        for (int i = 0; i < snapshotCounts.length; i++) {
+            cumulative += snapshotCounts[i];
+
+            if (cumulative >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+
+        return MAXIMUM_VALUE;
+    }
+
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long subBucket = index - (long) shift * SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
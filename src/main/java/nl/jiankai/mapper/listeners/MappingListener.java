@@ -0,0 +1,72 @@
+package nl.jiankai.mapper.listeners;
+
+import java.lang.reflect.Field;
+
+/**
+ * Listener that is notified by the {@link nl.jiankai.mapper.ResultSetMapper} about the progress of mapping. It can be registered with
+ * {@link nl.jiankai.mapper.ResultSetMapper#addMappingListener(MappingListener)}. All methods have an empty default implementation, so only the events of interest have to be implemented.
+ * <p>
+ * Listeners are called synchronously on the mapping thread, possibly from multiple threads at once. They should be thread-safe and return quickly.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ * @see MappingStatistics
+ */
+public interface MappingListener {
+    /**
+     * Called before a ResultSet is mapped. Every started mapping is followed by either {@link #onMappingCompleted} or {@link #onMappingFailed},
+     * also when the ResultSet is null or empty.
+     *
+     * @param destinationClass the class to map to
+     */
+    default void onMappingStarted(Class<?> destinationClass) {
+    }
+
+    /**
+     * Called after a ResultSet has been mapped successfully.
+     *
+     * @param destinationClass the class that has been mapped to
+     * @param rowCount         the amount of mapped rows
+     * @param durationNanos    the time spent mapping in nanoseconds
+     */
+    default void onMappingCompleted(Class<?> destinationClass, long rowCount, long durationNanos) {
+    }
+
+    /**
+     * Called when mapping a ResultSet has failed.
+     *
+     * @param destinationClass the class that was mapped to
+     * @param cause            the reason of the failure
+     */
+    default void onMappingFailed(Class<?> destinationClass, Throwable cause) {
+    }
+
+    /**
+     * Called after the mapping plan of a class or the projection plan of an interface has been built.
+     *
+     * @param destinationClass the class or interface the plan has been built for
+     * @param fieldCount       the amount of mapped fields, or getters of a projection
+     * @param durationNanos    the time spent building the plan in nanoseconds, including looking up the fields and their annotations
+     */
+    default void onPlanBuilt(Class<?> destinationClass, int fieldCount, long durationNanos) {
+    }
+
+    /**
+     * Called after a value has been converted by an attribute converter.
+     *
+     * @param converter the attribute converter, or chain of attribute converters
+     * @param field     the field the value has been converted for, or null when it has been converted for a getter of a projection interface
+     */
+    default void onConversion(String converter, Field field) {
+    }
+
+    /**
+     * Called when an attribute converter has thrown an exception. The exception is rethrown after the listeners have been notified.
+     *
+     * @param converter the attribute converter, or chain of attribute converters
+     * @param field     the field the value was converted for, or null when it was converted for a getter of a projection interface
+     * @param exception the thrown exception
+     */
+    default void onConversionFailed(String converter, Field field, RuntimeException exception) {
+    }
+}
@@ -0,0 +1,272 @@
+package nl.jiankai.mapper.listeners;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MappingListener} that collects mapping statistics per destination class and converter. All counters are striped ({@link LongAdder})
+ * and latencies are recorded in lock-free histograms, so recording does not contend between mapping threads.
+ * Call {@link #snapshot()} to get a consistent enough view to export to a monitoring system.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class MappingStatistics implements MappingListener {
+    private final Map<Class<?>, ClassStatistics> classStatistics = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> converterInvocations = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> converterFailures = new ConcurrentHashMap<>();
+
+    @Override
+    public void onMappingCompleted(Class<?> destinationClass, long rowCount, long durationNanos) {
+        final ClassStatistics statistics = statisticsOf(destinationClass);
+        statistics.mappingCount.increment();
+        statistics.rowCount.add(rowCount);
+        statistics.mappingLatency.record(durationNanos);
+    }
+
+    @Override
+    public void onMappingFailed(Class<?> destinationClass, Throwable cause) {
+        statisticsOf(destinationClass).failureCount.increment();
+    }
+
+    @Override
+    public void onPlanBuilt(Class<?> destinationClass, int fieldCount, long durationNanos) {
+        final ClassStatistics statistics = statisticsOf(destinationClass);
+        statistics.planBuildCount.increment();
+        statistics.planBuildNanos.add(durationNanos);
+    }
+
+    @Override
+    public void onConversion(String converter, Field field) {
+        counterOf(converterInvocations, converter).increment();
+    }
+
+    @Override
+    public void onConversionFailed(String converter, Field field, RuntimeException exception) {
+        counterOf(converterFailures, converter).increment();
+    }
+
+    /**
+     * Takes a snapshot of the statistics collected so far.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        final Map<Class<?>, ClassSnapshot> classSnapshots = new HashMap<>();
+        classStatistics.forEach((destinationClass, statistics) -> classSnapshots.put(destinationClass, statistics.snapshot()));
+
+        return new Snapshot(classSnapshots, sums(converterInvocations), sums(converterFailures));
+    }
+
+    /**
+     * Resets all statistics.
+     */
+    public void reset() {
+        classStatistics.clear();
+        converterInvocations.clear();
+        converterFailures.clear();
+    }
+
+    private ClassStatistics statisticsOf(Class<?> destinationClass) {
+        final ClassStatistics statistics = classStatistics.get(destinationClass);
+        return statistics != null ? statistics : classStatistics.computeIfAbsent(destinationClass, c -> new ClassStatistics());
+    }
+
+    private static LongAdder counterOf(Map<String, LongAdder> counters, String converter) {
+        final LongAdder counter = counters.get(converter);
+        return counter != null ? counter : counters.computeIfAbsent(converter, c -> new LongAdder());
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        final Map<String, Long> sums = new HashMap<>();
+        counters.forEach((converter, counter) -> sums.put(converter, counter.sum()));
+        return Map.copyOf(sums);
+    }
+
+    private static class ClassStatistics {
+        private final LongAdder mappingCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder rowCount = new LongAdder();
+        private final LongAdder planBuildCount = new LongAdder();
+        private final LongAdder planBuildNanos = new LongAdder();
+        private final LatencyHistogram mappingLatency = new LatencyHistogram();
+
+        ClassSnapshot snapshot() {
+            return new ClassSnapshot(mappingCount.sum(), failureCount.sum(), rowCount.sum(), planBuildCount.sum(), planBuildNanos.sum(), mappingLatency.snapshot());
+        }
+    }
+
+    /**
+     * The statistics of all destination classes and converters at the time the snapshot was taken.
+     */
+    public static final class Snapshot {
+        private final Map<Class<?>, ClassSnapshot> classSnapshots;
+        private final Map<String, Long> converterInvocations;
+        private final Map<String, Long> converterFailures;
+
+        Snapshot(Map<Class<?>, ClassSnapshot> classSnapshots, Map<String, Long> converterInvocations, Map<String, Long> converterFailures) {
+            this.classSnapshots = Map.copyOf(classSnapshots);
+            this.converterInvocations = converterInvocations;
+            this.converterFailures = converterFailures;
+        }
+
+        /**
+         * @return the statistics per destination class
+         */
+        public Map<Class<?>, ClassSnapshot> getClassSnapshots() {
+            return classSnapshots;
+        }
+
+        /**
+         * @param destinationClass the destination class
+         * @return the statistics of the destination class, or null when nothing has been mapped to it
+         */
+        public ClassSnapshot getClassSnapshot(Class<?> destinationClass) {
+            return classSnapshots.get(destinationClass);
+        }
+
+        /**
+         * @return the amount of conversions per converter, or chain of converters
+         */
+        public Map<String, Long> getConverterInvocations() {
+            return converterInvocations;
+        }
+
+        /**
+         * @return the amount of failed conversions per converter, or chain of converters
+         */
+        public Map<String, Long> getConverterFailures() {
+            return converterFailures;
+        }
+    }
+
+    /**
+     * The statistics of a single destination class.
+     */
+    public static final class ClassSnapshot {
+        private final long mappingCount;
+        private final long failureCount;
+        private final long rowCount;
+        private final long planBuildCount;
+        private final long planBuildNanos;
+        private final LatencySnapshot mappingLatency;
+
+        ClassSnapshot(long mappingCount, long failureCount, long rowCount, long planBuildCount, long planBuildNanos, LatencySnapshot mappingLatency) {
+            this.mappingCount = mappingCount;
+            this.failureCount = failureCount;
+            this.rowCount = rowCount;
+            this.planBuildCount = planBuildCount;
+            this.planBuildNanos = planBuildNanos;
+            this.mappingLatency = mappingLatency;
+        }
+
+        /**
+         * @return the amount of successfully mapped ResultSets
+         */
+        public long getMappingCount() {
+            return mappingCount;
+        }
+
+        /**
+         * @return the amount of failed mappings
+         */
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * @return the total amount of mapped rows
+         */
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * @return the amount of times the mapping plan has been built
+         */
+        public long getPlanBuildCount() {
+            return planBuildCount;
+        }
+
+        /**
+         * @return the total time spent building mapping plans in nanoseconds
+         */
+        public long getPlanBuildNanos() {
+            return planBuildNanos;
+        }
+
+        /**
+         * @return the latency distribution of successful mappings
+         */
+        public LatencySnapshot getMappingLatency() {
+            return mappingLatency;
+        }
+    }
+
+    /**
+     * A latency distribution in nanoseconds. Percentiles are accurate to within 1.6%.
+     */
+    public static final class LatencySnapshot {
+        private final long count;
+        private final long mean;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final long maximum;
+
+        LatencySnapshot(long count, long mean, long p50, long p90, long p99, long p999, long maximum) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.maximum = maximum;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        public long getMaximum() {
+            return maximum;
+        }
+
+        @Override
+        public String toString() {
+            return "LatencySnapshot{" +
+                    "count=" + count +
+                    ", mean=" + mean +
+                    ", p50=" + p50 +
+                    ", p90=" + p90 +
+                    ", p99=" + p99 +
+                    ", p999=" + p999 +
+                    ", maximum=" + maximum +
+                    '}';
+        }
+    }
+}
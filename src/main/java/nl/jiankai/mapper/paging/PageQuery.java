@@ -0,0 +1,67 @@
+package nl.jiankai.mapper.paging;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepares the keyset query of a page for the {@link PagedMapper}. The query has to be ordered by the key and return the rows after the last key of the previous page.
+ *
+ * @param <K> the class of the key
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@FunctionalInterface
+public interface PageQuery<K> {
+    /**
+     * Prepares the query of a page with its parameters bound.
+     *
+     * @param connection the connection to prepare the statement on
+     * @param lastKey    the key of the last row of the previous page, or null for the first page
+     * @param pageSize   the maximum amount of rows of the page
+     * @return the statement that selects the page
+     * @throws SQLException when the statement could not be prepared
+     */
+    PreparedStatement prepare(Connection connection, K lastKey, int pageSize) throws SQLException;
+
+    /**
+     * Creates a page query from two statements. The first page statement has the page size as its only parameter,
+     * for instance {@code SELECT * FROM users ORDER BY id LIMIT ?}. The next page statement has the last key and the page size as its parameters,
+     * for instance {@code SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?}.
+     *
+     * @param firstPageQuery the statement of the first page
+     * @param nextPageQuery  the statement of the pages after the last key
+     * @param <K>            the class of the key
+     * @return the page query
+     */
+    static <K> PageQuery<K> of(final String firstPageQuery, final String nextPageQuery) {
+        return (connection, lastKey, pageSize) -> {
+            final PreparedStatement statement = connection.prepareStatement(lastKey == null ? firstPageQuery : nextPageQuery);
+
+            try {
+                if (lastKey == null) {
+                    statement.setInt(1, pageSize);
+                } else {
+                    statement.setObject(1, lastKey);
+                    statement.setInt(2, pageSize);
+                }
+
+                return statement;
+            } catch (SQLException | RuntimeException ex) {
+                closeAfterFailure(statement, ex);
+                throw ex;
+            }
+        };
+    }
+
+    /**
+     * Closes a statement whose parameters could not be bound, as it is never returned to the caller. A failure to close it is added to the original exception.
+     */
+    private static void closeAfterFailure(final PreparedStatement statement, final Exception failure) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package nl.jiankai.mapper.paging;
+
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class streams the rows of a query page by page using keyset pagination. The query of a page selects the rows after the key of the last row of the previous page,
+ * so that every page is found by an index seek instead of skipping all the rows before it.
+ * <p>
+ * The next pages are queried in the background while the current page is consumed, up to the configured prefetch depth.
+ * Every page is mapped by the same {@link ResultSetMapper}, so its cached mapping plan is reused for all pages.
+ * The stream should be closed when it is not consumed to the end, which stops the background queries.
+ *
+ * @param <T> the class to map to
+ * @param <K> the class of the key
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class PagedMapper<T, K> {
+    private final Logger logger = LoggerFactory.getLogger(PagedMapper.class);
+    private final ResultSetMapper resultSetMapper;
+    private final DataSource dataSource;
+    private final Connection connection;
+    private final PageQuery<K> pageQuery;
+    private final Class<T> destinationClass;
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final int pageSize;
+    private final int prefetchDepth;
+    private final Executor executor;
+
+    /**
+     * Builds a PagedMapper that takes a connection from the DataSource for every page and queries the pages on a background thread per stream
+     *
+     * @param resultSetMapper  the mapper used to map the pages
+     * @param dataSource       the DataSource to take the connections from
+     * @param pageQuery        prepares the query of a page
+     * @param destinationClass the class to map to
+     * @param keyExtractor     extracts the key from a mapped object
+     * @param pageSize         the amount of rows per page
+     * @param prefetchDepth    the amount of pages that may be queried ahead of the page being consumed
+     */
+    public PagedMapper(final ResultSetMapper resultSetMapper, final DataSource dataSource, final PageQuery<K> pageQuery, final Class<T> destinationClass,
+                       final Function<? super T, ? extends K> keyExtractor, final int pageSize, final int prefetchDepth) {
+        this(resultSetMapper, Objects.requireNonNull(dataSource), null, pageQuery, destinationClass, keyExtractor, pageSize, prefetchDepth, null);
+    }
+
+    /**
+     * Builds a PagedMapper that takes a connection from the DataSource for every page and queries the pages with the executor
+     *
+     * @param resultSetMapper  the mapper used to map the pages
+     * @param dataSource       the DataSource to take the connections from
+     * @param pageQuery        prepares the query of a page
+     * @param destinationClass the class to map to
+     * @param keyExtractor     extracts the key from a mapped object
+     * @param pageSize         the amount of rows per page
+     * @param prefetchDepth    the amount of pages that may be queried ahead of the page being consumed
+     * @param executor         the executor that queries the pages, a stream occupies one of its threads until it is consumed or closed
+     */
+    public PagedMapper(final ResultSetMapper resultSetMapper, final DataSource dataSource, final PageQuery<K> pageQuery, final Class<T> destinationClass,
+                       final Function<? super T, ? extends K> keyExtractor, final int pageSize, final int prefetchDepth, final Executor executor) {
+        this(resultSetMapper, Objects.requireNonNull(dataSource), null, pageQuery, destinationClass, keyExtractor, pageSize, prefetchDepth, Objects.requireNonNull(executor));
+    }
+
+    /**
+     * Builds a PagedMapper that queries all pages on the given connection. The connection is not closed by this class and must not be used by
+     * anyone else while a stream is open, since the pages are queried on a background thread.
+     *
+     * @param resultSetMapper  the mapper used to map the pages
+     * @param connection       the connection to query the pages on
+     * @param pageQuery        prepares the query of a page
+     * @param destinationClass the class to map to
+     * @param keyExtractor     extracts the key from a mapped object
+     * @param pageSize         the amount of rows per page
+     * @param prefetchDepth    the amount of pages that may be queried ahead of the page being consumed
+     */
+    public PagedMapper(final ResultSetMapper resultSetMapper, final Connection connection, final PageQuery<K> pageQuery, final Class<T> destinationClass,
+                       final Function<? super T, ? extends K> keyExtractor, final int pageSize, final int prefetchDepth) {
+        this(resultSetMapper, null, Objects.requireNonNull(connection), pageQuery, destinationClass, keyExtractor, pageSize, prefetchDepth, null);
+    }
+
+    private PagedMapper(ResultSetMapper resultSetMapper, DataSource dataSource, Connection connection, PageQuery<K> pageQuery, Class<T> destinationClass,
+                        Function<? super T, ? extends K> keyExtractor, int pageSize, int prefetchDepth, Executor executor) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be at least 1.");
+        }
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException("The prefetch depth must be at least 1.");
+        }
+
+        this.resultSetMapper = Objects.requireNonNull(resultSetMapper);
+        this.dataSource = dataSource;
+        this.connection = connection;
+        this.pageQuery = Objects.requireNonNull(pageQuery);
+        this.destinationClass = Objects.requireNonNull(destinationClass);
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
+        this.executor = executor != null ? executor : this::startDaemonThread;
+    }
+
+    /**
+     * Streams all rows of the query. The first page is queried right away, the next pages are queried while the previous pages are consumed.
+     * A failing page query, or a key extractor that fails on the last row of a page, ends the stream with a {@link MappingFailedException}
+     * once the pages before it have been consumed.
+     *
+     * @return the stream of the mapped objects in key order
+     */
+    public Stream<T> stream() {
+        final PageProducer producer = new PageProducer();
+        executor.execute(producer);
+
+        return StreamSupport.stream(new PageSpliterator(producer), false).onClose(producer::close);
+    }
+
+    private List<T> queryPage(K lastKey) throws SQLException {
+        if (dataSource == null) {
+            return queryPage(connection, lastKey);
+        }
+
+        try (Connection pageConnection = dataSource.getConnection()) {
+            return queryPage(pageConnection, lastKey);
+        }
+    }
+
+    private List<T> queryPage(Connection pageConnection, K lastKey) throws SQLException {
+        try (PreparedStatement statement = pageQuery.prepare(pageConnection, lastKey, pageSize);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSetMapper.map(resultSet, destinationClass);
+        }
+    }
+
+    private void startDaemonThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable, "paged-mapper-" + destinationClass.getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queries the pages one after the other and hands them over to the consumer. It blocks when the prefetch depth has been reached.
+     */
+    private class PageProducer implements Runnable {
+        private final BlockingQueue<Page<T>> pages = new ArrayBlockingQueue<>(prefetchDepth);
+        private final AtomicReference<Thread> thread = new AtomicReference<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            thread.set(Thread.currentThread());
+
+            try {
+                produce();
+            } catch (InterruptedException ex) {
+                logger.trace("Stopped querying the pages of {} because the stream has been closed.", destinationClass);
+            } finally {
+                thread.set(null);
+                // clears an interrupt from close() that arrived after the last page, so that it does not leak into a pooled thread
+                Thread.interrupted();
+            }
+        }
+
+        private void produce() throws InterruptedException {
+            K lastKey = null;
+            int pageNumber = 0;
+
+            while (!closed.get()) {
+                final List<T> rows;
+                final boolean last;
+                final K nextKey;
+
+                try {
+                    rows = queryPage(lastKey);
+                    last = rows.size() < pageSize;
+                    nextKey = last ? null : keyExtractor.apply(rows.get(rows.size() - 1));
+                } catch (Throwable ex) {
+                    // every failure, including an Error or a failing key extractor, has to end the stream, otherwise the consumer waits forever
+                    logger.error("Page {} of {} could not be queried!", pageNumber, destinationClass, ex);
+                    pages.put(new Page<>(Collections.emptyList(), true, ex));
+                    return;
+                }
+
+                logger.debug("Queried page {} of {} with {} rows.", pageNumber, destinationClass, rows.size());
+                pages.put(new Page<>(rows, last, null));
+
+                if (last) {
+                    return;
+                }
+
+                lastKey = nextKey;
+                pageNumber++;
+            }
+        }
+
+        Page<T> take() {
+            try {
+                return pages.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MappingFailedException("Interrupted while waiting for the next page!", ex);
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                final Thread producerThread = thread.get();
+
+                if (producerThread != null) {
+                    producerThread.interrupt();
+                }
+
+                pages.clear();
+            }
+        }
+    }
+
+    /**
+     * Flattens the queried pages into the rows of the stream.
+     */
+    private class PageSpliterator extends Spliterators.AbstractSpliterator<T> {
+        private final PageProducer producer;
+        private Iterator<T> rows = Collections.emptyIterator();
+        private boolean lastPageTaken;
+
+        PageSpliterator(PageProducer producer) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.producer = producer;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!rows.hasNext()) {
+                if (lastPageTaken) {
+                    return false;
+                }
+
+                final Page<T> page = producer.take();
+                lastPageTaken = page.last;
+
+                if (page.failure != null) {
+                    throw new MappingFailedException("A page could not be queried!", page.failure);
+                }
+
+                rows = page.rows.iterator();
+            }
+
+            action.accept(rows.next());
+            return true;
+        }
+    }
+
+    private static class Page<T> {
+        private final List<T> rows;
+        private final boolean last;
+        private final Throwable failure;
+
+        Page(List<T> rows, boolean last, Throwable failure) {
+            this.rows = rows;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package nl.jiankai.mapper.partitioning;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A range of keys that is queried as one part of a partitioned query. The lower bound is inclusive and the upper bound is exclusive.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public final class Partition {
+    private final int index;
+    private final Object lowerBound;
+    private final Object upperBound;
+
+    /**
+     * Builds a partition
+     *
+     * @param index      the position of the partition among the partitions of a query
+     * @param lowerBound the lowest key of the partition, inclusive
+     * @param upperBound the key after the highest key of the partition, exclusive
+     */
+    public Partition(final int index, final Object lowerBound, final Object upperBound) {
+        this.index = index;
+        this.lowerBound = Objects.requireNonNull(lowerBound);
+        this.upperBound = Objects.requireNonNull(upperBound);
+    }
+
+    /**
+     * Splits a range of numeric keys into partitions of about equal width
+     *
+     * @param fromInclusive the lowest key
+     * @param toExclusive   the key after the highest key
+     * @param count         the amount of partitions, less partitions are returned when the range is smaller than that
+     * @return the partitions in key order
+     */
+    public static List<Partition> ranges(final long fromInclusive, final long toExclusive, final int count) {
+        final List<Partition> partitions = new ArrayList<>();
+
+        for (long[] range : split(fromInclusive, toExclusive, count)) {
+            partitions.add(new Partition(partitions.size(), range[0], range[1]));
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Splits a range of dates into partitions of about equal amounts of days
+     *
+     * @param fromInclusive the first date
+     * @param toExclusive   the date after the last date
+     * @param count         the amount of partitions, less partitions are returned when the range has less days than that
+     * @return the partitions in date order
+     */
+    public static List<Partition> ranges(final LocalDate fromInclusive, final LocalDate toExclusive, final int count) {
+        final List<Partition> partitions = new ArrayList<>();
+
+        for (long[] range : split(fromInclusive.toEpochDay(), toExclusive.toEpochDay(), count)) {
+            partitions.add(new Partition(partitions.size(), LocalDate.ofEpochDay(range[0]), LocalDate.ofEpochDay(range[1])));
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Splits a range of date times into partitions of about equal duration, to the second
+     *
+     * @param fromInclusive the first date time
+     * @param toExclusive   the date time after the last date time
+     * @param count         the amount of partitions, less partitions are returned when the range has less seconds than that
+     * @return the partitions in date time order
+     */
+    public static List<Partition> ranges(final LocalDateTime fromInclusive, final LocalDateTime toExclusive, final int count) {
+        final List<Partition> partitions = new ArrayList<>();
+        final long seconds = Duration.between(fromInclusive, toExclusive).getSeconds();
+
+        for (long[] range : split(0, seconds, count)) {
+            final LocalDateTime lowerBound = fromInclusive.plusSeconds(range[0]);
+            final LocalDateTime upperBound = range[1] == seconds ? toExclusive : fromInclusive.plusSeconds(range[1]);
+            partitions.add(new Partition(partitions.size(), lowerBound, upperBound));
+        }
+
+        return partitions;
+    }
+
+    private static List<long[]> split(long fromInclusive, long toExclusive, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("The amount of partitions must be at least 1.");
+        }
+        if (toExclusive < fromInclusive) {
+            throw new IllegalArgumentException("The end of the range can not be before its start.");
+        }
+
+        final List<long[]> ranges = new ArrayList<>();
+        final long width = toExclusive - fromInclusive;
+        final long partitionCount = Math.max(1, Math.min(count, width));
+        long lowerBound = fromInclusive;
+
+        for (long i = 1; i <= partitionCount; i++) {
+            final long upperBound = i == partitionCount ? toExclusive : fromInclusive + width / partitionCount * i + Math.min(i, width % partitionCount);
+            ranges.add(new long[]{lowerBound, upperBound});
+            lowerBound = upperBound;
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Get the position of the partition among the partitions of a query
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the lowest key of the partition
+     *
+     * @return the inclusive lower bound
+     */
+    public Object getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Get the key after the highest key of the partition
+     *
+     * @return the exclusive upper bound
+     */
+    public Object getUpperBound() {
+        return upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return "partition " + index + " [" + lowerBound + ", " + upperBound + ")";
+    }
+}
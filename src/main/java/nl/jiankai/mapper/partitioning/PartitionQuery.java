@@ -0,0 +1,57 @@
+package nl.jiankai.mapper.partitioning;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepares the query of a single partition for the {@link PartitionedMapper}. The query has to select the rows whose key is within the range of the partition.
+ *
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+@FunctionalInterface
+public interface PartitionQuery {
+    /**
+     * Prepares the query of a partition with its parameters bound.
+     *
+     * @param connection the connection to prepare the statement on
+     * @param partition  the range of keys to select
+     * @return the statement that selects the rows of the partition
+     * @throws SQLException when the statement could not be prepared
+     */
+    PreparedStatement prepare(Connection connection, Partition partition) throws SQLException;
+
+    /**
+     * Creates a partition query from a statement that has the lower bound and the upper bound of the range as its parameters,
+     * for instance {@code SELECT * FROM orders WHERE id >= ? AND id < ?}.
+     *
+     * @param query the statement of a partition
+     * @return the partition query
+     */
+    static PartitionQuery of(final String query) {
+        return (connection, partition) -> {
+            final PreparedStatement statement = connection.prepareStatement(query);
+
+            try {
+                statement.setObject(1, partition.getLowerBound());
+                statement.setObject(2, partition.getUpperBound());
+                return statement;
+            } catch (SQLException | RuntimeException ex) {
+                closeAfterFailure(statement, ex);
+                throw ex;
+            }
+        };
+    }
+
+    /**
+     * Closes a statement whose parameters could not be bound, as it is never returned to the caller. A failure to close it is added to the original exception.
+     */
+    private static void closeAfterFailure(final PreparedStatement statement, final Exception failure) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+}
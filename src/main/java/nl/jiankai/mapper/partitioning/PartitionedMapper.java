@@ -0,0 +1,290 @@
+package nl.jiankai.mapper.partitioning;
+
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class splits a query into ranges of its key and queries the partitions concurrently, each on its own connection from the DataSource.
+ * All partitions are mapped with the same {@link ResultSetMapper}, so they share its mapping plan.
+ * <p>
+ * The rows of the partitions are handed over in batches as they are mapped, the result is therefore not ordered.
+ * The amount of partitions that is queried at the same time is limited per call, the other partitions wait until one of them is done.
+ *
+ * @param <T> the class to map to
+ * @author Jiankai Zheng (jk.zheng@hotmail.com)
+ * @since 1.7.0
+ */
+public class PartitionedMapper<T> {
+    static final int BATCH_SIZE = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(PartitionedMapper.class);
+    private final ResultSetMapper resultSetMapper;
+    private final DataSource dataSource;
+    private final PartitionQuery partitionQuery;
+    private final Class<T> destinationClass;
+    private final Executor executor;
+
+    /**
+     * Builds a PartitionedMapper that queries every partition on its own daemon thread
+     *
+     * @param resultSetMapper  the mapper used to map the partitions
+     * @param dataSource       the DataSource to take a connection from for every partition
+     * @param partitionQuery   prepares the query of a partition
+     * @param destinationClass the class to map to
+     */
+    public PartitionedMapper(final ResultSetMapper resultSetMapper, final DataSource dataSource, final PartitionQuery partitionQuery, final Class<T> destinationClass) {
+        this(resultSetMapper, dataSource, partitionQuery, destinationClass, null);
+    }
+
+    /**
+     * Builds a PartitionedMapper that queries the partitions with the executor
+     *
+     * @param resultSetMapper  the mapper used to map the partitions
+     * @param dataSource       the DataSource to take a connection from for every partition
+     * @param partitionQuery   prepares the query of a partition
+     * @param destinationClass the class to map to
+     * @param executor         the executor that queries the partitions, a call occupies up to its concurrency limit of its threads
+     */
+    public PartitionedMapper(final ResultSetMapper resultSetMapper, final DataSource dataSource, final PartitionQuery partitionQuery, final Class<T> destinationClass,
+                             final Executor executor) {
+        this.resultSetMapper = Objects.requireNonNull(resultSetMapper);
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.partitionQuery = Objects.requireNonNull(partitionQuery);
+        this.destinationClass = Objects.requireNonNull(destinationClass);
+        this.executor = executor != null ? executor : this::startDaemonThread;
+    }
+
+    /**
+     * Queries and maps all partitions
+     *
+     * @param partitions     the partitions to query
+     * @param maxConcurrency the maximum amount of partitions that is queried at the same time
+     * @return list of the mapped objects of all partitions, not ordered
+     */
+    public List<T> map(final List<Partition> partitions, final int maxConcurrency) {
+        try (Stream<T> rows = stream(partitions, maxConcurrency)) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Streams the mapped objects of all partitions as they are mapped. A failing partition ends the stream with a {@link MappingFailedException}
+     * and stops the other partitions. The stream should be closed when it is not consumed to the end, which stops the partitions that are still being queried.
+     *
+     * @param partitions     the partitions to query
+     * @param maxConcurrency the maximum amount of partitions that is queried at the same time
+     * @return stream of the mapped objects of all partitions, not ordered
+     */
+    public Stream<T> stream(final List<Partition> partitions, final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The concurrency limit must be at least 1.");
+        }
+
+        final PartitionWorkers workers = new PartitionWorkers(partitions, Math.min(maxConcurrency, partitions.size()));
+        workers.start();
+
+        return StreamSupport.stream(new BatchSpliterator(workers), false).onClose(workers::close);
+    }
+
+    private void startDaemonThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable, "partitioned-mapper-" + destinationClass.getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * The workers of a single call. Every worker takes the next partition that has not been queried yet until none are left, so that no more
+     * partitions than workers are queried at the same time. The last worker to finish signals the end of the rows.
+     */
+    private class PartitionWorkers implements Runnable {
+        private final Queue<Partition> remainingPartitions;
+        private final int workerCount;
+        private final AtomicInteger runningWorkers;
+        private final BlockingQueue<Batch<T>> batches;
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private volatile boolean closed;
+
+        PartitionWorkers(List<Partition> partitions, int workerCount) {
+            this.remainingPartitions = new ConcurrentLinkedQueue<>(partitions);
+            this.workerCount = workerCount;
+            this.runningWorkers = new AtomicInteger(workerCount);
+            this.batches = new ArrayBlockingQueue<>(2 * Math.max(1, workerCount));
+        }
+
+        void start() {
+            if (workerCount == 0) {
+                batches.add(new Batch<>(Collections.emptyList(), true, null));
+                return;
+            }
+
+            for (int i = 0; i < workerCount; i++) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            final Thread thread = Thread.currentThread();
+            threads.add(thread);
+
+            try {
+                Partition partition;
+
+                while (!closed && (partition = remainingPartitions.poll()) != null) {
+                    queryPartition(partition);
+                }
+            } catch (InterruptedException ex) {
+                logger.trace("Stopped querying the partitions of {} because the stream has been closed.", destinationClass);
+            } finally {
+                // the last worker signals the end of the rows however it stopped, otherwise the consumer waits forever
+                if (runningWorkers.decrementAndGet() == 0 && !closed) {
+                    endRows();
+                }
+
+                threads.remove(thread);
+                // clears an interrupt from close() that arrived after the last partition, so that it does not leak into a pooled thread
+                Thread.interrupted();
+            }
+        }
+
+        private void endRows() {
+            try {
+                batches.put(new Batch<>(Collections.emptyList(), true, null));
+            } catch (InterruptedException ex) {
+                logger.trace("Stopped querying the partitions of {} because the stream has been closed.", destinationClass);
+            }
+        }
+
+        private void queryPartition(Partition partition) throws InterruptedException {
+            final long start = System.nanoTime();
+            long rowCount = 0;
+
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = partitionQuery.prepare(connection, partition);
+                 ResultSet resultSet = statement.executeQuery();
+                 Stream<T> rows = resultSetMapper.stream(resultSet, destinationClass)) {
+                final Iterator<T> iterator = rows.iterator();
+                List<T> batch = new ArrayList<>(BATCH_SIZE);
+
+                while (!closed && iterator.hasNext()) {
+                    batch.add(iterator.next());
+
+                    if (batch.size() == BATCH_SIZE) {
+                        batches.put(new Batch<>(batch, false, null));
+                        rowCount += batch.size();
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    batches.put(new Batch<>(batch, false, null));
+                    rowCount += batch.size();
+                }
+            } catch (InterruptedException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                // every failure, including an Error thrown while mapping, has to end the stream, otherwise the consumer waits forever
+                if (!closed) {
+                    logger.error("The {} of {} could not be queried!", partition, destinationClass, ex);
+                    closed = true;
+                    batches.put(new Batch<>(Collections.emptyList(), true, ex));
+                }
+                return;
+            }
+
+            logger.debug("Queried {} of {} with {} rows in {} ms.", partition, destinationClass, rowCount, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        Batch<T> take() {
+            try {
+                return batches.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MappingFailedException("Interrupted while waiting for the next partition!", ex);
+            }
+        }
+
+        void close() {
+            closed = true;
+
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+
+            batches.clear();
+        }
+    }
+
+    /**
+     * Flattens the batches of the partitions into the rows of the stream.
+     */
+    private class BatchSpliterator extends Spliterators.AbstractSpliterator<T> {
+        private final PartitionWorkers workers;
+        private Iterator<T> rows = Collections.emptyIterator();
+        private boolean lastBatchTaken;
+
+        BatchSpliterator(PartitionWorkers workers) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+            this.workers = workers;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!rows.hasNext()) {
+                if (lastBatchTaken) {
+                    return false;
+                }
+
+                final Batch<T> batch = workers.take();
+                lastBatchTaken = batch.last;
+
+                if (batch.failure != null) {
+                    throw new MappingFailedException("A partition could not be queried!", batch.failure);
+                }
+
+                rows = batch.rows.iterator();
+            }
+
+            action.accept(rows.next());
+            return true;
+        }
+    }
+
+    private static class Batch<T> {
+        private final List<T> rows;
+        private final boolean last;
+        private final Throwable failure;
+
+        Batch(List<T> rows, boolean last, Throwable failure) {
+            this.rows = rows;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+}
@@ -3,9 +3,7 @@ package nl.jiankai.mapper.strategies;
 public class LowerCaseDashesFieldNamingStrategy implements FieldNamingStrategy {
     @Override
     public String transform(String fieldName) {
-        String[] splitByCapital = StringUtil.splitStringByCapitalLetter(fieldName);
-
-        return String.join("-", splitByCapital);
+        return StringUtil.toLowerCaseSeparated(fieldName, '-');
     }
 
     @Override
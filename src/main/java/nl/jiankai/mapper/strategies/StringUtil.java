@@ -1,13 +1,38 @@
 package nl.jiankai.mapper.strategies;
 
-import java.util.Arrays;
-
 class StringUtil {
 
-    static String[] splitStringByCapitalLetter(String s) {
-        String[] splitByCapital = s.split("(?=\\p{Lu})");
-        return Arrays.stream(splitByCapital)
-                .map(String::toLowerCase)
-                .toArray(String[]::new);
+    /**
+     * Transforms a camelCase name in a single pass: the name is lower cased and every upper case letter that does not start the name is preceded by the separator.
+     * A name that is already lower case is returned as is.
+     *
+     * @param s         the name to transform
+     * @param separator the character to put between the words
+     * @return the lower cased and separated name
+     */
+    static String toLowerCaseSeparated(String s, char separator) {
+        int i = 0;
+
+        while (i < s.length() && Character.toLowerCase(s.charAt(i)) == s.charAt(i)) {
+            i++;
+        }
+
+        if (i == s.length()) {
+            return s;
+        }
+
+        final StringBuilder transformed = new StringBuilder(s.length() + 8).append(s, 0, i);
+
+        for (; i < s.length(); i++) {
+            final char c = s.charAt(i);
+
+            if (i > 0 && Character.isUpperCase(c)) {
+                transformed.append(separator);
+            }
+
+            transformed.append(Character.toLowerCase(c));
+        }
+
+        return transformed.toString();
     }
 }
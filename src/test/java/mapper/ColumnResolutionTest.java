@@ -0,0 +1,189 @@
+package mapper;
+
+import mapper.mocks.Car;
+import mapper.mocks.Country;
+import mapper.mocks.Order;
+import mapper.mocks.Person;
+import mapper.mocks.User;
+import mapper.mocks.Vehicle;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.TupleElement;
+import nl.jiankai.mapper.export.CsvExportWriter;
+import nl.jiankai.mapper.export.ExportWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class ColumnResolutionTest {
+    private ResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+    @Mock
+    private ResultSetMetaData mockedMetaData;
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        sut = new ResultSetMapper();
+        when(mockedResultSet.getMetaData()).thenReturn(mockedMetaData);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+    }
+
+    @Test
+    void columnsAreReadByTheIndexOfTheirLabelRegardlessOfItsCase() throws SQLException {
+        labels("ID", "FIRST_NAME", "LAST_NAME", "EMAIL", "BIRTH_DATE");
+        when(mockedResultSet.getObject(1)).thenReturn(1);
+        when(mockedResultSet.getObject(2)).thenReturn("Jan");
+        when(mockedResultSet.getObject(5)).thenReturn("2000-01-01");
+
+        User user = sut.map(mockedResultSet, User.class).get(0);
+
+        Assertions.assertEquals(1, user.getId());
+        Assertions.assertEquals("Jan", user.getFirstName());
+        Assertions.assertEquals("2000-01-01", user.getBirthDate());
+        verify(mockedResultSet, never()).getObject(anyString());
+    }
+
+    @Test
+    void exactLabelsAreReadByTheirIndex() throws SQLException {
+        labels("id", "first_name", "last_name", "email", "birthDate");
+        when(mockedResultSet.getObject(2)).thenReturn("Jan");
+
+        User user = sut.map(mockedResultSet, User.class).get(0);
+
+        Assertions.assertEquals("Jan", user.getFirstName());
+        verify(mockedResultSet, never()).getObject(anyString());
+    }
+
+    @Test
+    void ambiguousLabelsAreReadByName() throws SQLException {
+        labels("id", "FIRST_NAME", "FirstName");
+        when(mockedResultSet.getObject(2)).thenReturn("Jan");
+
+        User user = sut.map(mockedResultSet, User.class).get(0);
+
+        Assertions.assertNull(user.getFirstName());
+        verify(mockedResultSet).getObject("first_name");
+    }
+
+    @Test
+    void metadataIsReadOncePerMapping() throws SQLException {
+        labels("ID", "FIRST_NAME", "LAST_NAME", "EMAIL", "BIRTH_DATE");
+        sut.map(mockedResultSet, User.class);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.getObject(2)).thenReturn("Piet");
+
+        User user = sut.map(mockedResultSet, User.class).get(0);
+
+        Assertions.assertEquals("Piet", user.getFirstName());
+        verify(mockedMetaData, times(2)).getColumnCount();
+    }
+
+    @Test
+    void subTypesAndTheirDiscriminatorAreResolved() throws SQLException {
+        labels("ID", "TYPE", "DOORS");
+        when(mockedResultSet.getObject(1)).thenReturn(1);
+        when(mockedResultSet.getObject(2)).thenReturn("car");
+        when(mockedResultSet.getObject(3)).thenReturn(4);
+
+        Car car = (Car) sut.map(mockedResultSet, Vehicle.class).get(0);
+
+        Assertions.assertEquals(1, car.getId());
+        Assertions.assertEquals(4, car.getDoors());
+        verify(mockedResultSet, never()).findColumn(anyString());
+    }
+
+    @Test
+    void entitiesOfTuplesAreResolved() throws SQLException {
+        labels("ID", "FIRST_NAME", "ORDER_ID", "ORDER_DESCRIPTION");
+        when(mockedResultSet.getObject(1)).thenReturn(1);
+        when(mockedResultSet.getObject(3)).thenReturn(2);
+
+        List<String> combined = sut.mapTuple(mockedResultSet, TupleElement.of(User.class), TupleElement.of(Order.class).withColumnPrefix("order_"),
+                (user, order) -> user.getId() + "-" + order.getId());
+
+        Assertions.assertEquals(List.of("1-2"), combined);
+    }
+
+    @Test
+    void everyShardOfAMergeIsResolvedAgainstItsOwnLabels() throws SQLException {
+        ResultSet otherResultSet = mock(ResultSet.class);
+        ResultSetMetaData otherMetaData = mock(ResultSetMetaData.class);
+        labels("ID", "FIRST_NAME");
+        when(mockedResultSet.getObject(1)).thenReturn(1, 1, 3, 3);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(otherResultSet.getMetaData()).thenReturn(otherMetaData);
+        when(otherMetaData.getColumnCount()).thenReturn(2);
+        when(otherMetaData.getColumnLabel(1)).thenReturn("first_name");
+        when(otherMetaData.getColumnLabel(2)).thenReturn("Id");
+        when(otherResultSet.next()).thenReturn(true).thenReturn(false);
+        when(otherResultSet.getObject(2)).thenReturn(2);
+
+        try (Stream<User> users = sut.mergeOrdered(List.of(mockedResultSet, otherResultSet), User.class, "id")) {
+            Assertions.assertEquals(List.of(1, 2, 3), users.map(User::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void exportedColumnsAreResolved() throws SQLException, IOException {
+        labels("ID", "NAME", "ISO_CODE");
+        when(mockedResultSet.getObject(1)).thenReturn(1);
+        when(mockedResultSet.getObject(2)).thenReturn("Netherlands");
+        when(mockedResultSet.getObject(3)).thenReturn("NL");
+        Path file = directory.resolve("countries.csv");
+
+        try (ExportWriter writer = CsvExportWriter.open(file, false)) {
+            sut.export(mockedResultSet, Country.class, writer);
+        }
+
+        Assertions.assertEquals("id,name,iso_code\r\n1,Netherlands,NL\r\n", Files.readString(file));
+    }
+
+    @Test
+    void supportOfJavaTimeRetrievalIsDetectedPerColumnType() throws SQLException {
+        LocalDateTime childRegistered = LocalDateTime.of(2020, 1, 1, 12, 0);
+        labels("DATE_OF_BIRTH", "TIME_OF_BIRTH", "CHILD_REGISTERED");
+        when(mockedMetaData.getColumnType(3)).thenReturn(Types.VARCHAR, Types.TIMESTAMP);
+        when(mockedResultSet.next()).thenReturn(true, false, true, false);
+        when(mockedResultSet.getObject(3, LocalDateTime.class)).thenThrow(SQLFeatureNotSupportedException.class).thenReturn(childRegistered);
+        when(mockedResultSet.getObject(3)).thenReturn(Timestamp.valueOf(childRegistered));
+
+        Person fromText = sut.map(mockedResultSet, Person.class).get(0);
+        Person fromTimestamp = sut.map(mockedResultSet, Person.class).get(0);
+
+        Assertions.assertEquals(childRegistered, fromText.getChildRegistered());
+        Assertions.assertEquals(childRegistered, fromTimestamp.getChildRegistered());
+        verify(mockedResultSet, times(2)).getObject(3, LocalDateTime.class);
+        verify(mockedResultSet, times(1)).getObject(3);
+    }
+
+    private void labels(String... labels) throws SQLException {
+        when(mockedMetaData.getColumnCount()).thenReturn(labels.length);
+
+        for (int i = 0; i < labels.length; i++) {
+            when(mockedMetaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package mapper;
+
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.User;
+import nl.jiankai.mapper.CancellationToken;
+import nl.jiankai.mapper.MappedList;
+import nl.jiankai.mapper.MappingOptions;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.StopReason;
+import nl.jiankai.mapper.exceptions.MappingTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class MappingOptionsTest {
+    private ResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+    @Mock
+    private Statement mockedStatement;
+
+    @BeforeEach
+    void setup() {
+        sut = new ResultSetMapper();
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void rowsRejectedByThePredicateAreNotMapped() {
+        List<User> users = sut.map(usersResultSet(10), User.class,
+                MappingOptions.defaults().withFilter(row -> (Integer) row.getObject("id") % 2 == 0));
+
+        Assertions.assertEquals(List.of(0, 2, 4, 6, 8), users.stream().map(User::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void skipAndLimitApplyToTheAcceptedRows() {
+        List<User> users = sut.map(usersResultSet(10), User.class,
+                MappingOptions.defaults().withFilter(row -> (Integer) row.getObject("id") % 2 == 0).withSkip(1).withLimit(2));
+
+        Assertions.assertEquals(List.of(2, 4), users.stream().map(User::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void cursorIsNotReadAfterTheLimitHasBeenReached() throws SQLException {
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true);
+        when(mockedResultSet.getObject("id")).thenReturn(1);
+
+        List<User> users = sut.map(mockedResultSet, User.class, MappingOptions.defaults().withLimit(3));
+
+        Assertions.assertEquals(3, users.size());
+        verify(mockedResultSet, times(3)).next();
+    }
+
+    @Test
+    void rejectedRowsAreNeverConverted() throws SQLException {
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.getObject("id")).thenReturn(1).thenReturn(2);
+
+        sut.map(mockedResultSet, User.class, MappingOptions.defaults().withFilter(row -> row.getInt("id") > 5));
+
+        verify(mockedResultSet, never()).getObject("first_name");
+    }
+
+    @Test
+    void negativeLimitIsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MappingOptions.defaults().withLimit(-1));
+    }
+
+    @Test
+    void streamMapsRowsLazily() throws SQLException {
+        when(mockedResultSet.next()).thenReturn(true);
+        when(mockedResultSet.getObject("id")).thenReturn(1);
+
+        try (Stream<User> users = sut.stream(mockedResultSet, User.class)) {
+            Assertions.assertEquals(2, users.limit(2).count());
+        }
+
+        verify(mockedResultSet, times(2)).next();
+    }
+
+    @Test
+    void streamAppliesTheOptions() {
+        try (Stream<User> users = sut.stream(usersResultSet(10), User.class, MappingOptions.defaults().withSkip(8))) {
+            Assertions.assertEquals(List.of(8, 9), users.map(User::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void exceedingTheMaximumAmountOfRowsCancelsTheStatementAndThrows() throws SQLException {
+        endlessResultSet();
+
+        MappingTimeoutException exception = Assertions.assertThrows(MappingTimeoutException.class,
+                () -> sut.map(mockedResultSet, User.class, MappingOptions.defaults().withMaxRows(3)));
+
+        Assertions.assertEquals(StopReason.MAX_ROWS_EXCEEDED, exception.getStopReason());
+        Assertions.assertEquals(3, exception.getRowCount());
+        verify(mockedStatement).cancel();
+    }
+
+    @Test
+    void resultSetWithExactlyTheMaximumAmountOfRowsIsMapped() {
+        List<User> users = sut.map(usersResultSet(3), User.class, MappingOptions.defaults().withMaxRows(3).withPartialResults());
+
+        Assertions.assertEquals(3, users.size());
+        Assertions.assertFalse(MappedList.isPartial(users));
+    }
+
+    @Test
+    void partialResultIsReturnedWhenAllowed() throws SQLException {
+        endlessResultSet();
+
+        List<User> users = sut.map(mockedResultSet, User.class, MappingOptions.defaults().withMaxRows(3).withPartialResults());
+
+        Assertions.assertEquals(3, users.size());
+        Assertions.assertTrue(MappedList.isPartial(users));
+        Assertions.assertEquals(StopReason.MAX_ROWS_EXCEEDED, ((MappedList<User>) users).getStopReason());
+    }
+
+    @Test
+    void passedDeadlineStopsTheMapping() throws SQLException {
+        endlessResultSet();
+
+        MappingTimeoutException exception = Assertions.assertThrows(MappingTimeoutException.class,
+                () -> sut.map(mockedResultSet, User.class, MappingOptions.defaults().withDeadline(Instant.now().minusSeconds(1))));
+
+        Assertions.assertEquals(StopReason.DEADLINE_EXCEEDED, exception.getStopReason());
+        verify(mockedResultSet, never()).next();
+        verify(mockedStatement).cancel();
+    }
+
+    @Test
+    void expiredTimeoutReturnsThePartialResult() throws SQLException {
+        endlessResultSet();
+
+        List<User> users = sut.map(mockedResultSet, User.class,
+                MappingOptions.defaults().withTimeout(Duration.ofMillis(20)).withFilter(row -> sleep()).withPartialResults());
+
+        Assertions.assertTrue(MappedList.isPartial(users));
+        Assertions.assertEquals(StopReason.DEADLINE_EXCEEDED, ((MappedList<User>) users).getStopReason());
+    }
+
+    @Test
+    void cancelledTokenStopsTheMappingWithinAFewRows() throws SQLException {
+        endlessResultSet();
+        CancellationToken cancellationToken = new CancellationToken();
+        int[] readCount = {0};
+
+        List<User> users = sut.map(mockedResultSet, User.class, MappingOptions.defaults().withCancellationToken(cancellationToken).withPartialResults()
+                .withFilter(row -> {
+                    if (++readCount[0] == 100) {
+                        cancellationToken.cancel();
+                    }
+
+                    return true;
+                }));
+
+        Assertions.assertEquals(StopReason.CANCELLED, ((MappedList<User>) users).getStopReason());
+        Assertions.assertTrue(users.size() >= 100 && users.size() < 200);
+        verify(mockedStatement).cancel();
+    }
+
+    @Test
+    void streamEndsWhenThePartialResultIsAllowed() throws SQLException {
+        endlessResultSet();
+
+        try (Stream<User> users = sut.stream(mockedResultSet, User.class, MappingOptions.defaults().withMaxRows(5).withPartialResults())) {
+            Assertions.assertEquals(5, users.count());
+        }
+    }
+
+    private void endlessResultSet() throws SQLException {
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true);
+        when(mockedResultSet.getObject("id")).thenReturn(1);
+        when(mockedResultSet.getStatement()).thenReturn(mockedStatement);
+    }
+
+    private static boolean sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        return true;
+    }
+
+    private static ResultSet usersResultSet(int rowCount) {
+        Object[][] rows = new Object[rowCount][];
+
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Object[]{i, "firstName", "lastName", "email", "birthDate"};
+        }
+
+        return InMemoryResultSet.of(new String[]{"id", "first_name", "last_name", "email", "birthDate"}, rows);
+    }
+}
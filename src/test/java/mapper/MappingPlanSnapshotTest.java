@@ -0,0 +1,138 @@
+package mapper;
+
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.Person;
+import mapper.mocks.User;
+import nl.jiankai.mapper.MappingPlanSnapshot;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.listeners.MappingListener;
+import nl.jiankai.mapper.strategies.FieldNamingStrategy;
+import nl.jiankai.mapper.strategies.LowerCaseUnderscoreFieldNamingStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MappingPlanSnapshotTest {
+    private ResultSetMapper sut;
+    private final AtomicInteger plansBuilt = new AtomicInteger();
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setup() {
+        sut = new ResultSetMapper();
+        sut.addMappingListener(new MappingListener() {
+            @Override
+            public void onPlanBuilt(Class<?> destinationClass, int fieldCount, long durationNanos) {
+                plansBuilt.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    void warmUpBuildsThePlansBeforeTheFirstMapping() {
+        sut.warmUp(User.class, Person.class);
+        sut.map(userResultSet(), User.class);
+
+        Assertions.assertEquals(2, plansBuilt.get());
+    }
+
+    @Test
+    void warmUpOnExecutorBuildsThePlansInParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            sut.warmUp(executor, User.class, Person.class).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(2, plansBuilt.get());
+        Assertions.assertEquals(2, sut.createPlanSnapshot().getClassNames().size());
+    }
+
+    @Test
+    void loadedSnapshotIsUsedInsteadOfBuildingThePlan() throws IOException {
+        sut.warmUp(User.class);
+        Path file = directory.resolve("plans.snapshot");
+        sut.createPlanSnapshot().writeTo(file);
+
+        ResultSetMapper restartedMapper = new ResultSetMapper();
+        int loaded = restartedMapper.loadPlanSnapshot(MappingPlanSnapshot.readFrom(file));
+        User user = restartedMapper.map(userResultSet(), User.class).get(0);
+
+        Assertions.assertEquals(1, loaded);
+        Assertions.assertEquals(1, user.getId());
+        Assertions.assertEquals("firstName", user.getFirstName());
+        Assertions.assertEquals("lastName", user.getLastName());
+    }
+
+    @Test
+    void outdatedSnapshotIsNotLoaded() throws IOException {
+        sut.warmUp(User.class);
+        Path file = directory.resolve("plans.snapshot");
+        sut.createPlanSnapshot().writeTo(file);
+        Files.writeString(file, Files.readString(file).replace("\tint\t", "\tlong\t"));
+
+        int loaded = new ResultSetMapper().loadPlanSnapshot(MappingPlanSnapshot.readFrom(file));
+
+        Assertions.assertEquals(0, loaded);
+    }
+
+    @Test
+    void snapshotOfAnotherFieldNamingStrategyIsNotLoaded() throws IOException {
+        sut.warmUp(User.class);
+        Path file = directory.resolve("plans.snapshot");
+        sut.createPlanSnapshot().writeTo(file);
+
+        int loaded = new ResultSetMapper(new LowerCaseUnderscoreFieldNamingStrategy()).loadPlanSnapshot(MappingPlanSnapshot.readFrom(file));
+
+        Assertions.assertEquals(0, loaded);
+    }
+
+    @Test
+    void snapshotOfADifferentlyConfiguredFieldNamingStrategyIsNotLoaded() throws IOException {
+        ResultSetMapper prefixedMapper = new ResultSetMapper(new PrefixFieldNamingStrategy("user_"));
+        prefixedMapper.warmUp(User.class);
+        Path file = directory.resolve("plans.snapshot");
+        prefixedMapper.createPlanSnapshot().writeTo(file);
+
+        int loaded = new ResultSetMapper(new PrefixFieldNamingStrategy("")).loadPlanSnapshot(MappingPlanSnapshot.readFrom(file));
+
+        Assertions.assertEquals(0, loaded);
+    }
+
+    @Test
+    void readingAFileThatIsNotASnapshotFails() throws IOException {
+        Path file = Files.writeString(directory.resolve("other.txt"), "something else");
+
+        Assertions.assertThrows(IOException.class, () -> MappingPlanSnapshot.readFrom(file));
+    }
+
+    private static ResultSet userResultSet() {
+        return InMemoryResultSet.of(new String[]{"id", "first_name", "last_name", "email", "birthDate"},
+                new Object[][]{{1, "firstName", "lastName", "email", "birthDate"}});
+    }
+
+    private static class PrefixFieldNamingStrategy implements FieldNamingStrategy {
+        private final String prefix;
+
+        PrefixFieldNamingStrategy(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String transform(String fieldName) {
+            return prefix + fieldName;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package mapper;
+
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.User;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class OrderedMergeTest {
+    private ResultSetMapper sut;
+
+    @BeforeEach
+    void setup() {
+        sut = new ResultSetMapper();
+    }
+
+    @Test
+    void mergeOrderedBySortKeyColumnReturnsRowsOfAllShardsInOrder() {
+        List<ResultSet> shards = List.of(shard(1, 3, 100), shard(2, 3, 100), shard(3, 3, 40), shard(0, 0, 0));
+
+        List<Integer> ids;
+        try (Stream<User> users = sut.mergeOrdered(shards, User.class, "id")) {
+            ids = users.map(User::getId).collect(Collectors.toList());
+        }
+
+        Assertions.assertEquals(240, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            Assertions.assertTrue(ids.get(i - 1) <= ids.get(i));
+        }
+        Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6), ids.subList(0, 6));
+    }
+
+    @Test
+    void mergeOrderedByComparatorReturnsRowsOfAllShardsInOrder() {
+        List<ResultSet> shards = List.of(shard(2, 2, 5), shard(1, 2, 5));
+
+        try (Stream<User> users = sut.mergeOrdered(shards, User.class, Comparator.comparingInt(User::getId))) {
+            Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), users.map(User::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void mergeOrderedDoesNotReadShardsFurtherThanReadAheadWhenTheStreamIsNotConsumed() throws InterruptedException {
+        ResultSet shard = shard(1, 1, 10_000);
+        AtomicInteger rowsRead = new AtomicInteger();
+        ResultSet countingShard = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+            if (method.getName().equals("next")) {
+                rowsRead.incrementAndGet();
+            }
+            try {
+                return method.invoke(shard, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+
+        try (Stream<User> users = sut.mergeOrdered(List.of(countingShard), User.class, "id")) {
+            Assertions.assertEquals(1, users.findFirst().map(User::getId).orElse(-1));
+        }
+        Thread.sleep(100);
+
+        Assertions.assertTrue(rowsRead.get() <= 100);
+    }
+
+    @Test
+    void mergeOrderedOfNoShardsIsEmpty() {
+        try (Stream<User> users = sut.mergeOrdered(List.of(), User.class, "id")) {
+            Assertions.assertEquals(0, users.count());
+        }
+    }
+
+    @Test
+    void mergeOrderedRethrowsFailingShard() throws SQLException {
+        ResultSet failingShard = mock(ResultSet.class);
+        when(failingShard.next()).thenThrow(new SQLException("connection lost"));
+
+        try (Stream<User> users = sut.mergeOrdered(List.of(shard(1, 1, 3), failingShard), User.class, "id")) {
+            MappingFailedException exception = Assertions.assertThrows(MappingFailedException.class, () -> users.forEach(user -> {
+            }));
+            Assertions.assertTrue(exception.getCause() instanceof SQLException);
+        }
+    }
+
+    @Test
+    void mergeOrderedRethrowsErrorOfFailingShard() throws SQLException {
+        ResultSet failingShard = mock(ResultSet.class);
+        when(failingShard.next()).thenThrow(new ExceptionInInitializerError("static initializer failed"));
+
+        try (Stream<User> users = sut.mergeOrdered(List.of(shard(1, 1, 3), failingShard), User.class, "id")) {
+            MappingFailedException exception = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> Assertions.assertThrows(MappingFailedException.class, () -> users.forEach(user -> {
+                    })));
+            Assertions.assertTrue(exception.getCause() instanceof ExceptionInInitializerError);
+        }
+    }
+
+    private ResultSet shard(int firstId, int step, int rowCount) {
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            int id = firstId + i * step;
+            rows[i] = new Object[]{id, "first" + id, "last" + id, "user" + id + "@example.com", "2000-01-01"};
+        }
+        return InMemoryResultSet.of(new String[]{"id", "first_name", "last_name", "email", "birthDate"}, rows);
+    }
+}
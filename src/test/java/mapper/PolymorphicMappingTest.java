@@ -0,0 +1,70 @@
+package mapper;
+
+import mapper.mocks.Bike;
+import mapper.mocks.Car;
+import mapper.mocks.Vehicle;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class PolymorphicMappingTest {
+    private ResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        sut = new ResultSetMapper();
+        MockitoAnnotations.openMocks(this);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.getObject("id")).thenReturn(1).thenReturn(2);
+        when(mockedResultSet.getObject("doors")).thenReturn(4);
+        when(mockedResultSet.getObject("electric")).thenReturn(true);
+    }
+
+    @Test
+    void rowsAreMappedToTheSubTypeOfTheirDiscriminator() throws SQLException {
+        when(mockedResultSet.findColumn("type")).thenReturn(2);
+        when(mockedResultSet.getObject(2)).thenReturn("car").thenReturn("bike");
+        when(mockedResultSet.getObject("type")).thenReturn("car").thenReturn("bike");
+
+        List<Vehicle> vehicles = sut.map(mockedResultSet, Vehicle.class);
+
+        Car car = (Car) vehicles.get(0);
+        Bike bike = (Bike) vehicles.get(1);
+        Assertions.assertEquals(1, car.getId());
+        Assertions.assertEquals(4, car.getDoors());
+        Assertions.assertEquals(2, bike.getId());
+        Assertions.assertTrue(bike.isElectric());
+        verify(mockedResultSet, times(1)).findColumn("type");
+        verify(mockedResultSet, times(2)).getObject(2);
+    }
+
+    @Test
+    void discriminatorIsReadByLabelWhenTheColumnIndexIsUnknown() throws SQLException {
+        when(mockedResultSet.getObject("type")).thenReturn("bike").thenReturn("car");
+
+        List<Vehicle> vehicles = sut.map(mockedResultSet, Vehicle.class);
+
+        Assertions.assertTrue(vehicles.get(0) instanceof Bike);
+        Assertions.assertTrue(vehicles.get(1) instanceof Car);
+    }
+
+    @Test
+    void unknownDiscriminatorOfAbstractBaseClassFails() throws SQLException {
+        when(mockedResultSet.getObject("type")).thenReturn("boat");
+
+        Assertions.assertThrows(MappingFailedException.class, () -> sut.map(mockedResultSet, Vehicle.class));
+    }
+}
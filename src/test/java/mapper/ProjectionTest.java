@@ -0,0 +1,104 @@
+package mapper;
+
+import mapper.mocks.Status;
+import mapper.mocks.UserProjection;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.converters.AttributeConverter;
+import nl.jiankai.mapper.listeners.MappingStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class ProjectionTest {
+    private ResultSetMapper sut;
+    private CountingUpperCaseConverter converter;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        sut = new ResultSetMapper();
+        converter = new CountingUpperCaseConverter();
+        sut.registerAttributeConverter(converter);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("id")).thenReturn(1).thenReturn(null);
+        when(mockedResultSet.getObject("first_name")).thenReturn("john").thenReturn("jane");
+        when(mockedResultSet.getObject("last_name")).thenReturn("doe").thenReturn("roe");
+        when(mockedResultSet.getObject("status")).thenReturn(20).thenReturn("active");
+    }
+
+    @Test
+    void projectionReturnsTheConvertedColumnValues() {
+        List<UserProjection> projections = sut.map(mockedResultSet, UserProjection.class);
+
+        Assertions.assertEquals(2, projections.size());
+        Assertions.assertEquals(1, projections.get(0).getId());
+        Assertions.assertEquals("john", projections.get(0).getFirstName());
+        Assertions.assertEquals("DOE", projections.get(0).getLastName());
+        Assertions.assertEquals(Status.INACTIVE, projections.get(0).getStatus());
+        Assertions.assertEquals(0, projections.get(1).getId());
+        Assertions.assertEquals(Status.ACTIVE, projections.get(1).getStatus());
+        Assertions.assertEquals("jane ROE", projections.get(1).getFullName());
+    }
+
+    @Test
+    void projectionOnlyReadsTheColumnsOfItsGetters() throws SQLException {
+        sut.map(mockedResultSet, UserProjection.class);
+
+        verify(mockedResultSet, times(2)).getObject("last_name");
+        verify(mockedResultSet, never()).getObject("email");
+        verify(mockedResultSet, never()).getObject("fullName");
+    }
+
+    @Test
+    void valueIsConvertedOnFirstAccessOnly() {
+        List<UserProjection> projections = sut.map(mockedResultSet, UserProjection.class);
+
+        Assertions.assertEquals(0, converter.invocations);
+        projections.get(0).getLastName();
+        projections.get(0).getLastName();
+        Assertions.assertEquals(1, converter.invocations);
+    }
+
+    @Test
+    void conversionsOfGettersAreCountedByTheListeners() {
+        MappingStatistics statistics = new MappingStatistics();
+        sut.addMappingListener(statistics);
+        List<UserProjection> projections = sut.map(mockedResultSet, UserProjection.class);
+
+        projections.get(0).getLastName();
+        projections.get(1).getLastName();
+
+        Assertions.assertEquals(2L, statistics.snapshot().getConverterInvocations().get(CountingUpperCaseConverter.class.getName()));
+    }
+
+    public static class CountingUpperCaseConverter implements AttributeConverter<String, String> {
+        private int invocations;
+
+        @Override
+        public String convert(String value) {
+            invocations++;
+            return value.toUpperCase();
+        }
+
+        @Override
+        public Class<String> source() {
+            return String.class;
+        }
+
+        @Override
+        public Class<String> target() {
+            return String.class;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package mapper;
+
+import mapper.mocks.Country;
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.User;
+import nl.jiankai.mapper.RefreshSummary;
+import nl.jiankai.mapper.RefreshableMap;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.util.Set;
+
+public class RefreshTest {
+    private ResultSetMapper sut;
+    private RefreshableMap<Integer, Country> countries;
+
+    @BeforeEach
+    void setup() {
+        sut = new ResultSetMapper();
+        countries = new RefreshableMap<>();
+    }
+
+    @Test
+    void firstRefreshAddsAllRows() {
+        RefreshSummary<Integer> summary = sut.refresh(countries, countries(new Object[]{1, "Netherlands", "NL"}, new Object[]{2, "Belgium", "BE"}), Country.class);
+
+        Assertions.assertEquals(Set.of(1, 2), summary.getAddedKeys());
+        Assertions.assertEquals("Netherlands", countries.get(1).getName());
+        Assertions.assertEquals("BE", countries.get(2).getIsoCode());
+    }
+
+    @Test
+    void refreshOnlyReplacesChangedRowsAndRemovesMissingRows() {
+        sut.refresh(countries, countries(new Object[]{1, "Netherlands", "NL"}, new Object[]{2, "Belgium", "BE"}, new Object[]{3, "France", "FR"}), Country.class);
+        Country netherlands = countries.get(1);
+
+        RefreshSummary<Integer> summary = sut.refresh(countries,
+                countries(new Object[]{1, "Netherlands", "NL"}, new Object[]{2, "Belgique", "BE"}, new Object[]{4, "Germany", "DE"}), Country.class);
+
+        Assertions.assertEquals(Set.of(4), summary.getAddedKeys());
+        Assertions.assertEquals(Set.of(2), summary.getChangedKeys());
+        Assertions.assertEquals(Set.of(3), summary.getRemovedKeys());
+        Assertions.assertEquals(1, summary.getUnchangedCount());
+        Assertions.assertSame(netherlands, countries.get(1));
+        Assertions.assertEquals("Belgique", countries.get(2).getName());
+        Assertions.assertFalse(countries.containsKey(3));
+        Assertions.assertEquals(3, countries.size());
+    }
+
+    @Test
+    void refreshWithoutChangesReportsNoChanges() {
+        sut.refresh(countries, countries(new Object[]{1, "Netherlands", "NL"}), Country.class);
+
+        RefreshSummary<Integer> summary = sut.refresh(countries, countries(new Object[]{1, "Netherlands", "NL"}), Country.class);
+
+        Assertions.assertFalse(summary.hasChanges());
+        Assertions.assertEquals(1, summary.getUnchangedCount());
+    }
+
+    @Test
+    void refreshedMapCanNotBeModified() {
+        sut.refresh(countries, countries(new Object[]{1, "Netherlands", "NL"}), Country.class);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> countries.put(2, new Country()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> countries.remove(1));
+    }
+
+    @Test
+    void refreshOfClassWithoutIdIsRejected() {
+        RefreshableMap<Integer, User> users = new RefreshableMap<>();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sut.refresh(users, countries(), User.class));
+    }
+
+    @Test
+    void refreshOfRowWithoutIdIsRejected() {
+        sut.refresh(countries, countries(new Object[]{1, "Netherlands", "NL"}, new Object[]{2, "Belgium", "BE"}), Country.class);
+
+        Assertions.assertThrows(MappingFailedException.class,
+                () -> sut.refresh(countries, countries(new Object[]{1, "Nederland", "NL"}, new Object[]{null, "Belgium", "BE"}), Country.class));
+        Assertions.assertEquals("Nederland", countries.get(1).getName());
+        Assertions.assertTrue(countries.containsKey(2));
+
+        RefreshSummary<Integer> summary = sut.refresh(countries, countries(new Object[]{1, "Nederland", "NL"}), Country.class);
+
+        Assertions.assertEquals(Set.of(2), summary.getRemovedKeys());
+        Assertions.assertEquals(1, countries.size());
+    }
+
+    private ResultSet countries(Object[]... rows) {
+        return InMemoryResultSet.of(new String[]{"id", "name", "iso_code"}, rows);
+    }
+}
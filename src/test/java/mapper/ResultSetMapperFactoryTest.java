@@ -1,7 +1,13 @@
 package mapper;
 
+import nl.jiankai.mapper.MapperReuseStatistics;
 import nl.jiankai.mapper.ResultSetMapper;
 import nl.jiankai.mapper.ResultSetMapperFactory;
+import nl.jiankai.mapper.cache.EntityCache;
+import nl.jiankai.mapper.converters.DateToLocalDateConverter;
+import nl.jiankai.mapper.converters.TimeToLocalTimeConverter;
+import nl.jiankai.mapper.listeners.MappingStatistics;
+import nl.jiankai.mapper.strategies.FieldNamingStrategy;
 import nl.jiankai.mapper.strategies.IdentityFieldNamingStrategy;
 import nl.jiankai.mapper.strategies.LowerCaseDashesFieldNamingStrategy;
 import nl.jiankai.mapper.strategies.LowerCaseUnderscoreFieldNamingStrategy;
@@ -44,4 +50,72 @@ public class ResultSetMapperFactoryTest {
 
         Assertions.assertTrue(exception.getTargetException() instanceof AssertionError);
     }
+
+    @Test
+    void factoryReturnsTheSameMapperForTheSameStrategy() {
+        Assertions.assertSame(ResultSetMapperFactory.getResultSetMapperIdentity(), ResultSetMapperFactory.getResultSetMapperIdentity());
+        Assertions.assertSame(ResultSetMapperFactory.getResultSetMapperLowerCaseUnderscore(),
+                ResultSetMapperFactory.getResultSetMapper(new LowerCaseUnderscoreFieldNamingStrategy()));
+        Assertions.assertNotSame(ResultSetMapperFactory.getResultSetMapperIdentity(), ResultSetMapperFactory.getResultSetMapperLowerCaseDashes());
+    }
+
+    @Test
+    void factorySharesMappersPerListOfConverters() {
+        ResultSetMapper withConverter = ResultSetMapperFactory.getResultSetMapper(new IdentityFieldNamingStrategy(), new DateToLocalDateConverter());
+
+        Assertions.assertSame(withConverter, ResultSetMapperFactory.getResultSetMapper(new IdentityFieldNamingStrategy(), new DateToLocalDateConverter()));
+        Assertions.assertNotSame(withConverter, ResultSetMapperFactory.getResultSetMapperIdentity());
+        Assertions.assertNotSame(withConverter,
+                ResultSetMapperFactory.getResultSetMapper(new IdentityFieldNamingStrategy(), new DateToLocalDateConverter(), new TimeToLocalTimeConverter()));
+    }
+
+    @Test
+    void sharedMapperCanNotBeChanged() {
+        ResultSetMapper r = ResultSetMapperFactory.getResultSetMapperIdentity();
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> r.registerAttributeConverter(new DateToLocalDateConverter()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> r.setEntityCache(new EntityCache(10)));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> r.addMappingListener(new MappingStatistics()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> r.removeMappingListener(new MappingStatistics()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> r.setRowTraceSampleRate(1));
+    }
+
+    @Test
+    void factoryIdentifiesOtherStrategiesByTheirInstance() {
+        FieldNamingStrategy prefixed = new PrefixFieldNamingStrategy("a_");
+        ResultSetMapper r = ResultSetMapperFactory.getResultSetMapper(prefixed);
+
+        Assertions.assertSame(r, ResultSetMapperFactory.getResultSetMapper(prefixed));
+        Assertions.assertNotSame(r, ResultSetMapperFactory.getResultSetMapper(new PrefixFieldNamingStrategy("b_")));
+        Assertions.assertSame(prefixed, r.getFieldNamingStrategy());
+    }
+
+    @Test
+    void statisticsCountTheReuseOfMappers() {
+        ResultSetMapperFactory.getResultSetMapperIdentity();
+        MapperReuseStatistics before = ResultSetMapperFactory.getStatistics();
+
+        ResultSetMapperFactory.getResultSetMapperIdentity();
+        ResultSetMapperFactory.getResultSetMapperIdentity();
+        new ResultSetMapper();
+        MapperReuseStatistics after = ResultSetMapperFactory.getStatistics();
+
+        Assertions.assertEquals(2, after.getSharedMapperRequests() - before.getSharedMapperRequests());
+        Assertions.assertEquals(before.getSharedMappersCreated(), after.getSharedMappersCreated());
+        Assertions.assertEquals(1, after.getMappersConstructed() - before.getMappersConstructed());
+        Assertions.assertTrue(after.getReuseRate() > 0);
+    }
+
+    private static class PrefixFieldNamingStrategy implements FieldNamingStrategy {
+        private final String prefix;
+
+        PrefixFieldNamingStrategy(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String transform(String fieldName) {
+            return prefix + fieldName;
+        }
+    }
 }
@@ -2,24 +2,33 @@ package mapper;
 
 import mapper.mocks.*;
 import nl.jiankai.annotations.Converter;
+import nl.jiankai.annotations.EnumValue;
 import nl.jiankai.mapper.ResultSetMapper;
 import nl.jiankai.mapper.converters.AttributeConverter;
+import nl.jiankai.mapper.converters.LongAttributeConverter;
+import nl.jiankai.mapper.converters.ToIntAttributeConverter;
 import nl.jiankai.mapper.exceptions.MappingFailedException;
+import nl.jiankai.mapper.listeners.MappingStatistics;
 import nl.jiankai.mapper.strategies.IdentityFieldNamingStrategy;
 import nl.jiankai.mapper.strategies.LowerCaseDashesFieldNamingStrategy;
 import nl.jiankai.mapper.strategies.LowerCaseUnderscoreFieldNamingStrategy;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
 import java.sql.*;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 
@@ -146,6 +155,54 @@ public class ResultSetMapperTest {
         verify(mockedException).printStackTrace(any(PrintWriter.class));
     }
 
+    @Test
+    void fieldThatCanNotBeRetrievedIsLoggedOncePerMapping() throws SQLException {
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("test")).thenThrow(mockedException);
+
+        List<SuppressOnFieldLevel> returnedList = sut.map(mockedResultSet, SuppressOnFieldLevel.class);
+
+        Assertions.assertEquals(3, returnedList.size());
+        verify(mockedException, times(1)).printStackTrace(any(PrintWriter.class));
+    }
+
+    @Test
+    void mappingARowOnlyAllocatesTheMappedObject() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < 20; i++) {
+            sut.map(usersResultSet(1_000), User.class);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final ResultSet thousandRows = usersResultSet(1_000);
+        final ResultSet twoThousandRows = usersResultSet(2_000);
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        sut.map(thousandRows, User.class);
+        final long thousandRowsAllocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+        start = threadMXBean.getThreadAllocatedBytes(threadId);
+        sut.map(twoThousandRows, User.class);
+        final long twoThousandRowsAllocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+        // The User itself, its slot in the list and the boxed arguments of the reflective ResultSet calls stay well below this bound.
+        final long allocatedPerRow = (twoThousandRowsAllocated - thousandRowsAllocated) / 1_000;
+        Assertions.assertTrue(allocatedPerRow < 512, "Mapping a row allocated " + allocatedPerRow + " bytes");
+    }
+
+    private static ResultSet usersResultSet(int rowCount) {
+        Object[][] rows = new Object[rowCount][];
+
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Object[]{i, "firstName", "lastName", "email", "birthDate"};
+        }
+
+        return InMemoryResultSet.of(new String[]{"id", "first_name", "last_name", "email", "birthDate"}, rows);
+    }
+
     @Test
     void resultSetMapperReturnsCorrectMappedObjectWhenHasBaseClassAttributes() {
         populatedResultSetBaseChildClassIdentity();
@@ -225,6 +282,157 @@ public class ResultSetMapperTest {
         Assertions.assertFalse(actualMappedObject.isBooleanVar());
     }
 
+    @Test
+    void resultSetMapperFeedsPrimitiveConvertersWithoutBoxing() throws SQLException {
+        populatedResultSetPrimitiveConverters();
+
+        List<PrimitiveConverters> objects = sut.map(mockedResultSet, PrimitiveConverters.class);
+        PrimitiveConverters actualMappedObject = objects.get(0);
+
+        Assertions.assertEquals(Instant.ofEpochMilli(1000L), actualMappedObject.getCreatedAt());
+        Assertions.assertEquals(4, actualMappedObject.getNameLength());
+        verify(mockedResultSet, never()).getObject("createdAt");
+    }
+
+    @Test
+    void resultSetMapperNotifiesListenersAboutPrimitiveConversions() throws SQLException {
+        populatedResultSetPrimitiveConverters();
+        MappingStatistics statistics = new MappingStatistics();
+        sut.addMappingListener(statistics);
+
+        sut.map(mockedResultSet, PrimitiveConverters.class);
+
+        Map<String, Long> invocations = statistics.snapshot().getConverterInvocations();
+        Assertions.assertEquals(1L, invocations.get(EpochMillisToInstantConverter.class.getName()));
+        Assertions.assertEquals(1L, invocations.get(StringToLengthConverter.class.getName()));
+    }
+
+    @Test
+    void resultSetMapperDoesNotConvertNullForPrimitiveConverters() throws SQLException {
+        populatedResultSetPrimitiveConverters();
+        when(mockedResultSet.wasNull()).thenReturn(true);
+        when(mockedResultSet.getObject("nameLength")).thenReturn(null);
+
+        List<PrimitiveConverters> objects = sut.map(mockedResultSet, PrimitiveConverters.class);
+        PrimitiveConverters actualMappedObject = objects.get(0);
+
+        Assertions.assertNull(actualMappedObject.getCreatedAt());
+        Assertions.assertEquals(0, actualMappedObject.getNameLength());
+    }
+
+    @Test
+    void resultSetMapperChainsAutoApplicableConverters() throws SQLException {
+        sut.registerAttributeConverter(new LocalDateTimeToInstantConverter());
+        LocalDateTime occurredAt = LocalDateTime.of(2020, 1, 1, 12, 0);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("occurredAt")).thenReturn(Timestamp.valueOf(occurredAt));
+
+        List<Event> events = sut.map(mockedResultSet, Event.class);
+
+        Assertions.assertEquals(occurredAt.toInstant(ZoneOffset.UTC), events.get(0).getOccurredAt());
+    }
+
+    @Test
+    void resultSetMapperRetrievesJavaTimeValuesDirectlyWhenDriverSupportsIt() throws SQLException {
+        LocalDateTime childRegistered = LocalDateTime.of(2020, 1, 1, 12, 0);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("childRegistered", LocalDateTime.class)).thenReturn(childRegistered);
+
+        List<Person> persons = sut.map(mockedResultSet, Person.class);
+
+        Assertions.assertEquals(childRegistered, persons.get(0).getChildRegistered());
+        Assertions.assertEquals(childRegistered, persons.get(1).getChildRegistered());
+        verify(mockedResultSet, never()).getObject("childRegistered");
+    }
+
+    @Test
+    void resultSetMapperFallsBackToConvertersWhenDriverDoesNotSupportJavaTimeRetrieval() throws SQLException {
+        LocalDateTime childRegistered = LocalDateTime.of(2020, 1, 1, 12, 0);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("childRegistered", LocalDateTime.class)).thenThrow(SQLFeatureNotSupportedException.class);
+        when(mockedResultSet.getObject("childRegistered")).thenReturn(Timestamp.valueOf(childRegistered));
+
+        List<Person> persons = sut.map(mockedResultSet, Person.class);
+
+        Assertions.assertEquals(childRegistered, persons.get(0).getChildRegistered());
+        Assertions.assertEquals(childRegistered, persons.get(1).getChildRegistered());
+        verify(mockedResultSet, times(1)).getObject("childRegistered", LocalDateTime.class);
+    }
+
+    @Test
+    void resultSetMapperConvertsJavaTimeValuesWithCustomConverterInsteadOfRetrievingThemDirectly() throws SQLException {
+        sut.registerAttributeConverter(new TextToLocalDateTimeConverter());
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("childRegistered")).thenReturn("2020-01-01T12:00");
+
+        List<Person> persons = sut.map(mockedResultSet, Person.class);
+
+        Assertions.assertEquals(LocalDateTime.of(2020, 1, 1, 12, 0), persons.get(0).getChildRegistered());
+        verify(mockedResultSet, never()).getObject("childRegistered", LocalDateTime.class);
+    }
+
+    @Test
+    void resultSetMapperMapsEnumsByNameAndCode() throws SQLException {
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("statusByName")).thenReturn("inactive");
+        when(mockedResultSet.getObject("statusByCode")).thenReturn(10);
+        when(mockedResultSet.getObject("colorByName")).thenReturn("BLUE");
+        when(mockedResultSet.getObject("colorByOrdinal")).thenReturn(1L);
+
+        EnumObject actualMappedObject = sut.map(mockedResultSet, EnumObject.class).get(0);
+
+        Assertions.assertEquals(Status.INACTIVE, actualMappedObject.getStatusByName());
+        Assertions.assertEquals(Status.ACTIVE, actualMappedObject.getStatusByCode());
+        Assertions.assertEquals(Color.BLUE, actualMappedObject.getColorByName());
+        Assertions.assertEquals(Color.GREEN, actualMappedObject.getColorByOrdinal());
+    }
+
+    @Test
+    void resultSetMapperMapsUnknownEnumValuesToFallback() throws SQLException {
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("statusByName")).thenReturn("deleted");
+        when(mockedResultSet.getObject("statusByCode")).thenReturn(1);
+        when(mockedResultSet.getObject("colorByName")).thenReturn("PURPLE");
+        when(mockedResultSet.getObject("colorByOrdinal")).thenReturn(3);
+
+        EnumObject actualMappedObject = sut.map(mockedResultSet, EnumObject.class).get(0);
+
+        Assertions.assertEquals(Status.UNKNOWN, actualMappedObject.getStatusByName());
+        Assertions.assertEquals(Status.UNKNOWN, actualMappedObject.getStatusByCode());
+        Assertions.assertNull(actualMappedObject.getColorByName());
+        Assertions.assertNull(actualMappedObject.getColorByOrdinal());
+    }
+
+    @Test
+    void resultSetMapperRejectsEnumsWithDuplicateCodes() throws SQLException {
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("priority")).thenReturn(1);
+
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> sut.map(mockedResultSet, Task.class));
+
+        Assertions.assertTrue(exception.getMessage().contains("LOW and MINOR"));
+    }
+
+    private void populatedResultSetPrimitiveConverters() {
+        sut = new ResultSetMapper();
+        sut.registerAttributeConverter(new EpochMillisToInstantConverter());
+        sut.registerAttributeConverter(new StringToLengthConverter());
+        try {
+            when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+            when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+            when(mockedResultSet.getLong("createdAt")).thenReturn(1000L);
+            when(mockedResultSet.getObject("nameLength")).thenReturn("name");
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+    }
 
     private void populatedResultSetBaseChildClassIdentity() {
         sut = new ResultSetMapper();
@@ -388,4 +596,87 @@ public class ResultSetMapperTest {
             return LocalDate.class;
         }
     }
+
+    @Converter
+    public class EpochMillisToInstantConverter implements LongAttributeConverter<Instant> {
+
+        @Override
+        public Instant convertLong(long value) {
+            return Instant.ofEpochMilli(value);
+        }
+
+        @Override
+        public Class<Instant> target() {
+            return Instant.class;
+        }
+    }
+
+    @Converter
+    public class StringToLengthConverter implements ToIntAttributeConverter<String> {
+
+        @Override
+        public int convertToInt(String value) {
+            return value.length();
+        }
+
+        @Override
+        public Class<String> source() {
+            return String.class;
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class LocalDateTimeToInstantConverter implements AttributeConverter<LocalDateTime, Instant> {
+
+        @Override
+        public Instant convert(LocalDateTime value) {
+            return value.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public Class<LocalDateTime> source() {
+            return LocalDateTime.class;
+        }
+
+        @Override
+        public Class<Instant> target() {
+            return Instant.class;
+        }
+    }
+
+    @Converter(autoApply = true)
+    public static class TextToLocalDateTimeConverter implements AttributeConverter<String, LocalDateTime> {
+
+        @Override
+        public LocalDateTime convert(String value) {
+            return LocalDateTime.parse(value);
+        }
+
+        @Override
+        public Class<String> source() {
+            return String.class;
+        }
+
+        @Override
+        public Class<LocalDateTime> target() {
+            return LocalDateTime.class;
+        }
+    }
+
+    public enum Priority {
+        @EnumValue(1)
+        LOW,
+        @EnumValue(2)
+        HIGH,
+        @EnumValue(1)
+        MINOR
+    }
+
+    public static class Task {
+        private Priority priority;
+
+        public Priority getPriority() {
+            return priority;
+        }
+    }
 }
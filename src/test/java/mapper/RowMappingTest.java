@@ -0,0 +1,93 @@
+package mapper;
+
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.Row;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import nl.jiankai.mapper.strategies.LowerCaseUnderscoreFieldNamingStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+public class RowMappingTest {
+    private ResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+    @Mock
+    private ResultSetMetaData mockedMetaData;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        sut = new ResultSetMapper(new LowerCaseUnderscoreFieldNamingStrategy());
+        when(mockedResultSet.getMetaData()).thenReturn(mockedMetaData);
+        when(mockedMetaData.getColumnCount()).thenReturn(4);
+        when(mockedMetaData.getColumnLabel(1)).thenReturn("id");
+        when(mockedMetaData.getColumnLabel(2)).thenReturn("first_name");
+        when(mockedMetaData.getColumnLabel(3)).thenReturn("balance");
+        when(mockedMetaData.getColumnLabel(4)).thenReturn("id");
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true, true, false);
+        when(mockedResultSet.getObject(1)).thenReturn(1L, 2L);
+        when(mockedResultSet.getObject(2)).thenReturn("Jan", null);
+        when(mockedResultSet.getObject(3)).thenReturn(new BigDecimal("12.50"), new BigDecimal("0"));
+        when(mockedResultSet.getObject(4)).thenReturn(10, 20);
+    }
+
+    @Test
+    void mapToRowsMapsEveryRowToAMapOfItsColumns() {
+        List<Row> rows = sut.mapToRows(mockedResultSet);
+
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertEquals(Map.of("id", 1L, "first_name", "Jan", "balance", new BigDecimal("12.50"), "id_2", 10), rows.get(0));
+        Assertions.assertNull(rows.get(1).get("first_name"));
+        Assertions.assertTrue(rows.get(1).containsKey("first_name"));
+        Assertions.assertEquals(List.of("id", "first_name", "balance", "id_2"), List.copyOf(rows.get(0).keySet()));
+    }
+
+    @Test
+    void mapToRowsLooksUpColumnsThroughTheFieldNamingStrategy() {
+        Row row = sut.mapToRows(mockedResultSet).get(0);
+
+        Assertions.assertEquals("Jan", row.get("firstName"));
+        Assertions.assertTrue(row.containsKey("firstName"));
+        Assertions.assertFalse(row.containsKey("lastName"));
+    }
+
+    @Test
+    void rowTypedAccessorsConvertNumbers() {
+        Row row = sut.mapToRows(mockedResultSet).get(0);
+
+        Assertions.assertEquals(1, row.getInt("id"));
+        Assertions.assertEquals(10L, row.getLong("id_2"));
+        Assertions.assertEquals(12.5, row.getDouble("balance"));
+        Assertions.assertEquals(Integer.valueOf(1), row.get("id", Integer.class));
+        Assertions.assertEquals("Jan", row.getString("first_name"));
+        Assertions.assertThrows(ClassCastException.class, () -> row.get("first_name", Integer.class));
+    }
+
+    @Test
+    void rowsCanNotBeModified() {
+        List<Row> rows = sut.mapToRows(mockedResultSet);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> rows.get(0).put("id", 3L));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> rows.get(0).entrySet().iterator().next().setValue(3L));
+    }
+
+    @Test
+    void mapToRowsWithoutMetaDataFails() throws SQLException {
+        when(mockedResultSet.getMetaData()).thenReturn(null);
+
+        Assertions.assertThrows(MappingFailedException.class, () -> sut.mapToRows(mockedResultSet));
+    }
+}
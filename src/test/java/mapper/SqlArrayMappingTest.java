@@ -0,0 +1,144 @@
+package mapper;
+
+import mapper.mocks.Series;
+import nl.jiankai.annotations.Converter;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.converters.AttributeConverter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class SqlArrayMappingTest {
+    private ResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        sut = new ResultSetMapper();
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("id")).thenReturn(1);
+    }
+
+    @Test
+    void arrayColumnsAreUnboxedIntoPrimitiveArrays() throws SQLException {
+        Array samples = sqlArray(new Integer[]{3, null, -7});
+        Array timestamps = sqlArray(new Long[]{1000L, 2000L});
+        Array readings = sqlArray(new Object[]{1.5d, 2});
+        when(mockedResultSet.getObject("samples")).thenReturn(samples);
+        when(mockedResultSet.getObject("timestamps")).thenReturn(timestamps);
+        when(mockedResultSet.getObject("readings")).thenReturn(readings);
+
+        Series series = sut.map(mockedResultSet, Series.class).get(0);
+
+        Assertions.assertArrayEquals(new int[]{3, 0, -7}, series.getSamples());
+        Assertions.assertArrayEquals(new long[]{1000L, 2000L}, series.getTimestamps());
+        Assertions.assertArrayEquals(new double[]{1.5d, 2.0d}, series.getReadings());
+        verify(samples).free();
+        verify(timestamps).free();
+        verify(readings).free();
+    }
+
+    @Test
+    void primitiveArraysReturnedByTheDriverAreUsedAsIs() throws SQLException {
+        int[] samples = {1, 2, 3};
+        when(mockedResultSet.getObject("samples")).thenReturn(sqlArray(samples));
+
+        Series series = sut.map(mockedResultSet, Series.class).get(0);
+
+        Assertions.assertSame(samples, series.getSamples());
+    }
+
+    @Test
+    void arrayColumnsAreMappedToStringLists() throws SQLException {
+        when(mockedResultSet.getObject("tags")).thenReturn(sqlArray(new Object[]{"north", 42, null}));
+
+        Series series = sut.map(mockedResultSet, Series.class).get(0);
+
+        Assertions.assertEquals(List.of("north", "42"), series.getTags().subList(0, 2));
+        Assertions.assertNull(series.getTags().get(2));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> series.getTags().set(0, "south"));
+    }
+
+    @Test
+    void nullArrayColumnsLeaveTheFieldNull() {
+        Series series = sut.map(mockedResultSet, Series.class).get(0);
+
+        Assertions.assertNull(series.getSamples());
+        Assertions.assertNull(series.getTags());
+    }
+
+    @Test
+    void arraysOfDriversThatCanNotFreeThemAreStillMapped() throws SQLException {
+        Array samples = sqlArray(new Integer[]{4});
+        doThrow(new SQLFeatureNotSupportedException()).when(samples).free();
+        when(mockedResultSet.getObject("samples")).thenReturn(samples);
+
+        Series series = sut.map(mockedResultSet, Series.class).get(0);
+
+        Assertions.assertArrayEquals(new int[]{4}, series.getSamples());
+    }
+
+    @Test
+    void primitiveElementsOfOtherComponentTypesAreConverted() throws SQLException {
+        when(mockedResultSet.getObject("timestamps")).thenReturn(sqlArray(new int[]{1, 2}));
+        when(mockedResultSet.getObject("tags")).thenReturn(sqlArray(new long[]{42L}));
+        when(mockedResultSet.getObject("counts")).thenReturn(sqlArray(new int[]{5, 6}));
+
+        Series series = sut.map(mockedResultSet, Series.class).get(0);
+
+        Assertions.assertArrayEquals(new long[]{1L, 2L}, series.getTimestamps());
+        Assertions.assertEquals(List.of("42"), series.getTags());
+        Assertions.assertEquals(List.of(5, 6), series.getCounts());
+    }
+
+    @Test
+    void valuesThatAreNotArraysAreConvertedByAutoApplicableConverters() throws SQLException {
+        sut.registerAttributeConverter(new CommaSeparatedListConverter());
+        when(mockedResultSet.getObject("tags")).thenReturn("north,south");
+        when(mockedResultSet.getObject("samples")).thenReturn(new int[]{8});
+
+        Series series = sut.map(mockedResultSet, Series.class).get(0);
+
+        Assertions.assertEquals(List.of("north", "south"), series.getTags());
+        Assertions.assertArrayEquals(new int[]{8}, series.getSamples());
+    }
+
+    private static Array sqlArray(Object elements) throws SQLException {
+        Array array = mock(Array.class);
+        when(array.getArray()).thenReturn(elements);
+        return array;
+    }
+
+    @Converter(autoApply = true)
+    public static class CommaSeparatedListConverter implements AttributeConverter<String, List> {
+
+        @Override
+        public List convert(String value) {
+            return Arrays.asList(value.split(","));
+        }
+
+        @Override
+        public Class<String> source() {
+            return String.class;
+        }
+
+        @Override
+        public Class<List> target() {
+            return List.class;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package mapper;
+
+import mapper.mocks.Color;
+import mapper.mocks.Order;
+import mapper.mocks.Status;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.StatementBinder;
+import nl.jiankai.mapper.converters.ReversibleAttributeConverter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class StatementBinderTest {
+    private static final LocalDateTime ORDERED_AT = LocalDateTime.of(2021, 3, 4, 10, 30);
+    private ResultSetMapper resultSetMapper;
+    @Mock
+    private PreparedStatement mockedStatement;
+    @Mock
+    private Connection mockedConnection;
+
+    @BeforeEach
+    void setup() {
+        resultSetMapper = new ResultSetMapper();
+        resultSetMapper.registerAttributeConverter(new CentsToEurosConverter());
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void bindsFieldsInDeclarationOrderWithTypedSettersAndReverseConverters() throws SQLException {
+        StatementBinder<Order> sut = resultSetMapper.createStatementBinder(Order.class);
+
+        sut.bind(mockedStatement, new Order(1, "description", ORDERED_AT, Status.INACTIVE, Color.BLUE, 12.5));
+
+        Assertions.assertEquals(List.of("id", "description", "ordered_at", "status", "color", "amount_in_cents"), sut.getColumnNames());
+        verify(mockedStatement).setInt(1, 1);
+        verify(mockedStatement).setString(2, "description");
+        verify(mockedStatement).setObject(3, Timestamp.valueOf(ORDERED_AT));
+        verify(mockedStatement).setInt(4, 20);
+        verify(mockedStatement).setString(5, "BLUE");
+        verify(mockedStatement).setObject(6, 1250L);
+    }
+
+    @Test
+    void bindsNullValuesWithTheirSqlType() throws SQLException {
+        StatementBinder<Order> sut = resultSetMapper.createStatementBinder(Order.class, "ordered_at", "status", "amount_in_cents");
+
+        sut.bind(mockedStatement, new Order(1, null, null, null, null, null));
+
+        verify(mockedStatement).setNull(1, Types.TIMESTAMP);
+        verify(mockedStatement).setNull(2, Types.INTEGER);
+        verify(mockedStatement).setNull(3, Types.BIGINT);
+    }
+
+    @Test
+    void unknownColumnCanNotBeBound() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> resultSetMapper.createStatementBinder(Order.class, "unknown"));
+    }
+
+    @Test
+    void bindsNamedParametersToTheirColumns() throws SQLException {
+        StatementBinder<Order> sut = resultSetMapper.createStatementBinder(Order.class);
+
+        StatementBinder.NamedParameters<Order> namedParameters = sut.forNamedParameters(
+                "UPDATE orders SET status = :status WHERE id = :id AND ordered_at > :orderedAt::timestamp AND description <> ':id' OR parent_id = :id");
+        namedParameters.bind(mockedStatement, new Order(1, "description", ORDERED_AT, Status.INACTIVE, Color.BLUE, 12.5));
+
+        Assertions.assertEquals("UPDATE orders SET status = ? WHERE id = ? AND ordered_at > ?::timestamp AND description <> ':id' OR parent_id = ?",
+                namedParameters.getSql());
+        Assertions.assertEquals(4, namedParameters.getParameterCount());
+        verify(mockedStatement).setInt(1, 20);
+        verify(mockedStatement).setInt(2, 1);
+        verify(mockedStatement).setObject(3, Timestamp.valueOf(ORDERED_AT));
+        verify(mockedStatement).setInt(4, 1);
+    }
+
+    @Test
+    void unknownNamedParameterCanNotBeBound() {
+        StatementBinder<Order> sut = resultSetMapper.createStatementBinder(Order.class, "id");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sut.forNamedParameters("DELETE FROM orders WHERE id = :id AND status = :status"));
+    }
+
+    @Test
+    void executeBatchExecutesEveryBatchSizeObjects() throws SQLException {
+        StatementBinder<Order> sut = resultSetMapper.createStatementBinder(Order.class, "id");
+        when(mockedStatement.executeBatch()).thenReturn(new int[]{1, 1}).thenReturn(new int[]{1});
+
+        int[] updateCounts = sut.executeBatch(mockedStatement, List.of(new Order(), new Order(), new Order()), 2);
+
+        Assertions.assertArrayEquals(new int[]{1, 1, 1}, updateCounts);
+        verify(mockedStatement, times(3)).addBatch();
+        verify(mockedStatement, times(2)).executeBatch();
+    }
+
+    @Test
+    void createInsertStatementHasAParameterRowPerObject() {
+        StatementBinder<Order> sut = resultSetMapper.createStatementBinder(Order.class, "id", "description");
+
+        Assertions.assertEquals("INSERT INTO orders (id, description) VALUES (?, ?), (?, ?)", sut.createInsertStatement("orders", 2));
+    }
+
+    @Test
+    void executeMultiRowInsertReusesTheFullStatementAndInsertsTheRemainder() throws SQLException {
+        StatementBinder<Order> sut = resultSetMapper.createStatementBinder(Order.class, "id");
+        when(mockedConnection.prepareStatement(anyString())).thenReturn(mockedStatement);
+        when(mockedStatement.executeUpdate()).thenReturn(2).thenReturn(2).thenReturn(1);
+
+        long updateCount = sut.executeMultiRowInsert(mockedConnection, "orders", List.of(new Order(), new Order(), new Order(), new Order(), new Order()), 2);
+
+        Assertions.assertEquals(5, updateCount);
+        verify(mockedConnection).prepareStatement("INSERT INTO orders (id) VALUES (?), (?)");
+        verify(mockedConnection).prepareStatement("INSERT INTO orders (id) VALUES (?)");
+        verify(mockedStatement, times(5)).setInt(anyInt(), eq(0));
+    }
+
+    public static class CentsToEurosConverter implements ReversibleAttributeConverter<Long, Double> {
+        @Override
+        public Double convert(Long value) {
+            return value / 100.0;
+        }
+
+        @Override
+        public Long convertBack(Double value) {
+            return Math.round(value * 100);
+        }
+
+        @Override
+        public Class<Long> source() {
+            return Long.class;
+        }
+
+        @Override
+        public Class<Double> target() {
+            return Double.class;
+        }
+    }
+}
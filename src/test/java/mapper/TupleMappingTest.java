@@ -0,0 +1,65 @@
+package mapper;
+
+import mapper.mocks.Order;
+import mapper.mocks.User;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.Tuple;
+import nl.jiankai.mapper.TupleElement;
+import nl.jiankai.mapper.strategies.LowerCaseUnderscoreFieldNamingStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class TupleMappingTest {
+    private ResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        sut = new ResultSetMapper();
+        MockitoAnnotations.openMocks(this);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.getObject("id")).thenReturn(1);
+        when(mockedResultSet.getObject("first_name")).thenReturn("firstName");
+        when(mockedResultSet.getObject("order_id")).thenReturn(2);
+        when(mockedResultSet.getObject("order_description")).thenReturn("description");
+    }
+
+    @Test
+    void rowIsMappedToAllElementsOfTheTuple() throws SQLException {
+        List<Tuple> tuples = sut.mapTuple(mockedResultSet, TupleElement.of(User.class),
+                TupleElement.of(Order.class).withColumnPrefix("order_").withFieldNamingStrategy(new LowerCaseUnderscoreFieldNamingStrategy()));
+
+        Tuple tuple = tuples.get(0);
+        Assertions.assertEquals(2, tuple.size());
+        Assertions.assertEquals(1, tuple.get(User.class).getId());
+        Assertions.assertEquals("firstName", tuple.get(0, User.class).getFirstName());
+        Assertions.assertEquals(2, tuple.get(Order.class).getId());
+        Assertions.assertEquals("description", tuple.get(Order.class).getDescription());
+        verify(mockedResultSet, times(1)).getObject("id");
+        verify(mockedResultSet, times(1)).getObject("order_id");
+    }
+
+    @Test
+    void entitiesOfARowAreCombined() {
+        List<String> combined = sut.mapTuple(mockedResultSet, TupleElement.of(User.class), TupleElement.of(Order.class).withColumnPrefix("order_"),
+                (user, order) -> user.getId() + "-" + order.getId());
+
+        Assertions.assertEquals(List.of("1-2"), combined);
+    }
+
+    @Test
+    void columnMappedByMoreThanOneElementIsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sut.mapTuple(mockedResultSet, User.class, Order.class));
+    }
+}
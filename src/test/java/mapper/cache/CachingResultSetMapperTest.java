@@ -0,0 +1,216 @@
+package mapper.cache;
+
+import mapper.mocks.User;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.cache.CacheStatistics;
+import nl.jiankai.mapper.cache.CachingResultSetMapper;
+import nl.jiankai.mapper.cache.ResultSetSupplier;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+public class CachingResultSetMapperTest {
+    private CachingResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        sut = new CachingResultSetMapper(new ResultSetMapper(), Long.MAX_VALUE, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void cachingResultSetMapperServesSecondCallFromCache() throws SQLException {
+        populatedResultSetIdentity();
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(supplier.get()).thenReturn(mockedResultSet);
+
+        List<User> first = sut.map("all users", supplier, User.class);
+        List<User> second = sut.map("all users", supplier, User.class);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, second.get(0).getId());
+        verify(supplier, times(1)).get();
+
+        CacheStatistics statistics = sut.getStatistics();
+        Assertions.assertEquals(1, statistics.getHitCount());
+        Assertions.assertEquals(1, statistics.getMissCount());
+        Assertions.assertEquals(1, statistics.getLoadSuccessCount());
+    }
+
+    @Test
+    void cachingResultSetMapperClosesSuppliedResultSet() throws SQLException {
+        populatedResultSetIdentity();
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(supplier.get()).thenReturn(mockedResultSet);
+
+        sut.map("all users", supplier, User.class);
+        sut.map("all users", supplier, User.class);
+
+        verify(mockedResultSet, times(1)).close();
+    }
+
+    @Test
+    void cachingResultSetMapperReloadsAfterTimeToLiveExpired() throws SQLException, InterruptedException {
+        sut = new CachingResultSetMapper(new ResultSetMapper(), Long.MAX_VALUE, Duration.ofMillis(1));
+        populatedResultSetIdentity();
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(supplier.get()).thenReturn(mockedResultSet);
+
+        sut.map("all users", supplier, User.class);
+        Thread.sleep(5);
+        sut.map("all users", supplier, User.class);
+
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void cachingResultSetMapperDoesNotCacheResultsHeavierThanMaximumWeight() throws SQLException {
+        sut = new CachingResultSetMapper(new ResultSetMapper(), 10, Duration.ofMinutes(1), mappedObjects -> 11);
+        populatedResultSetIdentity();
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(supplier.get()).thenReturn(mockedResultSet);
+
+        sut.map("all users", supplier, User.class);
+        sut.map("all users", supplier, User.class);
+
+        verify(supplier, times(2)).get();
+        Assertions.assertEquals(2, sut.getStatistics().getRejectionCount());
+        Assertions.assertEquals(0, sut.getStatistics().getWeight());
+    }
+
+    @Test
+    void cachingResultSetMapperEvictsLeastRecentlyUsedEntryWhenMaximumWeightExceeded() throws SQLException {
+        sut = new CachingResultSetMapper(new ResultSetMapper(), 10, Duration.ofMinutes(1), mappedObjects -> 6);
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(supplier.get()).thenReturn(null);
+
+        sut.map("first", supplier, User.class);
+        sut.map("second", supplier, User.class);
+        sut.map("second", supplier, User.class);
+
+        Assertions.assertEquals(1, sut.getStatistics().getEvictionCount());
+        Assertions.assertEquals(6, sut.getStatistics().getWeight());
+    }
+
+    @Test
+    void cachingResultSetMapperRejectsCandidateThatIsLessPopularThanVictim() throws SQLException {
+        sut = new CachingResultSetMapper(new ResultSetMapper(), 10, Duration.ofMinutes(1), mappedObjects -> 6);
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(supplier.get()).thenReturn(null);
+
+        for (int i = 0; i < 5; i++) {
+            sut.map("popular", supplier, User.class);
+        }
+        sut.map("one-off", supplier, User.class);
+        sut.map("popular", supplier, User.class);
+
+        Assertions.assertEquals(0, sut.getStatistics().getEvictionCount());
+        Assertions.assertEquals(1, sut.getStatistics().getRejectionCount());
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void cachingResultSetMapperKeepsVictimsWhenCandidateIsRejected() throws SQLException {
+        AtomicInteger loads = new AtomicInteger();
+        sut = new CachingResultSetMapper(new ResultSetMapper(), 10, Duration.ofMinutes(1), mappedObjects -> loads.getAndIncrement() < 2 ? 3 : 8);
+        ResultSetSupplier coldSupplier = mock(ResultSetSupplier.class);
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(coldSupplier.get()).thenReturn(null);
+        when(supplier.get()).thenReturn(null);
+
+        sut.map("cold", coldSupplier, User.class);
+        for (int i = 0; i < 5; i++) {
+            sut.map("hot", supplier, User.class);
+        }
+        sut.map("candidate", supplier, User.class);
+        sut.map("cold", coldSupplier, User.class);
+
+        verify(coldSupplier, times(1)).get();
+        Assertions.assertEquals(0, sut.getStatistics().getEvictionCount());
+        Assertions.assertEquals(1, sut.getStatistics().getRejectionCount());
+        Assertions.assertEquals(6, sut.getStatistics().getWeight());
+    }
+
+    @Test
+    void cachingResultSetMapperInvalidatesEntries() throws SQLException {
+        ResultSetSupplier supplier = mock(ResultSetSupplier.class);
+        when(supplier.get()).thenReturn(null);
+
+        sut.map("all users", supplier, User.class);
+        sut.invalidate("all users", User.class);
+        sut.map("all users", supplier, User.class);
+
+        verify(supplier, times(2)).get();
+    }
+
+    @Test
+    void cachingResultSetMapperCoalescesConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ResultSetSupplier supplier = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<User>> first = executor.submit(() -> sut.map("all users", supplier, User.class));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<List<User>> second = executor.submit(() -> sut.map("all users", supplier, User.class));
+            Thread.sleep(50);
+            release.countDown();
+
+            Assertions.assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cachingResultSetMapperWrapsSqlExceptionOfSupplier() {
+        Assertions.assertThrows(MappingFailedException.class, () -> sut.map("all users", () -> {
+            throw new SQLException();
+        }, User.class));
+        Assertions.assertEquals(1, sut.getStatistics().getLoadFailureCount());
+    }
+
+    private void populatedResultSetIdentity() {
+        try {
+            when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+            when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+            when(mockedResultSet.getObject("id")).thenReturn(1);
+            when(mockedResultSet.getObject("first_name")).thenReturn("firstName");
+            when(mockedResultSet.getObject("last_name")).thenReturn("lastName");
+            when(mockedResultSet.getObject("email")).thenReturn("email");
+            when(mockedResultSet.getObject("birthDate")).thenReturn("birthDate");
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package mapper.cache;
+
+import mapper.mocks.Country;
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.User;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.Tuple;
+import nl.jiankai.mapper.cache.EntityCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class EntityCacheTest {
+    private ResultSetMapper sut;
+    private EntityCache entityCache;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        sut = new ResultSetMapper();
+        entityCache = new EntityCache(100);
+        sut.setEntityCache(entityCache);
+    }
+
+    @Test
+    void rowsWithTheSameIdAreMappedToTheSameInstance() {
+        List<Country> countries = sut.map(countries(new Object[]{1, "Netherlands", "NL"}, new Object[]{2, "Belgium", "BE"}, new Object[]{1, "Netherlands", "NL"}), Country.class);
+
+        Assertions.assertSame(countries.get(0), countries.get(2));
+        Assertions.assertNotSame(countries.get(0), countries.get(1));
+        Assertions.assertEquals(1, entityCache.getHitCount());
+        Assertions.assertEquals(2, entityCache.getMissCount());
+    }
+
+    @Test
+    void cachedEntitiesAreSharedAcrossQueries() {
+        Country first = sut.map(countries(new Object[]{1, "Netherlands", "NL"}), Country.class).get(0);
+        Country second = sut.map(countries(new Object[]{1L, "Netherlands", "NL"}), Country.class).get(0);
+
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    void cachedRowDoesNotReadItsOtherColumns() throws SQLException {
+        when(mockedResultSet.next()).thenReturn(true, true, false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("id")).thenReturn(1);
+        when(mockedResultSet.getObject("name")).thenReturn("Netherlands");
+        when(mockedResultSet.getObject("iso_code")).thenReturn("NL");
+
+        List<Country> countries = sut.map(mockedResultSet, Country.class);
+
+        Assertions.assertEquals(2, countries.size());
+        verify(mockedResultSet, times(1)).getObject("name");
+        verify(mockedResultSet, times(1)).getObject("iso_code");
+    }
+
+    @Test
+    void invalidatedEntityIsMappedAgain() {
+        Country first = sut.map(countries(new Object[]{1, "Netherlands", "NL"}), Country.class).get(0);
+
+        entityCache.invalidate(Country.class, 1);
+        Country second = sut.map(countries(new Object[]{1, "Nederland", "NL"}), Country.class).get(0);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals("Nederland", second.getName());
+    }
+
+    @Test
+    void invalidateAllOfClassOnlyRemovesEntitiesOfThatClass() {
+        sut.map(countries(new Object[]{1, "Netherlands", "NL"}), Country.class);
+        entityCache.put(User.class, 1, new User());
+
+        entityCache.invalidateAll(Country.class);
+
+        Assertions.assertNull(entityCache.get(Country.class, 1));
+        Assertions.assertNotNull(entityCache.get(User.class, 1));
+    }
+
+    @Test
+    void leastRecentlyUsedEntityIsEvictedWhenCacheIsFull() {
+        entityCache = new EntityCache(2);
+        sut.setEntityCache(entityCache);
+        sut.map(countries(new Object[]{1, "Netherlands", "NL"}, new Object[]{2, "Belgium", "BE"}), Country.class);
+        entityCache.get(Country.class, 1);
+
+        sut.map(countries(new Object[]{3, "France", "FR"}), Country.class);
+
+        Assertions.assertEquals(2, entityCache.size());
+        Assertions.assertEquals(1, entityCache.getEvictionCount());
+        Assertions.assertNull(entityCache.get(Country.class, 2));
+        Assertions.assertNotNull(entityCache.get(Country.class, 1));
+    }
+
+    @Test
+    void joinedEntitiesOfTuplesAreCanonicalised() {
+        ResultSet resultSet = InMemoryResultSet.of(new String[]{"id", "name", "iso_code"},
+                new Object[][]{{1, "Netherlands", "NL"}, {1, "Netherlands", "NL"}});
+
+        List<Tuple> tuples = sut.mapTuple(resultSet, Country.class);
+
+        Assertions.assertSame(tuples.get(0).get(Country.class), tuples.get(1).get(Country.class));
+    }
+
+    @Test
+    void classesWithoutIdAreNotCached() {
+        ResultSet resultSet = InMemoryResultSet.of(new String[]{"id", "first_name", "last_name", "email", "birthDate"},
+                new Object[][]{{1, "Jan", "Jansen", "jan@example.com", "2000-01-01"}, {1, "Jan", "Jansen", "jan@example.com", "2000-01-01"}});
+
+        List<User> users = sut.map(resultSet, User.class);
+
+        Assertions.assertNotSame(users.get(0), users.get(1));
+        Assertions.assertEquals(0, entityCache.size());
+    }
+
+    private ResultSet countries(Object[]... rows) {
+        return InMemoryResultSet.of(new String[]{"id", "name", "iso_code"}, rows);
+    }
+}
@@ -0,0 +1,112 @@
+package mapper.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import mapper.mocks.OverrideObject;
+import mapper.mocks.UserProjection;
+import nl.jiankai.mapper.ResultSetMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.when;
+
+public class MappingEventsTest {
+    private ResultSetMapper sut;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() {
+        sut = new ResultSetMapper();
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void resultSetMapperEmitsPlanCompiledAndMappingCompletedEvents() throws SQLException, IOException {
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("nl.jiankai.mapper.MappingCompleted");
+            recording.enable("nl.jiankai.mapper.PlanCompiled");
+            recording.start();
+            mapOverrideObjects(2);
+            mapOverrideObjects(3);
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        List<RecordedEvent> planCompiledEvents = eventsOfType(events, "nl.jiankai.mapper.PlanCompiled");
+        List<RecordedEvent> mappingCompletedEvents = eventsOfType(events, "nl.jiankai.mapper.MappingCompleted");
+
+        Assertions.assertEquals(1, planCompiledEvents.size());
+        Assertions.assertEquals(1, planCompiledEvents.get(0).getInt("fieldCount"));
+        Assertions.assertEquals(2, mappingCompletedEvents.size());
+        Assertions.assertEquals(2, mappingCompletedEvents.get(0).getLong("rowCount"));
+        Assertions.assertFalse(mappingCompletedEvents.get(0).getBoolean("planCacheHit"));
+        Assertions.assertEquals(3, mappingCompletedEvents.get(1).getLong("rowCount"));
+        Assertions.assertTrue(mappingCompletedEvents.get(1).getBoolean("planCacheHit"));
+    }
+
+    @Test
+    void resultSetMapperEmitsPlanCompiledEventForProjections() throws SQLException, IOException {
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("nl.jiankai.mapper.PlanCompiled");
+            recording.start();
+            when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+            when(mockedResultSet.next()).thenReturn(true, false);
+            sut.map(mockedResultSet, UserProjection.class);
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        List<RecordedEvent> planCompiledEvents = eventsOfType(events, "nl.jiankai.mapper.PlanCompiled");
+
+        Assertions.assertEquals(1, planCompiledEvents.size());
+        Assertions.assertEquals(4, planCompiledEvents.get(0).getInt("fieldCount"));
+    }
+
+    private void mapOverrideObjects(int rowCount) throws SQLException {
+        Boolean[] next = new Boolean[rowCount];
+        Arrays.fill(next, Boolean.TRUE);
+        next[rowCount - 1] = Boolean.FALSE;
+
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true, next);
+        when(mockedResultSet.getObject("overridden_name")).thenReturn("overridden_name");
+
+        sut.map(mockedResultSet, OverrideObject.class);
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("mapping-events", ".jfr");
+
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> eventsOfType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,181 @@
+package mapper.export;
+
+import mapper.mocks.Country;
+import mapper.mocks.EnumObject;
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.Series;
+import nl.jiankai.annotations.Column;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.export.BinaryExportWriter;
+import nl.jiankai.mapper.export.CsvExportWriter;
+import nl.jiankai.mapper.export.ExportWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.zip.GZIPInputStream;
+
+public class ExportTest {
+    private ResultSetMapper sut;
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setup() {
+        sut = new ResultSetMapper();
+    }
+
+    @Test
+    void exportWritesTheMappedColumnsAsCsv() throws IOException {
+        Path file = directory.resolve("countries.csv");
+
+        try (ExportWriter writer = CsvExportWriter.open(file, false)) {
+            Assertions.assertEquals(3, sut.export(countries(), Country.class, writer));
+        }
+
+        Assertions.assertEquals("id,name,iso_code\r\n" +
+                "1,Netherlands,NL\r\n" +
+                "2,\"Bosnia, Herzegovina\",BA\r\n" +
+                "-30,\"C\u00f4te d'Ivoire \"\"CI\"\"\",\r\n", Files.readString(file));
+    }
+
+    @Test
+    void exportCompressesWithGzip() throws IOException {
+        Path file = directory.resolve("countries.csv.gz");
+
+        try (ExportWriter writer = CsvExportWriter.open(file, true)) {
+            sut.export(countries(), Country.class, writer);
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            Assertions.assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).startsWith("id,name,iso_code\r\n1,Netherlands,NL\r\n"));
+        }
+    }
+
+    @Test
+    void exportWritesLengthPrefixedBinaryValues() throws IOException {
+        Path file = directory.resolve("countries.bin");
+
+        try (ExportWriter writer = BinaryExportWriter.open(file, false)) {
+            sut.export(countries(), Country.class, writer);
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            Assertions.assertEquals("RSMX", new String(in.readNBytes(4), StandardCharsets.US_ASCII));
+            Assertions.assertEquals(BinaryExportWriter.VERSION, in.readByte());
+            Assertions.assertEquals(3, in.readInt());
+            Assertions.assertEquals("id", readString(in));
+            Assertions.assertEquals("name", readString(in));
+            Assertions.assertEquals("iso_code", readString(in));
+
+            Assertions.assertEquals(BinaryExportWriter.INT, in.readByte());
+            Assertions.assertEquals(1, in.readInt());
+            Assertions.assertEquals(BinaryExportWriter.STRING, in.readByte());
+            Assertions.assertEquals("Netherlands", readString(in));
+            Assertions.assertEquals(BinaryExportWriter.STRING, in.readByte());
+            Assertions.assertEquals("NL", readString(in));
+
+            in.skipNBytes(5 + 1 + 4 + "Bosnia, Herzegovina".length() + 1 + 4 + 2);
+            Assertions.assertEquals(BinaryExportWriter.INT, in.readByte());
+            Assertions.assertEquals(-30, in.readInt());
+            Assertions.assertEquals(BinaryExportWriter.STRING, in.readByte());
+            Assertions.assertEquals("C\u00f4te d'Ivoire \"CI\"", readString(in));
+            Assertions.assertEquals(BinaryExportWriter.NULL, in.readByte());
+            Assertions.assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void exportConvertsValuesToTheFieldTypes() throws IOException {
+        Path file = directory.resolve("enums.csv");
+        ResultSet resultSet = InMemoryResultSet.of(new String[]{"statusByName", "statusByCode", "colorByName", "colorByOrdinal"}, new Object[][]{{"INACTIVE", 10, "BLUE", 1}});
+
+        try (ExportWriter writer = CsvExportWriter.open(file, false)) {
+            sut.export(resultSet, EnumObject.class, writer);
+        }
+
+        Assertions.assertEquals("statusByName,statusByCode,colorByName,colorByOrdinal\r\nINACTIVE,ACTIVE,BLUE,GREEN\r\n", Files.readString(file));
+    }
+
+    @Test
+    void exportNeverInstantiatesTheClass() throws IOException {
+        CountingCountry.instances = 0;
+
+        try (ExportWriter writer = CsvExportWriter.open(directory.resolve("countries.csv"), false)) {
+            sut.export(countries(), CountingCountry.class, writer);
+        }
+
+        Assertions.assertEquals(0, CountingCountry.instances);
+    }
+
+    @Test
+    void exportWritesClassesWithoutNoArgConstructor() throws IOException {
+        Path file = directory.resolve("countries.csv");
+
+        try (ExportWriter writer = CsvExportWriter.open(file, false)) {
+            Assertions.assertEquals(3, sut.export(countries(), ImmutableCountry.class, writer));
+        }
+
+        Assertions.assertTrue(Files.readString(file).startsWith("id,name,iso_code\r\n1,Netherlands,NL\r\n"));
+    }
+
+    @Test
+    void exportRetrievesValuesWithTheBindersOfTheMapping() throws IOException {
+        Path file = directory.resolve("series.csv");
+        ResultSet resultSet = InMemoryResultSet.of(new String[]{"id", "samples", "timestamps", "readings", "tags", "counts"},
+                new Object[][]{{1, new Integer[]{3, null}, null, null, new Object[]{"north", 42}, new long[]{5L}}});
+
+        try (ExportWriter writer = CsvExportWriter.open(file, false)) {
+            sut.export(resultSet, Series.class, writer);
+        }
+
+        Assertions.assertEquals("id,samples,timestamps,readings,tags,counts\r\n1,\"[3, 0]\",,,\"[north, 42]\",[5]\r\n", Files.readString(file));
+    }
+
+    @Test
+    void csvWriterRejectsAQuoteAsDelimiter() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CsvExportWriter(null, '"'));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static ResultSet countries() {
+        return InMemoryResultSet.of(new String[]{"id", "name", "iso_code"}, new Object[][]{
+                {1, "Netherlands", "NL"},
+                {2, "Bosnia, Herzegovina", "BA"},
+                {-30, "C\u00f4te d'Ivoire \"CI\"", null}
+        });
+    }
+
+    public static class ImmutableCountry {
+        private final int id;
+        private final String name;
+        @Column(name = "iso_code")
+        private final String isoCode;
+
+        public ImmutableCountry(int id, String name, String isoCode) {
+            this.id = id;
+            this.name = name;
+            this.isoCode = isoCode;
+        }
+    }
+
+    public static class CountingCountry extends Country {
+        static int instances;
+
+        public CountingCountry() {
+            instances++;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package mapper.listeners;
+
+import mapper.mocks.Person;
+import mapper.mocks.User;
+import nl.jiankai.annotations.Converter;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.converters.AttributeConverter;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import nl.jiankai.mapper.listeners.MappingListener;
+import nl.jiankai.mapper.listeners.MappingStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.lang.reflect.Field;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class MappingStatisticsTest {
+    private ResultSetMapper sut;
+    private MappingStatistics statistics;
+    @Mock
+    private ResultSet mockedResultSet;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        sut = new ResultSetMapper();
+        statistics = new MappingStatistics();
+        sut.addMappingListener(statistics);
+    }
+
+    @Test
+    void mappingListenerIsNotifiedAboutMapping() throws SQLException {
+        MappingListener listener = mock(MappingListener.class);
+        sut.addMappingListener(listener);
+        populatedResultSetIdentity();
+
+        sut.map(mockedResultSet, User.class);
+
+        verify(listener).onMappingStarted(User.class);
+        verify(listener).onPlanBuilt(eq(User.class), eq(5), anyLong());
+        verify(listener).onMappingCompleted(eq(User.class), eq(2L), anyLong());
+        verify(listener, never()).onMappingFailed(any(), any());
+    }
+
+    @Test
+    void mappingListenerIsNotifiedAboutCompletedMappingOfEmptyResultSet() throws SQLException {
+        MappingListener listener = mock(MappingListener.class);
+        sut.addMappingListener(listener);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(false);
+
+        Assertions.assertTrue(sut.map(mockedResultSet, User.class).isEmpty());
+
+        verify(listener).onMappingStarted(User.class);
+        verify(listener).onMappingCompleted(eq(User.class), eq(0L), anyLong());
+        verify(listener, never()).onMappingFailed(any(), any());
+        MappingStatistics.ClassSnapshot snapshot = statistics.snapshot().getClassSnapshot(User.class);
+        Assertions.assertEquals(1, snapshot.getMappingCount());
+        Assertions.assertEquals(0, snapshot.getRowCount());
+    }
+
+    @Test
+    void mappingListenerIsNotifiedAboutFailedMapping() throws SQLException {
+        MappingListener listener = mock(MappingListener.class);
+        sut.addMappingListener(listener);
+        when(mockedResultSet.isBeforeFirst()).thenThrow(SQLException.class);
+
+        Assertions.assertThrows(MappingFailedException.class, () -> sut.map(mockedResultSet, User.class));
+
+        verify(listener).onMappingFailed(eq(User.class), any(SQLException.class));
+        verify(listener, never()).onMappingCompleted(any(), anyLong(), anyLong());
+        Assertions.assertEquals(1, statistics.snapshot().getClassSnapshot(User.class).getFailureCount());
+    }
+
+    @Test
+    void mappingStatisticsCountsRowsMappingsAndPlanBuilds() throws SQLException {
+        populatedResultSetIdentity();
+        sut.map(mockedResultSet, User.class);
+        populatedResultSetIdentity();
+        sut.map(mockedResultSet, User.class);
+
+        MappingStatistics.ClassSnapshot snapshot = statistics.snapshot().getClassSnapshot(User.class);
+
+        Assertions.assertEquals(2, snapshot.getMappingCount());
+        Assertions.assertEquals(4, snapshot.getRowCount());
+        Assertions.assertEquals(1, snapshot.getPlanBuildCount());
+        Assertions.assertEquals(2, snapshot.getMappingLatency().getCount());
+    }
+
+    @Test
+    void mappingStatisticsCountsConverterInvocationsAndFailures() throws SQLException {
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.getObject("dateOfBirth")).thenReturn(Date.valueOf(LocalDate.now()));
+        sut.map(mockedResultSet, Person.class);
+
+        sut.registerAttributeConverter(new FailingConverter());
+        MappingListener listener = mock(MappingListener.class);
+        sut.addMappingListener(listener);
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(false);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> sut.map(mockedResultSet, Person.class));
+
+        MappingStatistics.Snapshot snapshot = statistics.snapshot();
+        Assertions.assertEquals(1L, snapshot.getConverterInvocations().get("nl.jiankai.mapper.converters.DateToLocalDateConverter"));
+        Assertions.assertEquals(1L, snapshot.getConverterFailures().get(FailingConverter.class.getName()));
+        verify(listener).onConversionFailed(eq(FailingConverter.class.getName()), any(Field.class), any(IllegalStateException.class));
+    }
+
+    @Test
+    void mappingStatisticsCalculatesLatencyPercentiles() {
+        for (long latency = 1; latency <= 1000; latency++) {
+            statistics.onMappingCompleted(User.class, 1, latency * 1000);
+        }
+
+        MappingStatistics.LatencySnapshot latency = statistics.snapshot().getClassSnapshot(User.class).getMappingLatency();
+
+        Assertions.assertEquals(1000, latency.getCount());
+        Assertions.assertEquals(500_000, latency.getP50(), 500_000 * 0.016);
+        Assertions.assertEquals(990_000, latency.getP99(), 990_000 * 0.016);
+        Assertions.assertEquals(1_000_000, latency.getMaximum());
+    }
+
+    private void populatedResultSetIdentity() throws SQLException {
+        when(mockedResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockedResultSet.isBeforeFirst()).thenReturn(true);
+        when(mockedResultSet.getObject("id")).thenReturn(1);
+        when(mockedResultSet.getObject("first_name")).thenReturn("firstName");
+    }
+
+    @Converter(autoApply = true)
+    public static class FailingConverter implements AttributeConverter<Date, LocalDate> {
+
+        @Override
+        public LocalDate convert(Date value) {
+            throw new IllegalStateException("Conversion failed");
+        }
+
+        @Override
+        public Class<Date> source() {
+            return Date.class;
+        }
+
+        @Override
+        public Class<LocalDate> target() {
+            return LocalDate.class;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package mapper.mocks;
+
+import nl.jiankai.annotations.SubType;
+
+@SubType("bike")
+public class Bike extends Vehicle {
+    private boolean electric;
+
+    public boolean isElectric() {
+        return electric;
+    }
+}
@@ -0,0 +1,12 @@
+package mapper.mocks;
+
+import nl.jiankai.annotations.SubType;
+
+@SubType("car")
+public class Car extends Vehicle {
+    private int doors;
+
+    public int getDoors() {
+        return doors;
+    }
+}
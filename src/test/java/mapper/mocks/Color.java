@@ -0,0 +1,7 @@
+package mapper.mocks;
+
+public enum Color {
+    RED,
+    GREEN,
+    BLUE
+}
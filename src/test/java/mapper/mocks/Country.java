@@ -0,0 +1,24 @@
+package mapper.mocks;
+
+import nl.jiankai.annotations.Column;
+import nl.jiankai.annotations.Id;
+
+public class Country {
+    @Id
+    private int id;
+    private String name;
+    @Column(name = "iso_code")
+    private String isoCode;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getIsoCode() {
+        return isoCode;
+    }
+}
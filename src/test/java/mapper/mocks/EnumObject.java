@@ -0,0 +1,24 @@
+package mapper.mocks;
+
+public class EnumObject {
+    private Status statusByName;
+    private Status statusByCode;
+    private Color colorByName;
+    private Color colorByOrdinal;
+
+    public Status getStatusByName() {
+        return statusByName;
+    }
+
+    public Status getStatusByCode() {
+        return statusByCode;
+    }
+
+    public Color getColorByName() {
+        return colorByName;
+    }
+
+    public Color getColorByOrdinal() {
+        return colorByOrdinal;
+    }
+}
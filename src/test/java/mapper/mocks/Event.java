@@ -0,0 +1,15 @@
+package mapper.mocks;
+
+import java.time.Instant;
+
+public class Event {
+    private Instant occurredAt;
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,52 @@
+package mapper.mocks;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A forward only ResultSet over rows kept in memory. Unlike a Mockito mock it does not record its invocations,
+ * which makes it usable for tests that measure what the mapper itself allocates.
+ */
+public final class InMemoryResultSet {
+    private InMemoryResultSet() {
+    }
+
+    public static ResultSet of(String[] columnNames, Object[][] rows) {
+        final List<String> columns = Arrays.asList(columnNames);
+        final int[] cursor = {-1};
+        final boolean[] wasNull = {false};
+
+        return (ResultSet) Proxy.newProxyInstance(InMemoryResultSet.class.getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++cursor[0] < rows.length;
+                case "isBeforeFirst":
+                    return cursor[0] == -1 && rows.length > 0;
+                case "wasNull":
+                    return wasNull[0];
+                case "getObject":
+                    final int index = args[0] instanceof String ? columns.indexOf(args[0]) : (Integer) args[0] - 1;
+
+                    if (index < 0) {
+                        throw new SQLException("Column '" + args[0] + "' not found.");
+                    }
+
+                    final Object value = rows[cursor[0]][index];
+                    wasNull[0] = value == null;
+                    return value;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "getMetaData":
+                case "close":
+                    return null;
+                default:
+                    throw new SQLException(method.getName() + " is not supported.");
+            }
+        });
+    }
+}
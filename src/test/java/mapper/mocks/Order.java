@@ -0,0 +1,39 @@
+package mapper.mocks;
+
+import mapper.StatementBinderTest;
+import nl.jiankai.annotations.Column;
+import nl.jiankai.annotations.Convert;
+
+import java.time.LocalDateTime;
+
+public class Order {
+    private int id;
+    private String description;
+    @Column(name = "ordered_at")
+    private LocalDateTime orderedAt;
+    private Status status;
+    private Color color;
+    @Column(name = "amount_in_cents")
+    @Convert(converter = StatementBinderTest.CentsToEurosConverter.class)
+    private Double amount;
+
+    public Order() {
+    }
+
+    public Order(int id, String description, LocalDateTime orderedAt, Status status, Color color, Double amount) {
+        this.id = id;
+        this.description = description;
+        this.orderedAt = orderedAt;
+        this.status = status;
+        this.color = color;
+        this.amount = amount;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,21 @@
+package mapper.mocks;
+
+import mapper.ResultSetMapperTest;
+import nl.jiankai.annotations.Convert;
+
+import java.time.Instant;
+
+public class PrimitiveConverters {
+    @Convert(converter = ResultSetMapperTest.EpochMillisToInstantConverter.class)
+    private Instant createdAt;
+    @Convert(converter = ResultSetMapperTest.StringToLengthConverter.class)
+    private int nameLength;
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getNameLength() {
+        return nameLength;
+    }
+}
@@ -0,0 +1,36 @@
+package mapper.mocks;
+
+import java.util.List;
+
+public class Series {
+    private int id;
+    private int[] samples;
+    private long[] timestamps;
+    private double[] readings;
+    private List<String> tags;
+    private List<Integer> counts;
+
+    public int getId() {
+        return id;
+    }
+
+    public int[] getSamples() {
+        return samples;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public double[] getReadings() {
+        return readings;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public List<Integer> getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,13 @@
+package mapper.mocks;
+
+import nl.jiankai.annotations.EnumValue;
+import nl.jiankai.annotations.UnknownEnumValue;
+
+public enum Status {
+    @EnumValue(10)
+    ACTIVE,
+    @EnumValue(20)
+    INACTIVE,
+    @UnknownEnumValue
+    UNKNOWN
+}
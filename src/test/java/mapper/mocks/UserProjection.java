@@ -0,0 +1,22 @@
+package mapper.mocks;
+
+import mapper.ProjectionTest;
+import nl.jiankai.annotations.Column;
+import nl.jiankai.annotations.Convert;
+
+public interface UserProjection {
+    int getId();
+
+    @Column(name = "first_name")
+    String getFirstName();
+
+    @Column(name = "last_name")
+    @Convert(converter = ProjectionTest.CountingUpperCaseConverter.class)
+    String getLastName();
+
+    Status getStatus();
+
+    default String getFullName() {
+        return getFirstName() + " " + getLastName();
+    }
+}
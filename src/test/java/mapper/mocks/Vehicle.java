@@ -0,0 +1,17 @@
+package mapper.mocks;
+
+import nl.jiankai.annotations.Discriminator;
+
+@Discriminator(column = "type", subTypes = {Car.class, Bike.class})
+public abstract class Vehicle {
+    private int id;
+    private String type;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+}
@@ -0,0 +1,183 @@
+package mapper.paging;
+
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.User;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import nl.jiankai.mapper.paging.PageQuery;
+import nl.jiankai.mapper.paging.PagedMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class PagedMapperTest {
+    private static final int TOTAL_ROWS = 23;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void pagedMapperStreamsAllRowsInKeyOrder() throws SQLException {
+        PageQuery<Integer> pageQuery = usersAfter(TOTAL_ROWS);
+        PagedMapper<User, Integer> sut = new PagedMapper<>(new ResultSetMapper(), dataSource, pageQuery, User.class, User::getId, 5, 2);
+
+        List<Integer> ids;
+        try (Stream<User> users = sut.stream()) {
+            ids = users.map(User::getId).collect(Collectors.toList());
+        }
+
+        Assertions.assertEquals(TOTAL_ROWS, ids.size());
+        for (int i = 0; i < TOTAL_ROWS; i++) {
+            Assertions.assertEquals(i + 1, ids.get(i));
+        }
+        verify(pageQuery).prepare(connection, null, 5);
+        verify(pageQuery).prepare(connection, 20, 5);
+        verify(connection, times(5)).close();
+    }
+
+    @Test
+    void pagedMapperQueriesAnEmptyPageWhenTheLastPageIsFull() throws SQLException {
+        PageQuery<Integer> pageQuery = usersAfter(10);
+        PagedMapper<User, Integer> sut = new PagedMapper<>(new ResultSetMapper(), connection, pageQuery, User.class, User::getId, 5, 1);
+
+        try (Stream<User> users = sut.stream()) {
+            Assertions.assertEquals(10, users.count());
+        }
+
+        verify(pageQuery).prepare(connection, 10, 5);
+        verify(connection, never()).close();
+    }
+
+    @Test
+    void pagedMapperPrefetchesNextPageWhileCurrentPageIsConsumed() throws SQLException, InterruptedException {
+        CountDownLatch secondPageQueried = new CountDownLatch(1);
+        PageQuery<Integer> pageQuery = (pageConnection, lastKey, pageSize) -> {
+            if (lastKey != null) {
+                secondPageQueried.countDown();
+            }
+            return new UsersAfterKey(TOTAL_ROWS).prepare(pageConnection, lastKey, pageSize);
+        };
+        PagedMapper<User, Integer> sut = new PagedMapper<>(new ResultSetMapper(), dataSource, pageQuery, User.class, User::getId, 5, 1);
+
+        try (Stream<User> users = sut.stream()) {
+            Assertions.assertEquals(1, users.findFirst().map(User::getId).orElse(-1));
+            Assertions.assertTrue(secondPageQueried.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void pagedMapperStopsQueryingWhenTheStreamIsClosed() throws SQLException, InterruptedException {
+        PageQuery<Integer> pageQuery = usersAfter(1000);
+        PagedMapper<User, Integer> sut = new PagedMapper<>(new ResultSetMapper(), dataSource, pageQuery, User.class, User::getId, 5, 1,
+                command -> new Thread(command).start());
+
+        try (Stream<User> users = sut.stream()) {
+            Assertions.assertEquals(3, users.limit(3).count());
+        }
+        Thread.sleep(100);
+
+        verify(pageQuery, atMost(3)).prepare(eq(connection), any(), eq(5));
+    }
+
+    @Test
+    void pagedMapperRethrowsFailedPageQueryToConsumer() throws SQLException {
+        PageQuery<Integer> pageQuery = (pageConnection, lastKey, pageSize) -> {
+            if (lastKey != null) {
+                throw new SQLException("connection lost");
+            }
+            return new UsersAfterKey(TOTAL_ROWS).prepare(pageConnection, null, pageSize);
+        };
+        PagedMapper<User, Integer> sut = new PagedMapper<>(new ResultSetMapper(), dataSource, pageQuery, User.class, User::getId, 5, 2);
+
+        try (Stream<User> users = sut.stream()) {
+            MappingFailedException exception = Assertions.assertThrows(MappingFailedException.class, () -> users.forEach(user -> {
+            }));
+            Assertions.assertTrue(exception.getCause() instanceof SQLException);
+        }
+    }
+
+    @Test
+    void pagedMapperRethrowsFailingKeyExtractorToConsumer() {
+        PagedMapper<User, Integer> sut = new PagedMapper<>(new ResultSetMapper(), dataSource, new UsersAfterKey(TOTAL_ROWS), User.class, user -> {
+            throw new IllegalStateException("no key");
+        }, 5, 2);
+
+        try (Stream<User> users = sut.stream()) {
+            MappingFailedException exception = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> Assertions.assertThrows(MappingFailedException.class, () -> users.forEach(user -> {
+                    })));
+            Assertions.assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    void pageQueryClosesStatementWhoseParametersCouldNotBeBound() throws SQLException {
+        PageQuery<Integer> pageQuery = PageQuery.of("SELECT * FROM users ORDER BY id LIMIT ?", "SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?");
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doThrow(new SQLException("invalid parameter")).when(statement).setObject(1, 5);
+
+        Assertions.assertThrows(SQLException.class, () -> pageQuery.prepare(connection, 5, 10));
+        verify(statement).close();
+    }
+
+    @Test
+    void pagedMapperRejectsInvalidPageSizeAndPrefetchDepth() {
+        PageQuery<Integer> pageQuery = PageQuery.of("SELECT * FROM users ORDER BY id LIMIT ?", "SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PagedMapper<>(new ResultSetMapper(), dataSource, pageQuery, User.class, User::getId, 0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PagedMapper<>(new ResultSetMapper(), dataSource, pageQuery, User.class, User::getId, 5, 0));
+    }
+
+    /**
+     * A spied page query whose statements return the users after the last key, up to the given amount of users
+     */
+    private PageQuery<Integer> usersAfter(int totalRows) {
+        return spy(new UsersAfterKey(totalRows));
+    }
+
+    private static class UsersAfterKey implements PageQuery<Integer> {
+        private final int totalRows;
+
+        UsersAfterKey(int totalRows) {
+            this.totalRows = totalRows;
+        }
+
+        @Override
+        public PreparedStatement prepare(Connection pageConnection, Integer lastKey, int pageSize) throws SQLException {
+            int afterId = lastKey == null ? 0 : lastKey;
+            int lastId = Math.min(totalRows, afterId + pageSize);
+            Object[][] rows = new Object[Math.max(0, lastId - afterId)][];
+            for (int i = 0; i < rows.length; i++) {
+                int id = afterId + i + 1;
+                rows[i] = new Object[]{id, "first" + id, "last" + id, "user" + id + "@example.com", "2000-01-01"};
+            }
+
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(statement.executeQuery()).thenReturn(InMemoryResultSet.of(new String[]{"id", "first_name", "last_name", "email", "birthDate"}, rows));
+            return statement;
+        }
+    }
+}
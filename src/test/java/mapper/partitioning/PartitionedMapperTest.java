@@ -0,0 +1,162 @@
+package mapper.partitioning;
+
+import mapper.mocks.InMemoryResultSet;
+import mapper.mocks.User;
+import nl.jiankai.mapper.ResultSetMapper;
+import nl.jiankai.mapper.exceptions.MappingFailedException;
+import nl.jiankai.mapper.partitioning.Partition;
+import nl.jiankai.mapper.partitioning.PartitionQuery;
+import nl.jiankai.mapper.partitioning.PartitionedMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class PartitionedMapperTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    private final AtomicInteger runningQueries = new AtomicInteger();
+    private final AtomicInteger peakRunningQueries = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void partitionedMapperMapsTheRowsOfAllPartitions() throws SQLException {
+        PartitionedMapper<User> sut = new PartitionedMapper<>(new ResultSetMapper(), dataSource, this::usersInRange, User.class);
+
+        List<User> users = sut.map(Partition.ranges(0, 5000, 8), 4);
+
+        Assertions.assertEquals(5000, users.size());
+        Assertions.assertEquals(5000, users.stream().map(User::getId).distinct().count());
+        verify(dataSource, times(8)).getConnection();
+        verify(connection, times(8)).close();
+    }
+
+    @Test
+    void partitionedMapperHonoursTheConcurrencyLimit() {
+        PartitionedMapper<User> sut = new PartitionedMapper<>(new ResultSetMapper(), dataSource, this::usersInRange, User.class);
+
+        sut.map(Partition.ranges(0, 1000, 12), 3);
+
+        Assertions.assertTrue(peakRunningQueries.get() <= 3);
+    }
+
+    @Test
+    void partitionedMapperStreamCanBeClosedBeforeAllPartitionsAreQueried() {
+        PartitionedMapper<User> sut = new PartitionedMapper<>(new ResultSetMapper(), dataSource, this::usersInRange, User.class);
+
+        try (Stream<User> users = sut.stream(Partition.ranges(0, 100_000, 10), 2)) {
+            Assertions.assertEquals(10, users.limit(10).count());
+        }
+    }
+
+    @Test
+    void partitionedMapperRethrowsFailedPartition() {
+        PartitionQuery failingQuery = (partitionConnection, partition) -> {
+            if (partition.getIndex() == 2) {
+                throw new SQLException("connection lost");
+            }
+            return usersInRange(partitionConnection, partition);
+        };
+        PartitionedMapper<User> sut = new PartitionedMapper<>(new ResultSetMapper(), dataSource, failingQuery, User.class);
+
+        MappingFailedException exception = Assertions.assertThrows(MappingFailedException.class, () -> sut.map(Partition.ranges(0, 100, 4), 2));
+        Assertions.assertTrue(exception.getCause() instanceof SQLException);
+    }
+
+    @Test
+    void partitionedMapperRethrowsErrorThrownWhileMapping() {
+        ResultSetMapper failingMapper = spy(new ResultSetMapper());
+        doThrow(new ExceptionInInitializerError("static initializer failed")).when(failingMapper).stream(any(), eq(User.class));
+        PartitionedMapper<User> sut = new PartitionedMapper<>(failingMapper, dataSource, this::usersInRange, User.class);
+
+        MappingFailedException exception = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> Assertions.assertThrows(MappingFailedException.class, () -> sut.map(Partition.ranges(0, 100, 4), 2)));
+        Assertions.assertTrue(exception.getCause() instanceof ExceptionInInitializerError);
+    }
+
+    @Test
+    void partitionedMapperOfNoPartitionsIsEmpty() {
+        PartitionedMapper<User> sut = new PartitionedMapper<>(new ResultSetMapper(), dataSource, this::usersInRange, User.class);
+
+        Assertions.assertTrue(sut.map(List.of(), 2).isEmpty());
+    }
+
+    @Test
+    void partitionRangesSplitNumericRangeIntoAdjacentPartitions() {
+        List<Partition> partitions = Partition.ranges(0, 10, 3);
+
+        Assertions.assertEquals(List.of(0L, 4L, 7L), partitions.stream().map(Partition::getLowerBound).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(4L, 7L, 10L), partitions.stream().map(Partition::getUpperBound).collect(Collectors.toList()));
+        Assertions.assertEquals(2, Partition.ranges(0, 2, 5).size());
+    }
+
+    @Test
+    void partitionRangesSplitDateRangeIntoAdjacentPartitions() {
+        List<Partition> partitions = Partition.ranges(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), 4);
+
+        Assertions.assertEquals(4, partitions.size());
+        Assertions.assertEquals(LocalDate.of(2024, 1, 1), partitions.get(0).getLowerBound());
+        Assertions.assertEquals(LocalDate.of(2024, 2, 1), partitions.get(3).getUpperBound());
+        for (int i = 1; i < partitions.size(); i++) {
+            Assertions.assertEquals(partitions.get(i - 1).getUpperBound(), partitions.get(i).getLowerBound());
+        }
+    }
+
+    @Test
+    void partitionRangesRejectInvalidRanges() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Partition.ranges(10, 0, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Partition.ranges(0, 10, 0));
+    }
+
+    @Test
+    void partitionQueryClosesStatementWhoseParametersCouldNotBeBound() throws SQLException {
+        PartitionQuery partitionQuery = PartitionQuery.of("SELECT * FROM users WHERE id >= ? AND id < ?");
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doThrow(new SQLException("invalid parameter")).when(statement).setObject(2, 20L);
+
+        Assertions.assertThrows(SQLException.class, () -> partitionQuery.prepare(connection, new Partition(0, 10L, 20L)));
+        verify(statement).close();
+    }
+
+    private PreparedStatement usersInRange(Connection partitionConnection, Partition partition) throws SQLException {
+        long lowerBound = (Long) partition.getLowerBound();
+        long upperBound = (Long) partition.getUpperBound();
+        Object[][] rows = new Object[(int) (upperBound - lowerBound)][];
+        for (int i = 0; i < rows.length; i++) {
+            long id = lowerBound + i;
+            rows[i] = new Object[]{(int) id, "first" + id, "last" + id, "user" + id + "@example.com", "2000-01-01"};
+        }
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).then(invocation -> {
+            int running = runningQueries.incrementAndGet();
+            peakRunningQueries.accumulateAndGet(running, Math::max);
+            Thread.sleep(10);
+            runningQueries.decrementAndGet();
+            return InMemoryResultSet.of(new String[]{"id", "first_name", "last_name", "email", "birthDate"}, rows);
+        });
+        return statement;
+    }
+}
@@ -21,4 +21,17 @@ public class LowerCaseDashesFieldNamingStrategyTest {
 
         Assertions.assertEquals(expectedString, actualString);
     }
+
+    @Test
+    void leadingCapitalAndAbbreviationsAreSeparatedPerLetter() {
+        Assertions.assertEquals("first-name", sut.transform("FirstName"));
+        Assertions.assertEquals("u-r-l-value", sut.transform("URLValue"));
+    }
+
+    @Test
+    void lowerCaseNameIsLeftUnchanged() {
+        final String fieldName = "email";
+
+        Assertions.assertSame(fieldName, sut.transform(fieldName));
+    }
 }
@@ -21,4 +21,17 @@ public class LowerCaseUnderscoreFieldNamingStrategyTest {
 
         Assertions.assertEquals(expectedString, actualString);
     }
+
+    @Test
+    void leadingCapitalAndAbbreviationsAreSeparatedPerLetter() {
+        Assertions.assertEquals("first_name", sut.transform("FirstName"));
+        Assertions.assertEquals("u_r_l_value", sut.transform("URLValue"));
+    }
+
+    @Test
+    void lowerCaseNameIsLeftUnchanged() {
+        final String fieldName = "email";
+
+        Assertions.assertSame(fieldName, sut.transform(fieldName));
+    }
 }